@@ -0,0 +1,93 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 노드마다 chat 컬렉션의 change stream 하나만 열어 새 메시지를 허브로 전달
+// 구독자 수와 상관없이 Mongo 커서는 노드당 하나
+@Component
+public class ChatChangeStreamFeed {
+
+    // ChangeStreamHistoryLost, InvalidResumeToken, 같은 토큰으로는 다시 시도해도 계속 실패
+    private static final Set<Integer> NON_RESUMABLE_ERROR_CODES = Set.of(286, 260);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final ChatHub chatHub;
+
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>(); // 재연결시 놓친 이벤트부터 다시 받기 위한 위치
+
+    private final Counter resumeTokenResetCounter;
+
+    private Disposable subscription;
+
+    public ChatChangeStreamFeed(ReactiveMongoTemplate reactiveMongoTemplate, ChatHub chatHub, MeterRegistry meterRegistry) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.chatHub = chatHub;
+        this.resumeTokenResetCounter = Counter.builder("chat.change-stream.resume-token.reset")
+                .description("재개 위치를 잃어 현재 시점부터 다시 구독한 횟수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Flux.defer(() -> reactiveMongoTemplate.changeStream(Chat.class)
+                        .withOptions(options -> resumeOptions(options))
+                        .watchCollection(Chat.class)
+                        .listen())
+                .doOnNext(event -> resumeToken.set(event.getResumeToken()))
+                .filter(event -> event.getBody() != null)
+                .doOnError(e -> {
+                    // oplog가 토큰 위치를 지나간 경우 토큰을 버리고 현재 시점부터 다시 구독
+                    // 그 사이 메시지는 실시간으로 전달되지 않지만 저장은 되어 있어 다시 접속하면 이전 메시지로 조회됨
+                    if (isNonResumable(e)) {
+                        resumeToken.set(null);
+                        resumeTokenResetCounter.increment();
+                    }
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(event -> chatHub.publish(event.getBody()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private boolean isNonResumable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) { // 스프링 예외로 감싸져 전달됨
+            if (cause instanceof MongoException mongoException && NON_RESUMABLE_ERROR_CODES.contains(mongoException.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void resumeOptions(ChangeStreamOptions.ChangeStreamOptionsBuilder options) {
+        options.filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").is("insert"))));
+        BsonValue token = resumeToken.get();
+        if (token != null) {
+            options.resumeAfter(token);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.util.DateTimeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+// WebSocket 채팅 바이너리 프레임 변환
+// 서버 -> 클라이언트 메시지: [type 1][flags 1][id 길이 2][id][작성 시각 길이 2][작성 시각][메시지 UTF-8]
+// 서버 -> 클라이언트 에러: [type 2][에러 메시지 UTF-8]
+// 클라이언트 -> 서버: 메시지 UTF-8만 전송, 보낸 사람, 받는 사람, 채팅방은 연결할 때 정해짐
+public class ChatFrameCodec {
+
+    public static final byte TYPE_MESSAGE = 1;
+
+    public static final byte TYPE_ERROR = 2;
+
+    public static final byte FLAG_MINE = 1; // 연결한 사용자가 보낸 메시지, 보낸 사람 id 대신 전송
+
+    public static DataBuffer encodeMessage(DataBufferFactory bufferFactory, Chat chat, String userId) {
+        byte[] id = chat.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] createdAt = DateTimeUtils.format(chat.getCreatedAt()).getBytes(StandardCharsets.UTF_8);
+        byte[] msg = chat.getMsg().getBytes(StandardCharsets.UTF_8);
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(1 + 1 + 2 + id.length + 2 + createdAt.length + msg.length);
+        buffer.write(TYPE_MESSAGE);
+        buffer.write(chat.getSenderId().equals(userId) ? FLAG_MINE : 0);
+        writeShortBytes(buffer, id);
+        writeShortBytes(buffer, createdAt);
+        buffer.write(msg);
+        return buffer;
+    }
+
+    public static DataBuffer encodeError(DataBufferFactory bufferFactory, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = bufferFactory.allocateBuffer(1 + bytes.length);
+        buffer.write(TYPE_ERROR);
+        buffer.write(bytes);
+        return buffer;
+    }
+
+    public static String decodeMessage(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void writeShortBytes(DataBuffer buffer, byte[] bytes) {
+        buffer.write((byte) (bytes.length >> 8));
+        buffer.write((byte) bytes.length);
+        buffer.write(bytes);
+    }
+}
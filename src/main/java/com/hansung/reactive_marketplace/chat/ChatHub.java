@@ -0,0 +1,84 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 노드 안에서 채팅방별로 새 메시지를 구독자들에게 나눠주는 허브
+// 채팅방마다 Sink 하나를 두고, 마지막 구독자가 나가면 제거
+@Component
+public class ChatHub {
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    private final int subscriberBufferSize;
+
+    public ChatHub(MeterRegistry meterRegistry,
+                   @Value("${chat.hub.subscriber-buffer:256}") int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+        Gauge.builder("chat.hub.rooms", rooms, map -> map.size())
+                .description("구독자가 있는 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.hub.subscribers", rooms, map -> map.values().stream()
+                        .mapToInt(room -> room.sink.currentSubscriberCount())
+                        .sum())
+                .description("채팅방 메시지 구독자 수")
+                .register(meterRegistry);
+    }
+
+    public Flux<Chat> subscribe(String roomId) {
+        return Flux.defer(() -> {
+            Room room = rooms.compute(roomId, (id, existing) -> {
+                Room target = existing == null ? new Room() : existing;
+                target.subscribers++;
+                return target;
+            });
+            return room.sink.asFlux()
+                    // 느린 구독자는 오래된 메시지부터 버려 다른 구독자와 허브를 막지 않음
+                    .onBackpressureBuffer(subscriberBufferSize, BufferOverflowStrategy.DROP_OLDEST)
+                    // write-behind 저장시 같은 메시지가 바로 한 번, 저장 후 change stream으로 한 번 더 발행되므로 최근 id로 중복 제외
+                    .distinct(chat -> chat.getId(), () -> recentIds())
+                    .doFinally(signal -> release(roomId));
+        });
+    }
+
+    // 구독자가 없는 채팅방의 메시지는 버림
+    public void publish(Chat chat) {
+        Room room = rooms.get(chat.getRoomId());
+        if (room != null) {
+            room.sink.emitNext(chat, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))); // 여러 스레드에서 동시에 발행하는 경우 재시도
+        }
+    }
+
+    private Set<String> recentIds() {
+        return Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > subscriberBufferSize;
+            }
+        });
+    }
+
+    private void release(String roomId) {
+        rooms.computeIfPresent(roomId, (id, room) -> --room.subscribers == 0 ? null : room);
+    }
+
+    private static class Room {
+        // 구독자별 요청량에 맞춰 전달하고, 받을 수 없는 구독자는 건너뜀
+        private final Sinks.Many<Chat> sink = Sinks.many().multicast().directBestEffort();
+
+        private int subscribers; // compute 안에서만 변경
+    }
+}
@@ -0,0 +1,94 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.ChatRoom;
+import com.hansung.reactive_marketplace.dto.request.ChatSaveReqDto;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.service.ChatService;
+import com.hansung.reactive_marketplace.util.AuthUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// /ws/chat?roomId= 채팅 연결, 인증과 채팅방 확인은 연결할 때 한 번만 하고 이후에는 메시지 본문만 주고받음
+// 보내는 쪽은 한 번에 하나씩 저장하고 다음 프레임 하나만 미리 받아 저장이 밀리면 소켓 읽기를 멈추고, 받는 쪽은 소켓 쓰기 속도에 맞춰 전달
+@Component
+public class ChatWebSocketHandler implements WebSocketHandler {
+
+    private final ChatService chatService;
+
+    private final int maxMessageBytes;
+
+    public ChatWebSocketHandler(ChatService chatService,
+                                @Value("${chat.websocket.max-message-bytes:4096}") int maxMessageBytes) {
+        this.chatService = chatService;
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String roomId = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getFirst("roomId");
+        if (roomId == null) {
+            return session.close(CloseStatus.BAD_DATA);
+        }
+
+        return session.getHandshakeInfo().getPrincipal()
+                .cast(Authentication.class) // 핸드셰이크 요청에서 jwt 쿠키로 인증된 사용자
+                .map(authentication -> AuthUtils.getAuthenticationUser(authentication).getId())
+                .flatMap(userId -> chatService.findChatRoomByMember(roomId, userId)
+                        .map(chatRoom -> chat(session, chatRoom, userId)))
+                .onErrorResume(e -> Mono.empty()) // 없거나 참여하지 않은 채팅방
+                .defaultIfEmpty(Mono.defer(() -> session.close(CloseStatus.POLICY_VIOLATION)))
+                .flatMap(chat -> chat);
+    }
+
+    private Mono<Void> chat(WebSocketSession session, ChatRoom chatRoom, String userId) {
+        String receiverId = chatRoom.getSellerId().equals(userId) ? chatRoom.getBuyerId() : chatRoom.getSellerId();
+        Sinks.Many<String> errors = Sinks.many().unicast().onBackpressureBuffer(); // 저장 실패 알림, 저장은 한 번에 하나씩이므로 쌓이지 않음
+
+        Mono<Void> input = session.receive()
+                // 프레임 버퍼는 onNext 이후 해제되므로 대기열에 넣기 전에 바로 디코딩
+                .map(message -> save(message, chatRoom.getId(), userId, receiverId))
+                .concatMap(save -> save
+                        .onErrorResume(e -> {
+                            errors.tryEmitNext(e instanceof ApiException apiException
+                                    ? apiException.getException().getMessage()
+                                    : ExceptionMessage.CHAT_SAVE_FAILED.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .then();
+
+        Flux<WebSocketMessage> output = Flux.merge(
+                chatService.findMsgByRoomId(chatRoom.getId())
+                        .map(chat -> session.binaryMessage(bufferFactory -> ChatFrameCodec.encodeMessage(bufferFactory, chat, userId))),
+                errors.asFlux()
+                        .map(error -> session.binaryMessage(bufferFactory -> ChatFrameCodec.encodeError(bufferFactory, error))));
+
+        return Mono.zip(input, session.send(output)).then(); // 클라이언트가 연결을 닫으면 받기가 끝나면서 보내기도 취소
+    }
+
+    // 본문은 호출 즉시 읽고, 저장은 구독할 때 실행
+    private Mono<Void> save(WebSocketMessage message, String roomId, String senderId, String receiverId) {
+        if (message.getPayload().readableByteCount() > maxMessageBytes) {
+            return Mono.error(new ApiException(ExceptionMessage.CHAT_MESSAGE_TOO_LONG));
+        }
+        String msg = ChatFrameCodec.decodeMessage(message.getPayload());
+        if (msg.isBlank()) {
+            return Mono.empty();
+        }
+        ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(msg, senderId, receiverId, roomId);
+        return Mono.defer(() -> chatService.saveMsg(chatSaveReqDto))
+                .then();
+    }
+}
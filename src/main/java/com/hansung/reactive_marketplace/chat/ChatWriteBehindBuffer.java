@@ -0,0 +1,234 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// chat.write-behind.enabled=true 일때 채팅 메시지를 모아서 저장
+// 메시지는 id와 작성 시각을 정한 뒤 바로 전달하고, 크기나 시간 기준으로 모인 메시지를 insertMany 한 번으로 저장
+@Component
+public class ChatWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatWriteBehindBuffer.class);
+
+    // 재시도 후에도 저장하지 못한 메시지를 보관하는 컬렉션, 원인 해결 후 chat 컬렉션으로 옮겨 복구
+    private static final String DEAD_LETTER_COLLECTION = "chatDeadLetter";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final ChatRoomRepository chatRoomRepository;
+
+    private final boolean enabled;
+
+    private final int bufferSize;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final int maxRetries;
+
+    private final Duration shutdownTimeout;
+
+    // 저장 대기 메시지, 큐 크기는 2의 거듭제곱으로 올림되므로 bufferSize 제한은 pendingCount로 확인
+    private final Sinks.Many<Chat> pending;
+
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Counter flushedCounter;
+
+    private final Counter deadLetteredCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter rejectedCounter;
+
+    private final Counter roomUpdateFailedCounter;
+
+    public ChatWriteBehindBuffer(ReactiveMongoTemplate reactiveMongoTemplate,
+                                 ChatRoomRepository chatRoomRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${chat.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${chat.write-behind.buffer-size:10000}") int bufferSize,
+                                 @Value("${chat.write-behind.batch-size:100}") int batchSize,
+                                 @Value("${chat.write-behind.flush-interval:50ms}") Duration flushInterval,
+                                 @Value("${chat.write-behind.max-retries:10}") int maxRetries,
+                                 @Value("${chat.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.chatRoomRepository = chatRoomRepository;
+        this.enabled = enabled;
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxRetries = maxRetries;
+        this.shutdownTimeout = shutdownTimeout;
+        this.pending = Sinks.many().unicast().onBackpressureBuffer(Queues.<Chat>get(bufferSize).get());
+        Gauge.builder("chat.write-behind.pending", pendingCount, count -> count.get())
+                .description("저장되지 않은 채팅 메시지 수")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("chat.write-behind.messages").tag("result", "flushed").register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("chat.write-behind.messages").tag("result", "dead-lettered").register(meterRegistry);
+        this.droppedCounter = Counter.builder("chat.write-behind.messages").tag("result", "dropped").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("chat.write-behind.messages").tag("result", "rejected").register(meterRegistry);
+        this.roomUpdateFailedCounter = Counter.builder("chat.write-behind.room-updates.failed").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pending.asFlux()
+                .bufferTimeout(batchSize, flushInterval, true) // 저장이 밀리면 요청한 만큼만 묶어서 전달
+                .concatMap(batch -> flush(batch)) // 배치 순서대로 하나씩 저장
+                .doFinally(signal -> drained.tryEmitEmpty())
+                .subscribe();
+    }
+
+    // 종료시 남은 메시지를 모두 저장할 때까지 대기
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pending) {
+            pending.tryEmitComplete();
+        }
+        drained.asMono().block(shutdownTimeout);
+    }
+
+    // 저장 대기열에 추가, id와 작성 시각은 호출하는 쪽에서 미리 지정
+    // 저장되지 않은 메시지가 bufferSize개 이상이면 거절해 메모리 사용량을 제한
+    public Mono<Chat> enqueue(Chat chat) {
+        return Mono.defer(() -> {
+            if (pendingCount.incrementAndGet() > bufferSize) {
+                return reject();
+            }
+            Sinks.EmitResult result;
+            synchronized (pending) { // 여러 요청 스레드에서 동시에 추가
+                result = pending.tryEmitNext(chat);
+            }
+            if (result.isFailure()) { // 종료 중
+                return reject();
+            }
+            return Mono.just(chat);
+        });
+    }
+
+    private Mono<Chat> reject() {
+        pendingCount.decrementAndGet();
+        rejectedCounter.increment();
+        return Mono.error(new ApiException(ExceptionMessage.CHAT_WRITE_BUFFER_FULL));
+    }
+
+    // 재시도 후에도 실패한 배치는 dead letter 컬렉션으로 옮기고, 다음 배치 저장은 계속 진행
+    private Mono<Void> flush(List<Chat> batch) {
+        return insert(batch)
+                .retryWhen(retry())
+                .doOnSuccess(result -> flushedCounter.increment(batch.size()))
+                .then(updateChatRooms(batch))
+                .onErrorResume(e -> deadLetter(batch, e))
+                .doFinally(signal -> pendingCount.addAndGet(-batch.size()));
+    }
+
+    // 이미 클라이언트에 전달된 메시지이므로 버리지 않고 보관, 채팅방 요약은 복구할 때 다시 맞춤
+    // id로 저장하므로 재시도해도 중복되지 않고, 보관까지 실패하면 메시지 id를 로그로 남김
+    private Mono<Void> deadLetter(List<Chat> batch, Throwable cause) {
+        Set<String> roomIds = batch.stream()
+                .map(chat -> chat.getRoomId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        log.error("채팅 메시지 저장 실패, {} 컬렉션으로 옮깁니다. size={}, roomIds={}", DEAD_LETTER_COLLECTION, batch.size(), roomIds, cause);
+
+        return Flux.fromIterable(batch)
+                .concatMap(chat -> reactiveMongoTemplate.save(chat, DEAD_LETTER_COLLECTION))
+                .then()
+                .retryWhen(retry())
+                .doOnSuccess(result -> deadLetteredCounter.increment(batch.size()))
+                .onErrorResume(e -> {
+                    droppedCounter.increment(batch.size());
+                    log.error("채팅 메시지 보관 실패, 메시지가 유실됩니다. size={}, roomIds={}, chatIds={}",
+                            batch.size(), roomIds, batch.stream().map(chat -> chat.getId()).toList(), e);
+                    return Mono.empty();
+                });
+    }
+
+    // 이전 시도에서 일부만 저장된 경우 이미 저장된 id를 제외하고 다시 저장
+    private Mono<Void> insert(List<Chat> batch) {
+        return reactiveMongoTemplate.insert(batch, Chat.class)
+                .then()
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    Query query = new Query(Criteria.where("_id").in(batch.stream().map(chat -> chat.getId()).toList()));
+                    query.fields().include("_id");
+                    return reactiveMongoTemplate.find(query, Chat.class)
+                            .map(chat -> chat.getId())
+                            .collect(Collectors.toSet())
+                            .flatMap(savedIds -> insertRemaining(batch, savedIds));
+                });
+    }
+
+    private Mono<Void> insertRemaining(List<Chat> batch, Set<String> savedIds) {
+        List<Chat> remaining = batch.stream()
+                .filter(chat -> !savedIds.contains(chat.getId()))
+                .toList();
+        return remaining.isEmpty()
+                ? Mono.empty()
+                : reactiveMongoTemplate.insert(remaining, Chat.class).then();
+    }
+
+    // 채팅방별로 마지막 메시지와 받는 사람별 읽지 않은 수를 모아 채팅방당 한 번만 갱신
+    // 최근 메시지 변경은 여러 번 실행해도 같으므로 재시도하고, 읽지 않은 수 증가는 응답만 유실된 경우 두 번 증가하지 않도록 한 번만 실행
+    private Mono<Void> updateChatRooms(List<Chat> batch) {
+        Map<String, List<Chat>> chatsByRoom = batch.stream()
+                .collect(Collectors.groupingBy(chat -> chat.getRoomId(), LinkedHashMap::new, Collectors.toList()));
+
+        return Flux.fromIterable(chatsByRoom.entrySet())
+                .flatMap(room -> chatRoomRepository.setLastMessageIfNewer(room.getValue().get(room.getValue().size() - 1))
+                        .retryWhen(retry())
+                        .then(chatRoomRepository.incrementUnreadCounts(room.getKey(), room.getValue().stream()
+                                .collect(Collectors.groupingBy(chat -> chat.getReceiverId(), Collectors.summingInt(chat -> 1)))))
+                        .onErrorResume(e -> {
+                            roomUpdateFailedCounter.increment(); // 최근 메시지는 다음 메시지가 저장될 때 다시 맞춰짐
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Retry retry() {
+        return Retry.backoff(maxRetries, Duration.ofMillis(100))
+                .maxBackoff(Duration.ofSeconds(5));
+    }
+}
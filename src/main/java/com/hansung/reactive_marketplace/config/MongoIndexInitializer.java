@@ -0,0 +1,86 @@
+package com.hansung.reactive_marketplace.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mapping.context.MappingContext;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// @Document 클래스에 선언한 인덱스를 기동 시점에 생성
+// 인덱스 없이 COLLSCAN으로 서비스하지 않도록 생성이 끝날 때까지 기다리고, 실패하면 기동 중단
+// 새로 만드는 unique 인덱스는 기존 데이터에 중복이 있는지 먼저 확인하고, 있으면 중복 키를 알려주며 기동 중단
+@Component
+public class MongoIndexInitializer {
+
+    private static final int DUPLICATE_SAMPLE_SIZE = 5;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final Duration timeout;
+
+    public MongoIndexInitializer(ReactiveMongoTemplate reactiveMongoTemplate,
+                                 @Value("${mongo.index.init-timeout:60s}") Duration timeout) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.timeout = timeout;
+    }
+
+    @PostConstruct
+    public void createIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                reactiveMongoTemplate.getConverter().getMappingContext();
+        IndexResolver indexResolver = IndexResolver.create(mappingContext);
+
+        Flux.fromIterable(mappingContext.getPersistentEntities())
+                .filter(entity -> entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class))
+                .concatMap(entity -> reactiveMongoTemplate.indexOps(entity.getType()).getIndexInfo()
+                        .map(indexInfo -> indexInfo.getName())
+                        .collect(Collectors.toSet())
+                        .flatMapMany(existing -> Flux.fromIterable(indexResolver.resolveIndexFor(entity.getTypeInformation()))
+                                .concatMap(index -> existing.contains(index.getIndexOptions().getString("name"))
+                                        ? Mono.empty() // 이미 같은 인덱스가 있으면 그대로 둠
+                                        : checkNoDuplicates(entity.getCollection(), index)
+                                                .then(reactiveMongoTemplate.indexOps(entity.getType()).ensureIndex(index)))))
+                .then()
+                .block(timeout);
+    }
+
+    // unique 인덱스 키로 묶어 2건 이상인 값이 있으면 인덱스 생성 전에 실패시킴
+    // 중복 데이터는 어느 쪽을 남길지 판단이 필요하므로 자동으로 지우지 않고 운영자가 정리하도록 함
+    private Mono<Void> checkNoDuplicates(String collection, IndexDefinition index) {
+        Document options = index.getIndexOptions();
+        if (!options.getBoolean("unique", false)
+                || options.getBoolean("sparse", false)
+                || options.containsKey("partialFilterExpression")) { // 일부 문서만 포함하는 인덱스는 그룹 결과와 달라 확인하지 않음
+            return Mono.empty();
+        }
+
+        Document groupKey = new Document();
+        index.getIndexKeys().keySet()
+                .forEach(field -> groupKey.append(field.replace('.', '_'), "$" + field));
+        List<Document> pipeline = List.of(
+                new Document("$group", new Document("_id", groupKey).append("count", new Document("$sum", 1))),
+                new Document("$match", new Document("count", new Document("$gt", 1))),
+                new Document("$limit", DUPLICATE_SAMPLE_SIZE));
+
+        return reactiveMongoTemplate.getCollection(collection)
+                .flatMapMany(mongoCollection -> mongoCollection.aggregate(pipeline).allowDiskUse(true))
+                .map(duplicate -> duplicate.get("_id") + " x" + duplicate.get("count"))
+                .collectList()
+                .flatMap(duplicates -> duplicates.isEmpty()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException(String.format(
+                                "%s 컬렉션에 중복 데이터가 있어 unique 인덱스 %s를 만들 수 없습니다. 중복 문서를 정리한 뒤 다시 기동하세요: %s",
+                                collection, options.getString("name"), duplicates))));
+    }
+}
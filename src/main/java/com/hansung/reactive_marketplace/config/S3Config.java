@@ -0,0 +1,35 @@
+package com.hansung.reactive_marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+
+import java.net.URI;
+
+@Configuration
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "s3")
+public class S3Config {
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(@Value("${image.storage.s3.endpoint:}") String endpoint,
+                                       @Value("${image.storage.s3.region:ap-northeast-2}") String region,
+                                       @Value("${image.storage.s3.access-key}") String accessKey,
+                                       @Value("${image.storage.s3.secret-key}") String secretKey) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .multipartEnabled(true); // 길이를 모르는 업로드 스트림을 나눠서 전송
+
+        if (!endpoint.isBlank()) { // MinIO 같은 S3 호환 저장소는 endpoint를 지정하고 path-style 주소 사용
+            builder.endpointOverride(URI.create(endpoint))
+                    .forcePathStyle(true);
+        }
+        return builder.build();
+    }
+}
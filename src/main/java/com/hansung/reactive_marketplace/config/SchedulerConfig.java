@@ -0,0 +1,22 @@
+package com.hansung.reactive_marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    // 이미지 리사이징 같은 CPU 작업 전용 스케줄러, 스레드 수와 대기열 크기를 제한해 이벤트 루프와 분리
+    // queuedTaskCap은 스레드마다 적용되어 실제 상한은 스레드 수 x 대기열 크기이므로 전체 대기 작업 수는 ImageProcessor에서 제한
+    @Bean(destroyMethod = "dispose")
+    public Scheduler imageScheduler(@Value("${image.worker.threads:0}") int threads,
+                                    @Value("${image.worker.queue-capacity:100}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), // 기본값은 CPU 코어 수
+                queueCapacity,
+                "image-worker");
+    }
+}
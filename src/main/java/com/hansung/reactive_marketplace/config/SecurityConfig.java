@@ -47,7 +47,7 @@ public class SecurityConfig {
                 .httpBasic(httpBasicSpec -> httpBasicSpec.disable())
 
                 .authorizeExchange(authorizeExchangeSpec -> authorizeExchangeSpec
-                        .pathMatchers("/", "/auth/**", "/js/**", "/css/**", "/image/**", "/img/**").permitAll()
+                        .pathMatchers("/", "/product/list", "/auth/**", "/js/**", "/css/**", "/image/**", "/img/**").permitAll()
                         .pathMatchers("/user/loginForm", "/user/saveForm", "/user/save").permitAll()
                         .anyExchange().authenticated())
 
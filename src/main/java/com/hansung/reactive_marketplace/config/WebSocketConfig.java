@@ -0,0 +1,19 @@
+package com.hansung.reactive_marketplace.config;
+
+import com.hansung.reactive_marketplace.chat.ChatWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+@Configuration
+public class WebSocketConfig {
+
+    // 컨트롤러 매핑보다 먼저 확인하도록 우선순위를 높게 지정
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(ChatWebSocketHandler chatWebSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of("/ws/chat", chatWebSocketHandler), -1);
+    }
+}
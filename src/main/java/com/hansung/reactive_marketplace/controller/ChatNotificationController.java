@@ -6,6 +6,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
@@ -18,9 +20,12 @@ public class ChatNotificationController {
     }
 
     // 클라이언트에게 실시간으로 채팅 메시지를 스트리밍
+    // 브라우저 자동 재연결은 Last-Event-ID 헤더로, 페이지 이동 후 새 연결은 lastEventId 파라미터로 이어서 받음
     @GetMapping(value = "/chat/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<String>> streamChatNotifications(Authentication authentication) {
-        return redisSubscriber.subscribeToTopic(AuthUtils.getAuthenticationUser(authentication).getId());
+    public Flux<ServerSentEvent<String>> streamChatNotifications(Authentication authentication,
+                                                                 @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                                                 @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return redisSubscriber.subscribe(AuthUtils.getAuthenticationUser(authentication).getId(), lastEventId);
     }
 }
-
@@ -0,0 +1,179 @@
+package com.hansung.reactive_marketplace.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.storage.ImageMetadata;
+import com.hansung.reactive_marketplace.storage.ImagePaths;
+import com.hansung.reactive_marketplace.storage.ImageStorage;
+import com.hansung.reactive_marketplace.util.ImageUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// /image/** 전용 핸들러, 로컬 파일은 zero-copy(sendfile)로 보내고 원격 저장소는 스트림으로 응답
+@RestController
+public class ImageController {
+
+    private static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+
+    // 파일명이 uuid로 만들어져 내용이 바뀌지 않으므로 1년간 재검증 없이 캐시
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final ImageStorage imageStorage;
+
+    // 요청마다 파일 속성을 조회하지 않도록 경로별 크기와 수정 시각을 캐시, 없는 파일(WebP 미생성 등)도 짧게 캐시
+    private final Cache<String, Optional<ImageMetadata>> metadataCache;
+
+    public ImageController(ImageStorage imageStorage,
+                           MeterRegistry meterRegistry,
+                           @Value("${image.serve.metadata-cache.max-size:10000}") long metadataCacheMaxSize,
+                           @Value("${image.serve.metadata-cache.ttl:10s}") Duration metadataCacheTtl) {
+        this.imageStorage = imageStorage;
+        this.metadataCache = Caffeine.newBuilder()
+                .maximumSize(metadataCacheMaxSize)
+                .expireAfterWrite(metadataCacheTtl) // 삭제되거나 새로 생성된 WebP는 TTL 이후 반영
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, metadataCache, "imageMetadataCache");
+    }
+
+    @GetMapping("/image/**")
+    public Mono<Void> image(ServerWebExchange exchange) {
+        // 요청 경로는 인코딩된 상태이므로 세그먼트별로 디코딩, 상위 디렉토리 이동이나 인코딩된 구분자가 있으면 404
+        Optional<String> decodedPath = ImagePaths.decode(exchange.getRequest().getPath().pathWithinApplication().value());
+        if (decodedPath.isEmpty()) {
+            return Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND));
+        }
+        String path = decodedPath.get();
+        ServerHttpResponse response = exchange.getResponse();
+        // 같은 URL이라도 Accept에 따라 응답이 달라지므로 공유 캐시가 구분하도록 표시
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        return resolve(path, acceptsWebp(exchange.getRequest().getHeaders()))
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
+                .flatMap(image -> {
+                    String etag = imageEtag(image);
+                    // If-None-Match, If-Modified-Since 일치시 304 응답
+                    if (exchange.checkNotModified(etag, image.metadata().lastModified())) {
+                        return response.setComplete();
+                    }
+                    HttpHeaders headers = response.getHeaders();
+                    headers.setContentType(MediaTypeFactory.getMediaType(image.path()).orElse(MediaType.APPLICATION_OCTET_STREAM));
+                    headers.setCacheControl(IMMUTABLE);
+                    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+                    long length = image.metadata().contentLength();
+                    HttpRange range = requestedRange(exchange, etag);
+                    if (range == null) {
+                        headers.setContentLength(length);
+                        return writeBody(response, image, 0, length);
+                    }
+
+                    long start = range.getRangeStart(length);
+                    if (start >= length) { // 파일 범위를 벗어난 요청
+                        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return response.setComplete();
+                    }
+                    long end = Math.min(range.getRangeEnd(length), length - 1);
+                    response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                    headers.setContentLength(end - start + 1);
+                    return writeBody(response, image, start, end - start + 1);
+                });
+    }
+
+    // 로컬 파일이면 JVM 힙으로 복사하지 않고 커널이 소켓으로 직접 전송
+    private Mono<Void> writeBody(ServerHttpResponse response, StoredImage image, long position, long count) {
+        Optional<Path> localPath = imageStorage.localPath(image.path());
+        if (localPath.isPresent() && response instanceof ZeroCopyHttpOutputMessage zeroCopyResponse) {
+            return zeroCopyResponse.writeWith(localPath.get(), position, count);
+        }
+        return response.writeWith(imageStorage.read(image.path(), position, count));
+    }
+
+    // WebP를 받을 수 있고 이미 생성되어 있으면 WebP, 아니면 원래 파일
+    private Mono<StoredImage> resolve(String path, boolean acceptsWebp) {
+        Mono<StoredImage> original = Mono.defer(() -> stat(path)
+                .map(metadata -> new StoredImage(path, metadata)));
+        if (!acceptsWebp) {
+            return original;
+        }
+        String webpPath = ImageUtils.generateWebpPath(path);
+        return stat(webpPath)
+                .map(metadata -> new StoredImage(webpPath, metadata))
+                .switchIfEmpty(original);
+    }
+
+    private Mono<ImageMetadata> stat(String path) {
+        Optional<ImageMetadata> cached = metadataCache.getIfPresent(path);
+        if (cached != null) {
+            return Mono.justOrEmpty(cached);
+        }
+        return imageStorage.stat(path)
+                .map(metadata -> Optional.of(metadata))
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(metadata -> metadataCache.put(path, metadata))
+                .flatMap(metadata -> Mono.justOrEmpty(metadata));
+    }
+
+    // 범위가 하나인 요청만 처리하고, 여러 범위나 잘못된 헤더, 다른 버전을 기준으로 한 If-Range는 전체 파일로 응답
+    private HttpRange requestedRange(ServerWebExchange exchange, String etag) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals("\"" + etag + "\"")) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // '*/*'만 보내는 클라이언트는 WebP를 처리하지 못할 수 있으므로 명시한 경우만 허용
+    private boolean acceptsWebp(HttpHeaders requestHeaders) {
+        try {
+            return requestHeaders.getAccept().stream()
+                    .anyMatch(mediaType -> IMAGE_WEBP.equalsTypeAndSubtype(mediaType) && mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // 같은 URL이라도 WebP와 원본은 다른 ETag를 갖도록 실제 응답 파일의 이름, 크기, 수정 시각으로 생성
+    // 파일명에 헤더에 쓸 수 없는 문자가 있을 수 있으므로 해시로 변환
+    private String imageEtag(StoredImage image) {
+        String fileName = image.path().substring(image.path().lastIndexOf('/') + 1);
+        String fingerprint = fileName + "-" + image.metadata().contentLength() + "-" + image.metadata().lastModified().toEpochMilli();
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record StoredImage(
+            String path,
+            ImageMetadata metadata) {}
+}
@@ -3,12 +3,14 @@ package com.hansung.reactive_marketplace.controller;
 import com.hansung.reactive_marketplace.dto.request.ProductDeleteReqDto;
 import com.hansung.reactive_marketplace.dto.request.ProductSaveReqDto;
 import com.hansung.reactive_marketplace.dto.request.ProductUpdateReqDto;
+import com.hansung.reactive_marketplace.dto.response.ProductPageResDto;
 import com.hansung.reactive_marketplace.service.ProductService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -20,11 +22,18 @@ public class ProductApiController {
         this.productService = productService;
     }
 
+    // 무한 스크롤용 상품 목록 조회
+    @GetMapping("/product/list")
+    public Mono<ProductPageResDto> list(@RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "20") int size) {
+        return productService.findProductList(cursor, size);
+    }
+
     @PostMapping("/product/save")
     public Mono<ResponseEntity<String>> save(@RequestPart("product") ProductSaveReqDto productSaveReqDto,
-                                             @RequestPart(value = "image") FilePart image,
+                                             @RequestPart("image") Flux<FilePart> images, // 같은 이름으로 여러 장 전송, 최소 한 장 필요
                                              Authentication authentication) {
-        return productService.saveProduct(productSaveReqDto, image, authentication)
+        return productService.saveProduct(productSaveReqDto, images, authentication)
                 .then(Mono.just(ResponseEntity.status(HttpStatus.CREATED)
                         .body("Product saved successfully")));
     }
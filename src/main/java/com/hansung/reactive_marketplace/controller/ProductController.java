@@ -11,6 +11,8 @@ import reactor.core.publisher.Mono;
 @Controller
 public class ProductController {
 
+    private static final int PAGE_SIZE = 20; // 첫 화면에 렌더링할 상품 수
+
     private final ProductService productService;
 
     public ProductController(ProductService productService) {
@@ -32,9 +34,11 @@ public class ProductController {
 
     @GetMapping("/")
     public Mono<Rendering> ProductList() {
-        return Mono.just(Rendering.view("index")
-                .modelAttribute("productList", productService.findProductList())
-                .build());
+        return productService.findProductList(null, PAGE_SIZE)
+                .map(page -> Rendering.view("index")
+                        .modelAttribute("productList", page.productList())
+                        .modelAttribute("nextCursor", page.nextCursor() == null ? "" : page.nextCursor())
+                        .build());
     }
 
     @GetMapping("/product/myList")
@@ -7,12 +7,14 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Document(collection = "chat")
+@CompoundIndex(name = "roomId_createdAt", def = "{ 'roomId' : 1, 'createdAt' : -1 }") // 채팅방 메시지, 최근 메시지 조회용 인덱스
 public class Chat {
 
     @Id
@@ -35,17 +37,27 @@ public class Chat {
     }
 
     public Chat(Builder builder) {
+        this.id = builder.id;
         this.msg = builder.msg;
         this.senderId = builder.senderId;
         this.receiverId = builder.receiverId;
         this.roomId = builder.roomId;
+        this.createdAt = builder.createdAt;
     }
 
     public static class Builder {
+        private String id;
         private String msg;
         private String senderId;
         private String receiverId;
         private String roomId;
+        private LocalDateTime createdAt;
+
+        // 저장 전에 id와 작성 시각을 정해야 하는 경우(write-behind)에만 지정, 없으면 저장시 생성
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
 
         public Builder msg(String msg) {
             this.msg = msg;
@@ -67,6 +79,11 @@ public class Chat {
             return this;
         }
 
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
         public Chat build() {
             return new Chat(this);
         }
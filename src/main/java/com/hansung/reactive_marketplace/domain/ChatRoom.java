@@ -2,10 +2,20 @@ package com.hansung.reactive_marketplace.domain;
 
 import lombok.Getter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @Getter
 @Document(collection = "chatRoom")
+@CompoundIndexes({
+        @CompoundIndex(name = "productId_buyerId", def = "{ 'productId' : 1, 'buyerId' : 1 }", unique = true), // 상품, 구매자별로 채팅방은 하나
+        @CompoundIndex(name = "sellerId_lastMessageAt", def = "{ 'sellerId' : 1, 'lastMessageAt' : -1 }"), // 채팅방 목록을 최근 대화순으로 조회
+        @CompoundIndex(name = "buyerId_lastMessageAt", def = "{ 'buyerId' : 1, 'lastMessageAt' : -1 }")
+})
 public class ChatRoom {
 
     @Id
@@ -17,6 +27,21 @@ public class ChatRoom {
 
     private String buyerId;
 
+    // 목록 화면용 요약 정보, 채팅방 생성시 저장하고 메시지 저장, 닉네임 변경, 썸네일 생성시 갱신
+    private String productTitle;
+
+    private String thumbnailPath;
+
+    private String sellerNickname;
+
+    private String buyerNickname;
+
+    private String lastMessage;
+
+    private LocalDateTime lastMessageAt;
+
+    private Map<String, Integer> unreadCounts; // 사용자 ID별 읽지 않은 메시지 수
+
     protected ChatRoom() {
     }
 
@@ -24,12 +49,29 @@ public class ChatRoom {
         this.productId = builder.productId;
         this.sellerId = builder.sellerId;
         this.buyerId = builder.buyerId;
+        this.productTitle = builder.productTitle;
+        this.thumbnailPath = builder.thumbnailPath;
+        this.sellerNickname = builder.sellerNickname;
+        this.buyerNickname = builder.buyerNickname;
+    }
+
+    // 요약 정보가 생기기 전에 만들어진 채팅방인지 확인
+    public boolean hasSummary() {
+        return productTitle != null;
+    }
+
+    public int getUnreadCount(String userId) {
+        return unreadCounts == null ? 0 : unreadCounts.getOrDefault(userId, 0);
     }
 
     public static class Builder {
         private String productId;
         private String sellerId;
         private String buyerId;
+        private String productTitle;
+        private String thumbnailPath;
+        private String sellerNickname;
+        private String buyerNickname;
 
         public Builder productId(String productId) {
             this.productId = productId;
@@ -46,6 +88,26 @@ public class ChatRoom {
             return this;
         }
 
+        public Builder productTitle(String productTitle) {
+            this.productTitle = productTitle;
+            return this;
+        }
+
+        public Builder thumbnailPath(String thumbnailPath) {
+            this.thumbnailPath = thumbnailPath;
+            return this;
+        }
+
+        public Builder sellerNickname(String sellerNickname) {
+            this.sellerNickname = sellerNickname;
+            return this;
+        }
+
+        public Builder buyerNickname(String buyerNickname) {
+            this.buyerNickname = buyerNickname;
+            return this;
+        }
+
         public ChatRoom build() {
             return new ChatRoom(this);
         }
@@ -58,6 +120,9 @@ public class ChatRoom {
                 ", productId='" + productId + '\'' +
                 ", sellerId='" + sellerId + '\'' +
                 ", buyerId='" + buyerId + '\'' +
+                ", productTitle='" + productTitle + '\'' +
+                ", lastMessageAt=" + lastMessageAt +
+                ", unreadCounts=" + unreadCounts +
                 '}';
     }
 }
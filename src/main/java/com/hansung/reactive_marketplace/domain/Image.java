@@ -7,18 +7,23 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Document(collection = "image")
+@CompoundIndex(name = "productId_position", def = "{ 'productId' : 1, 'position' : 1 }") // 상품 이미지를 표시 순서대로 조회
 public class Image {
     @Id
     private String id;
 
     private ImageSource imageSource;
 
+    @Indexed // 프로필 이미지 조회용
     private String userId;
 
     private String productId;
@@ -29,8 +34,14 @@ public class Image {
 
     private long imageSize;
 
+    private String contentHash; // 원본 파일의 SHA-256 해시
+
     private String imagePath;
 
+    private int position; // 상품 이미지 표시 순서, 0부터 시작
+
+    private boolean cover; // 목록 썸네일로 사용하는 대표 이미지
+
     @JsonSerialize(using = LocalDateTimeSerializer.class)
     @JsonDeserialize(using = LocalDateTimeDeserializer.class)
     @CreatedDate
@@ -38,6 +49,8 @@ public class Image {
 
     private String thumbnailPath;
 
+    private List<ImageVariant> variants; // 너비별 이미지, 썸네일 작업이 끝나면 채워짐
+
     protected Image() {
     }
 
@@ -47,8 +60,12 @@ public class Image {
         this.imageName = builder.imageName;
         this.imageType = builder.imageType;
         this.imageSize = builder.imageSize;
+        this.contentHash = builder.contentHash;
         this.imagePath = builder.imagePath;
+        this.position = builder.position;
+        this.cover = builder.cover;
         this.thumbnailPath = builder.thumbnailPath;
+        this.variants = builder.variants;
         this.productId = builder.productId;
     }
 
@@ -59,8 +76,12 @@ public class Image {
                 .imageName(this.imageName)
                 .imageType(this.imageType)
                 .imageSize(this.imageSize)
+                .contentHash(this.contentHash)
                 .imagePath(this.imagePath)
-                .thumbnailPath(this.thumbnailPath);
+                .position(this.position)
+                .cover(this.cover)
+                .thumbnailPath(this.thumbnailPath)
+                .variants(this.variants);
     }
 
     public static class Builder {
@@ -70,8 +91,12 @@ public class Image {
         private String imageName;
         private String imageType;
         private long imageSize;
+        private String contentHash;
         private String imagePath;
+        private int position;
+        private boolean cover;
         private String thumbnailPath;
+        private List<ImageVariant> variants;
 
         public Builder imageSource(ImageSource imageSource) {
             this.imageSource = imageSource;
@@ -103,16 +128,36 @@ public class Image {
             return this;
         }
 
+        public Builder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
         public Builder imagePath(String imagePath) {
             this.imagePath = imagePath;
             return this;
         }
 
+        public Builder position(int position) {
+            this.position = position;
+            return this;
+        }
+
+        public Builder cover(boolean cover) {
+            this.cover = cover;
+            return this;
+        }
+
         public Builder thumbnailPath(String thumbnailPath) {
             this.thumbnailPath = thumbnailPath;
             return this;
         }
 
+        public Builder variants(List<ImageVariant> variants) {
+            this.variants = variants;
+            return this;
+        }
+
         public Image build() {
             return new Image(this);
         }
@@ -128,9 +173,13 @@ public class Image {
                 ", imageName='" + imageName + '\'' +
                 ", imageType='" + imageType + '\'' +
                 ", imageSize=" + imageSize +
+                ", contentHash='" + contentHash + '\'' +
                 ", imagePath='" + imagePath + '\'' +
+                ", position=" + position +
+                ", cover=" + cover +
                 ", createdAt=" + createdAt +
                 ", thumbnailPath='" + thumbnailPath + '\'' +
+                ", variants=" + variants +
                 '}';
     }
 }
@@ -0,0 +1,101 @@
+package com.hansung.reactive_marketplace.domain;
+
+import lombok.Getter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 같은 내용의 이미지 파일을 한 번만 저장하기 위한 문서, 원본 해시와 용도별로 하나만 존재
+@Getter
+@Document(collection = "imageBlob")
+@CompoundIndex(name = "contentHash_imageSource", def = "{ 'contentHash' : 1, 'imageSource' : 1 }", unique = true)
+public class ImageBlob {
+
+    @Id
+    private String id;
+
+    private String contentHash; // 원본 파일의 SHA-256 해시
+
+    private ImageSource imageSource; // 용도마다 썸네일 크기가 달라 따로 관리
+
+    private String imagePath;
+
+    private String thumbnailPath; // 썸네일 작업이 끝나기 전에는 null
+
+    private List<ImageVariant> variants;
+
+    private long refCount; // 이 파일을 사용하는 Image 문서 수
+
+    private LocalDateTime createdAt;
+
+    protected ImageBlob() {
+    }
+
+    private ImageBlob(Builder builder) {
+        this.contentHash = builder.contentHash;
+        this.imageSource = builder.imageSource;
+        this.imagePath = builder.imagePath;
+        this.thumbnailPath = builder.thumbnailPath;
+        this.variants = builder.variants;
+        this.refCount = builder.refCount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static class Builder {
+        private String contentHash;
+        private ImageSource imageSource;
+        private String imagePath;
+        private String thumbnailPath;
+        private List<ImageVariant> variants;
+        private long refCount;
+
+        public Builder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
+        public Builder imageSource(ImageSource imageSource) {
+            this.imageSource = imageSource;
+            return this;
+        }
+
+        public Builder imagePath(String imagePath) {
+            this.imagePath = imagePath;
+            return this;
+        }
+
+        public Builder thumbnailPath(String thumbnailPath) {
+            this.thumbnailPath = thumbnailPath;
+            return this;
+        }
+
+        public Builder variants(List<ImageVariant> variants) {
+            this.variants = variants;
+            return this;
+        }
+
+        public Builder refCount(long refCount) {
+            this.refCount = refCount;
+            return this;
+        }
+
+        public ImageBlob build() {
+            return new ImageBlob(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ImageBlob{" +
+                "id='" + id + '\'' +
+                ", contentHash='" + contentHash + '\'' +
+                ", imageSource=" + imageSource +
+                ", imagePath='" + imagePath + '\'' +
+                ", thumbnailPath='" + thumbnailPath + '\'' +
+                ", refCount=" + refCount +
+                '}';
+    }
+}
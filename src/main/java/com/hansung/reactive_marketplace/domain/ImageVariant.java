@@ -0,0 +1,32 @@
+package com.hansung.reactive_marketplace.domain;
+
+import lombok.Getter;
+
+// 원본 비율을 유지한 채 너비별로 생성한 이미지, srcset 후보로 사용
+@Getter
+public class ImageVariant {
+
+    private int width;
+
+    private int height;
+
+    private String path;
+
+    protected ImageVariant() {
+    }
+
+    public ImageVariant(int width, int height, String path) {
+        this.width = width;
+        this.height = height;
+        this.path = path;
+    }
+
+    @Override
+    public String toString() {
+        return "ImageVariant{" +
+                "width=" + width +
+                ", height=" + height +
+                ", path='" + path + '\'' +
+                '}';
+    }
+}
@@ -7,12 +7,18 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Getter // json 직렬화로 데이터 가져올때 사용
 @Document(collection = "product")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_createdAt_id", def = "{ 'status' : 1, 'createdAt' : -1, '_id' : -1 }"), // 커서 페이지네이션용 인덱스
+        @CompoundIndex(name = "userId_createdAt", def = "{ 'userId' : 1, 'createdAt' : -1 }") // 내 상품 목록용 인덱스
+})
 public class Product {
 
     @Id
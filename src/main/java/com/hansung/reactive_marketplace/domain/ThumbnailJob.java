@@ -0,0 +1,158 @@
+package com.hansung.reactive_marketplace.domain;
+
+import lombok.Getter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Document(collection = "thumbnailJob")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{ 'status' : 1, 'nextAttemptAt' : 1 }") // 작업 조회용 인덱스
+public class ThumbnailJob {
+
+    @Id
+    private String id;
+
+    private String imageId;
+
+    private String sourcePath; // 원본 이미지 경로
+
+    private String targetPath; // 생성할 썸네일 경로
+
+    private int width;
+
+    private int height;
+
+    private List<Integer> variantWidths; // 원본 비율을 유지해 생성할 너비 목록
+
+    private String cacheKey; // 썸네일 생성 후 비울 이미지 캐시 키
+
+    private ThumbnailJobStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt; // 이 시각 이후에 처리 가능
+
+    private LocalDateTime lockedUntil; // 처리중인 워커의 lease 만료 시각
+
+    private String lastError;
+
+    @Indexed(name = "finishedAt_ttl", expireAfter = "7d") // 완료, 실패한 작업은 확인할 수 있도록 7일간 보관 후 삭제
+    private LocalDateTime finishedAt;
+
+    protected ThumbnailJob() {
+    }
+
+    private ThumbnailJob(Builder builder) {
+        this.imageId = builder.imageId;
+        this.sourcePath = builder.sourcePath;
+        this.targetPath = builder.targetPath;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.variantWidths = builder.variantWidths;
+        this.cacheKey = builder.cacheKey;
+        this.status = ThumbnailJobStatus.PENDING; // 초깃값은 PENDING으로 자동 설정
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // 워커가 작업을 가져갈 때 lease를 설정하고 시도 횟수를 증가
+    public void markProcessing(LocalDateTime lockedUntil) {
+        this.status = ThumbnailJobStatus.PROCESSING;
+        this.lockedUntil = lockedUntil;
+        this.attempts++;
+    }
+
+    public void markRetry(LocalDateTime nextAttemptAt, String lastError) {
+        this.status = ThumbnailJobStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lockedUntil = null;
+        this.lastError = lastError;
+    }
+
+    public void markDone() {
+        this.status = ThumbnailJobStatus.DONE;
+        this.lockedUntil = null;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String lastError) {
+        this.status = ThumbnailJobStatus.FAILED;
+        this.lockedUntil = null;
+        this.lastError = lastError;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public static class Builder {
+        private String imageId;
+        private String sourcePath;
+        private String targetPath;
+        private int width;
+        private int height;
+        private List<Integer> variantWidths;
+        private String cacheKey;
+
+        public Builder imageId(String imageId) {
+            this.imageId = imageId;
+            return this;
+        }
+
+        public Builder sourcePath(String sourcePath) {
+            this.sourcePath = sourcePath;
+            return this;
+        }
+
+        public Builder targetPath(String targetPath) {
+            this.targetPath = targetPath;
+            return this;
+        }
+
+        public Builder width(int width) {
+            this.width = width;
+            return this;
+        }
+
+        public Builder height(int height) {
+            this.height = height;
+            return this;
+        }
+
+        public Builder variantWidths(List<Integer> variantWidths) {
+            this.variantWidths = variantWidths;
+            return this;
+        }
+
+        public Builder cacheKey(String cacheKey) {
+            this.cacheKey = cacheKey;
+            return this;
+        }
+
+        public ThumbnailJob build() {
+            return new ThumbnailJob(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ThumbnailJob{" +
+                "id='" + id + '\'' +
+                ", imageId='" + imageId + '\'' +
+                ", sourcePath='" + sourcePath + '\'' +
+                ", targetPath='" + targetPath + '\'' +
+                ", width=" + width +
+                ", height=" + height +
+                ", variantWidths=" + variantWidths +
+                ", cacheKey='" + cacheKey + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                ", lockedUntil=" + lockedUntil +
+                ", lastError='" + lastError + '\'' +
+                ", finishedAt=" + finishedAt +
+                '}';
+    }
+}
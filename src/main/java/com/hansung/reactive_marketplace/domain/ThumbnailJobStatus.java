@@ -0,0 +1,8 @@
+package com.hansung.reactive_marketplace.domain;
+
+public enum ThumbnailJobStatus {
+    PENDING, // 처리 대기
+    PROCESSING, // 워커가 처리중
+    DONE, // 썸네일 생성 완료
+    FAILED // 최대 재시도 횟수 초과
+}
@@ -6,4 +6,5 @@ public record ProductSaveReqDto(
         String title,
         String description,
         int price,
-        ImageSource imageSource) {}
+        ImageSource imageSource,
+        Integer coverIndex) {} // 대표 이미지로 사용할 이미지 순서, 없으면 첫 번째 이미지
@@ -9,5 +9,6 @@ public record ChatRoomListResDto (
         String buyerNickname,
         String recentMsg,
         String recentCreatedAt,
-        String thumbnailPath
+        String thumbnailPath,
+        int unreadCount
 ) {}
@@ -1,5 +1,10 @@
 package com.hansung.reactive_marketplace.dto.response;
 
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import com.hansung.reactive_marketplace.util.ImageUtils;
+
+import java.util.List;
+
 public record ProductDetailResDto(
         String id,
         String title,
@@ -7,5 +12,18 @@ public record ProductDetailResDto(
         String description,
         String nickname,
         String imagePath,
+        List<ImageVariant> imageVariants,
+        List<String> imagePaths, // 대표 이미지를 포함한 모든 이미지, 대표 이미지가 첫 번째
         String sellerId,
-        String buyerId) {}
+        String buyerId) {
+
+    // 조회 결과는 요청자와 무관하므로 구매자 id만 바꿔 끼움
+    public ProductDetailResDto withBuyerId(String buyerId) {
+        return new ProductDetailResDto(id, title, price, description, nickname, imagePath, imageVariants, imagePaths, sellerId, buyerId);
+    }
+
+    // 템플릿의 srcset 속성 값, 너비별 이미지가 아직 없으면 null
+    public String imageSrcset() {
+        return ImageUtils.buildSrcset(imageVariants);
+    }
+}
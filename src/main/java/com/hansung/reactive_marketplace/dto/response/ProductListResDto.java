@@ -4,4 +4,5 @@ public record ProductListResDto(
         String id,
         String title,
         int price,
-        String thumbnailPath) {}
+        String thumbnailPath,
+        String srcset) {}
@@ -0,0 +1,7 @@
+package com.hansung.reactive_marketplace.dto.response;
+
+import java.util.List;
+
+public record ProductPageResDto(
+        List<ProductListResDto> productList,
+        String nextCursor) {}
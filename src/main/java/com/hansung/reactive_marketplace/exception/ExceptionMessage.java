@@ -14,18 +14,25 @@ public enum ExceptionMessage {
 
     // 상품 관련 예외
     PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND, "상품을 찾을 수 없습니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "잘못된 페이지 커서입니다."),
 
     // 이미지 관련 예외
     IMAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "이미지를 찾을 수 없습니다."),
     IMAGE_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 업로드에 실패했습니다."),
     IMAGE_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 삭제에 실패했습니다."),
+    IMAGE_COUNT_EXCEEDED(HttpStatus.BAD_REQUEST, "등록할 수 있는 이미지 수를 초과했습니다."),
+    IMAGE_PROCESSING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
     // 채팅 관련 예외
     CHAT_NOT_FOUND(HttpStatus.NOT_FOUND, "채팅 메시지를 찾을 수 없습니다."),
+    CHAT_ROOM_NOT_FOUND(HttpStatus.NOT_FOUND, "채팅방을 찾을 수 없습니다."),
     CHAT_ROOM_CREATION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "채팅방 생성에 실패했습니다."),
     CHAT_SAVE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "채팅 메시지 저장에 실패했습니다."),
+    CHAT_WRITE_BUFFER_FULL(HttpStatus.SERVICE_UNAVAILABLE, "채팅 메시지 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_MESSAGE_TOO_LONG(HttpStatus.BAD_REQUEST, "채팅 메시지가 너무 깁니다."),
     CHAT_ROOM_INFO_FETCH_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "채팅방 정보 조회에 실패했습니다."),
     SELLER_SAME_AS_LOGGED_IN_USER(HttpStatus.BAD_REQUEST, "판매자와 로그인된 사용자가 동일하여 1:1 대화를 할 수 없습니다."),
+    TOO_MANY_NOTIFICATION_STREAMS(HttpStatus.TOO_MANY_REQUESTS, "동시에 열 수 있는 알림 연결 수를 초과했습니다."),
 
     // 그외 나머지 예외
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "알 수 없는 서버 에러입니다.");
@@ -0,0 +1,71 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+
+// 로컬 개발, 테스트용 큐, 프로세스가 종료되면 대기중인 작업은 사라짐
+@Component
+@ConditionalOnProperty(name = "image.thumbnail.queue", havingValue = "memory")
+public class InMemoryThumbnailJobQueue implements ThumbnailJobQueue {
+
+    // 처리 가능 시각이 빠른 순서로 정렬
+    private final PriorityBlockingQueue<ThumbnailJob> jobs =
+            new PriorityBlockingQueue<>(16, Comparator.comparing(job -> job.getNextAttemptAt()));
+
+    private final Duration leaseDuration;
+
+    public InMemoryThumbnailJobQueue(@Value("${image.thumbnail.lease:1m}") Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public Mono<Void> enqueue(ThumbnailJob job) {
+        return Mono.fromRunnable(() -> jobs.add(job));
+    }
+
+    @Override
+    public Mono<ThumbnailJob> claim() {
+        return Mono.fromCallable(() -> {
+            synchronized (jobs) { // peek과 poll 사이에 다른 워커가 끼어들지 않도록 함
+                ThumbnailJob job = jobs.peek();
+                LocalDateTime now = LocalDateTime.now();
+                if (job == null || job.getNextAttemptAt().isAfter(now)) {
+                    return null;
+                }
+                jobs.poll();
+                job.markProcessing(now.plus(leaseDuration));
+                return job;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> complete(ThumbnailJob job) {
+        return Mono.fromRunnable(() -> job.markDone());
+    }
+
+    @Override
+    public Mono<Void> retry(ThumbnailJob job, LocalDateTime nextAttemptAt, String error) {
+        return Mono.fromRunnable(() -> {
+            job.markRetry(nextAttemptAt, error);
+            jobs.add(job);
+        });
+    }
+
+    @Override
+    public Mono<Void> fail(ThumbnailJob job, String error) {
+        return Mono.fromRunnable(() -> job.markFailed(error));
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+}
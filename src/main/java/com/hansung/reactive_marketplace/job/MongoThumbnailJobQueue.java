@@ -0,0 +1,100 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import com.hansung.reactive_marketplace.domain.ThumbnailJobStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 작업을 mongo 컬렉션에 저장해 서버가 재시작되어도 유실되지 않는 큐
+@Component
+@ConditionalOnProperty(name = "image.thumbnail.queue", havingValue = "mongo", matchIfMissing = true)
+public class MongoThumbnailJobQueue implements ThumbnailJobQueue {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final Duration leaseDuration;
+
+    public MongoThumbnailJobQueue(ReactiveMongoTemplate reactiveMongoTemplate,
+                                  @Value("${image.thumbnail.lease:1m}") Duration leaseDuration) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public Mono<Void> enqueue(ThumbnailJob job) {
+        return reactiveMongoTemplate.insert(job).then(); // 이미지 저장과 같은 트랜잭션에서 등록
+    }
+
+    // findAndModify로 작업을 원자적으로 가져오므로 여러 노드의 워커가 같은 작업을 중복 처리하지 않음
+    @Override
+    public Mono<ThumbnailJob> claim() {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            Query query = new Query(new Criteria().orOperator(
+                    Criteria.where("status").is(ThumbnailJobStatus.PENDING).and("nextAttemptAt").lte(now),
+                    Criteria.where("status").is(ThumbnailJobStatus.PROCESSING).and("lockedUntil").lt(now) // lease가 만료된 작업 회수
+            )).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+
+            Update update = new Update()
+                    .set("status", ThumbnailJobStatus.PROCESSING)
+                    .set("lockedUntil", now.plus(leaseDuration))
+                    .inc("attempts", 1);
+
+            return reactiveMongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), ThumbnailJob.class);
+        });
+    }
+
+    @Override
+    public Mono<Void> complete(ThumbnailJob job) {
+        return reactiveMongoTemplate.updateFirst(byClaim(job),
+                        new Update()
+                                .set("status", ThumbnailJobStatus.DONE)
+                                .set("finishedAt", LocalDateTime.now())
+                                .unset("lockedUntil"),
+                        ThumbnailJob.class)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> retry(ThumbnailJob job, LocalDateTime nextAttemptAt, String error) {
+        return reactiveMongoTemplate.updateFirst(byClaim(job),
+                        new Update()
+                                .set("status", ThumbnailJobStatus.PENDING)
+                                .set("nextAttemptAt", nextAttemptAt)
+                                .set("lastError", error)
+                                .unset("lockedUntil"),
+                        ThumbnailJob.class)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> fail(ThumbnailJob job, String error) {
+        return reactiveMongoTemplate.updateFirst(byClaim(job),
+                        new Update()
+                                .set("status", ThumbnailJobStatus.FAILED)
+                                .set("lastError", error)
+                                .set("finishedAt", LocalDateTime.now())
+                                .unset("lockedUntil"),
+                        ThumbnailJob.class)
+                .then();
+    }
+
+    // 가져갈 때 받은 lease와 같은 경우만 변경, lease가 만료된 뒤 다른 워커가 회수한 작업은 덮어쓰지 않음
+    private Query byClaim(ThumbnailJob job) {
+        return new Query(Criteria.where("_id").is(job.getId())
+                .and("status").is(ThumbnailJobStatus.PROCESSING)
+                .and("lockedUntil").is(job.getLockedUntil()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// 썸네일 생성 작업 큐, image.thumbnail.queue 설정에 따라 mongo(기본값) 또는 memory 구현을 사용
+public interface ThumbnailJobQueue {
+
+    Mono<Void> enqueue(ThumbnailJob job);
+
+    // 처리 가능한 작업 하나를 lease와 함께 가져옴, 없으면 empty
+    Mono<ThumbnailJob> claim();
+
+    Mono<Void> complete(ThumbnailJob job);
+
+    Mono<Void> retry(ThumbnailJob job, LocalDateTime nextAttemptAt, String error);
+
+    Mono<Void> fail(ThumbnailJob job, String error);
+}
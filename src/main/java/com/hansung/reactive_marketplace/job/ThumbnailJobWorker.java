@@ -0,0 +1,258 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageBlob;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ImageBlobRepository;
+import com.hansung.reactive_marketplace.repository.ImageRepository;
+import com.hansung.reactive_marketplace.service.ImageProcessor;
+import com.hansung.reactive_marketplace.service.ProductServiceImpl;
+import com.hansung.reactive_marketplace.storage.ImageStorage;
+import com.hansung.reactive_marketplace.util.ImageUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// 큐에 쌓인 썸네일 생성 작업을 주기적으로 가져와 처리
+@Component
+public class ThumbnailJobWorker {
+
+    private static final int WORKER_CONCURRENCY = 4; // 동시에 처리할 작업 수, 실제 리사이징은 image-worker 스케줄러가 제한
+
+    private final ThumbnailJobQueue thumbnailJobQueue;
+
+    private final ImageProcessor imageProcessor;
+
+    private final ImageRepository imageRepository;
+
+    private final ImageBlobRepository imageBlobRepository;
+
+    private final ImageStorage imageStorage;
+
+    private final ChatRoomRepository chatRoomRepository;
+
+    private final RedisCacheManager redisCacheManager;
+
+    @Value("${image.thumbnail.work-dir:${java.io.tmpdir}}")
+    private Path workDir;
+
+    @Value("${image.thumbnail.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${image.thumbnail.batch-size:20}")
+    private int batchSize;
+
+    @Value("${image.thumbnail.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${image.thumbnail.retry-backoff:2s}")
+    private Duration retryBackoff;
+
+    private Disposable subscription;
+
+    public ThumbnailJobWorker(ThumbnailJobQueue thumbnailJobQueue,
+                              ImageProcessor imageProcessor,
+                              ImageRepository imageRepository,
+                              ImageBlobRepository imageBlobRepository,
+                              ImageStorage imageStorage,
+                              ChatRoomRepository chatRoomRepository,
+                              RedisCacheManager redisCacheManager) {
+        this.thumbnailJobQueue = thumbnailJobQueue;
+        this.imageProcessor = imageProcessor;
+        this.imageRepository = imageRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageStorage = imageStorage;
+        this.chatRoomRepository = chatRoomRepository;
+        this.redisCacheManager = redisCacheManager;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Flux.interval(pollInterval)
+                .onBackpressureDrop() // 이전 폴링이 끝나지 않았으면 이번 폴링은 건너뜀
+                .concatMap(tick -> processAvailableJobs()
+                        .onErrorResume(e -> Mono.empty())) // 큐 조회 실패로 워커가 멈추지 않도록 함
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    // 처리 가능한 작업을 최대 batchSize개까지 가져와 처리
+    public Mono<Void> processAvailableJobs() {
+        return Mono.defer(() -> thumbnailJobQueue.claim()
+                        .map(job -> Optional.of(job))
+                        .defaultIfEmpty(Optional.empty()))
+                .repeat(batchSize - 1)
+                .takeWhile(job -> job.isPresent()) // 큐가 비면 이번 폴링 종료
+                .map(job -> job.get())
+                .flatMap(job -> process(job), WORKER_CONCURRENCY)
+                .then();
+    }
+
+    private Mono<Void> process(ThumbnailJob job) {
+        return imageRepository.findById(job.getImageId()) // 이미지가 이미 삭제됐다면 생성하지 않고 완료 처리
+                .flatMap(image -> findBlob(image)
+                        .filter(blob -> blob.getThumbnailPath() != null) // 같은 파일의 썸네일이 이미 만들어졌다면 재사용
+                        .map(blob -> blob.getVariants() == null ? List.<ImageVariant>of() : blob.getVariants())
+                        .switchIfEmpty(Mono.defer(() -> createFiles(job)))
+                        .flatMap(variants -> updateBlob(image, job, variants)
+                                .then(imageRepository.updateThumbnail(image.getId(), job.getTargetPath(), variants))
+                                .flatMap(updated -> updated > 0
+                                        ? redisCacheManager.deleteValue(job.getCacheKey())
+                                                .then(evictProductDetail(image))
+                                                .then(updateChatRoomThumbnail(image, job.getTargetPath()))
+                                        : deleteOrphanFiles(image, job, variants)))) // 처리 중에 이미지가 삭제된 경우
+                .then(thumbnailJobQueue.complete(job))
+                .onErrorResume(e -> job.getAttempts() >= maxAttempts
+                        ? thumbnailJobQueue.fail(job, String.valueOf(e.getMessage()))
+                        : thumbnailJobQueue.retry(job, nextAttemptAt(job), String.valueOf(e.getMessage())));
+    }
+
+    // 상품 상세 캐시에는 srcset과 너비별 이미지가 들어 있으므로 버전을 올려 placeholder로 캐시된 상세를 무효화
+    private Mono<Void> evictProductDetail(Image image) {
+        if (image.getProductId() == null) {
+            return Mono.empty();
+        }
+        return redisCacheManager.increment(ProductServiceImpl.productVersionKey(image.getProductId())).then();
+    }
+
+    // 상품 대표 이미지라면 채팅방 목록에 저장된 썸네일도 변경
+    private Mono<Void> updateChatRoomThumbnail(Image image, String thumbnailPath) {
+        if (image.getImageSource() != ImageSource.PRODUCT || !image.isCover()) {
+            return Mono.empty();
+        }
+        return chatRoomRepository.updateThumbnailPath(image.getProductId(), thumbnailPath).then();
+    }
+
+    // 저장소 종류와 상관없이 작업 디렉토리에서 파일을 만든 뒤 저장소로 옮기고, 끝나면 작업 디렉토리 삭제
+    private Mono<List<ImageVariant>> createFiles(ThumbnailJob job) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> Files.createTempDirectory(Files.createDirectories(workDir), "thumbnail-"))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                jobDir -> imageStorage.toLocalFile(job.getSourcePath(), jobDir)
+                        .flatMap(source -> createFiles(job, source, jobDir)),
+                jobDir -> deleteDirectory(jobDir));
+    }
+
+    // 썸네일, 너비별 이미지, WebP 파일을 생성하고 너비별 이미지 목록 반환
+    private Mono<List<ImageVariant>> createFiles(ThumbnailJob job, Path source, Path jobDir) {
+        Path thumbnail = localFile(jobDir, job.getTargetPath());
+
+        return imageProcessor.resize(source, thumbnail, job.getWidth(), job.getHeight())
+                .then(Mono.defer(() -> imageStorage.store(thumbnail, job.getTargetPath())))
+                .then(Mono.defer(() -> createVariants(job, source, jobDir)))
+                .flatMap(variants -> createWebpFiles(job, source, jobDir, variants).thenReturn(variants));
+    }
+
+    // 해시가 없는 이전 이미지는 blob 없이 파일을 직접 가짐
+    private Mono<ImageBlob> findBlob(Image image) {
+        return image.getContentHash() == null
+                ? Mono.empty()
+                : imageBlobRepository.findByContentHashAndImageSource(image.getContentHash(), image.getImageSource());
+    }
+
+    private Mono<Long> updateBlob(Image image, ThumbnailJob job, List<ImageVariant> variants) {
+        return image.getContentHash() == null
+                ? Mono.empty()
+                : imageBlobRepository.updateThumbnail(image.getContentHash(), image.getImageSource(), job.getTargetPath(), variants);
+    }
+
+    // 원본보다 작은 너비만 생성하고, 원본은 가장 큰 후보로 목록에 포함
+    private Mono<List<ImageVariant>> createVariants(ThumbnailJob job, Path source, Path jobDir) {
+        List<Integer> widths = job.getVariantWidths() == null ? List.of() : job.getVariantWidths();
+
+        return imageProcessor.readImageSize(source)
+                .flatMap(original -> Flux.fromIterable(widths)
+                        .filter(width -> width < original.width()) // 업스케일은 용량만 늘리므로 생략
+                        .distinct()
+                        .concatMap(width -> {
+                            String variantPath = ImageUtils.generateVariantPath(job.getSourcePath(), width);
+                            Path variant = localFile(jobDir, variantPath);
+                            return imageProcessor.resizeToWidth(source, variant, width)
+                                    .flatMap(size -> imageStorage.store(variant, variantPath)
+                                            .thenReturn(new ImageVariant(size.width(), size.height(), variantPath)));
+                        })
+                        .concatWithValues(new ImageVariant(original.width(), original.height(), job.getSourcePath()))
+                        .collectList());
+    }
+
+    // 썸네일과 너비별 이미지 옆에 WebP 파일 생성, 기존 파일은 WebP를 지원하지 않는 브라우저용으로 유지
+    private Mono<Void> createWebpFiles(ThumbnailJob job, Path source, Path jobDir, List<ImageVariant> variants) {
+        return Flux.concat(Flux.just(job.getTargetPath()), Flux.fromIterable(variants).map(variant -> variant.getPath()))
+                .concatMap(path -> {
+                    // 원본은 작업 디렉토리 밖에 있을 수 있고, 나머지는 이미 저장소로 옮겼으므로 원본에서 다시 만듦
+                    Path input = path.equals(job.getSourcePath()) ? source : localFile(jobDir, path);
+                    String webpPath = ImageUtils.generateWebpPath(path);
+                    Path webp = localFile(jobDir, webpPath);
+                    return imageProcessor.writeWebp(input, webp)
+                            .flatMap(written -> written ? imageStorage.store(webp, webpPath) : Mono.empty())
+                            .onErrorResume(e -> Mono.empty()); // WebP는 부가 산출물이므로 실패해도 기존 형식으로 제공
+                })
+                .then();
+    }
+
+    // 시도 횟수에 따라 대기 시간을 2배씩 늘림
+    private LocalDateTime nextAttemptAt(ThumbnailJob job) {
+        long multiplier = 1L << Math.min(Math.max(job.getAttempts() - 1, 0), 10);
+        return LocalDateTime.now().plus(retryBackoff.multipliedBy(multiplier));
+    }
+
+    // 다른 이미지가 같은 파일을 아직 참조중이면 유지, 원본은 이미지 삭제 시 이미 정리되므로 이번 작업에서 생성한 파일만 삭제
+    private Mono<Void> deleteOrphanFiles(Image image, ThumbnailJob job, List<ImageVariant> variants) {
+        return findBlob(image)
+                .hasElement()
+                .filter(referenced -> !referenced)
+                .flatMapMany(referenced -> Flux.concat(
+                                Flux.just(job.getTargetPath()),
+                                Flux.fromIterable(variants)
+                                        .map(variant -> variant.getPath())
+                                        .filter(path -> !path.equals(job.getSourcePath())))
+                        .flatMap(path -> Flux.just(path, ImageUtils.generateWebpPath(path)))
+                        .concatWithValues(ImageUtils.generateWebpPath(job.getSourcePath())))
+                .flatMap(path -> imageStorage.delete(path)
+                        .onErrorResume(e -> Mono.empty())) // 정리 실패는 작업 결과에 영향을 주지 않음
+                .then();
+    }
+
+    // 작업 디렉토리 안에서 저장소 경로의 파일명만 사용
+    private Path localFile(Path jobDir, String path) {
+        return jobDir.resolve(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private Mono<Void> deleteDirectory(Path directory) {
+        return Mono.fromRunnable(() -> {
+                    try (Stream<Path> paths = Files.walk(directory)) {
+                        paths.sorted(Comparator.reverseOrder()) // 하위 파일부터 삭제
+                                .forEach(path -> path.toFile().delete());
+                    } catch (IOException e) {
+                        // 임시 디렉토리 정리 실패는 작업 결과에 영향을 주지 않음
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hansung.reactive_marketplace.redis;
+
+// 알림 stream에 저장된 채팅 알림, id는 redis stream 항목 id로 SSE 이벤트 id로도 사용
+public record ChatNotification(
+        String id,
+        String msg) {
+
+    // pub/sub로는 "id 메시지" 형태로 전달, stream id에는 공백이 없으므로 첫 공백을 기준으로 분리
+    public static ChatNotification parse(String payload) {
+        int separator = payload.indexOf(' ');
+        return new ChatNotification(payload.substring(0, separator), payload.substring(separator + 1));
+    }
+}
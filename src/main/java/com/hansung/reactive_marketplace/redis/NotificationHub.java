@@ -0,0 +1,121 @@
+package com.hansung.reactive_marketplace.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 노드마다 알림 채널 전체를 패턴 구독 하나로 받아 사용자별 로컬 구독자에게 나눠줌
+// 구독자(SSE 연결) 수와 상관없이 redis 구독은 노드당 하나
+@Component
+public class NotificationHub {
+
+    private static final String NOTIFICATION_PATTERN = RedisPublisher.NOTIFICATION_KEY_PREFIX + "*";
+
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+    // 사용자별 구독자 수신함, 마지막 구독자가 나가면 사용자 항목 제거
+    private final Map<String, Set<Sinks.Many<ChatNotification>>> inboxes = new ConcurrentHashMap<>();
+
+    private final int inboxSize;
+
+    private Disposable subscription;
+
+    public NotificationHub(ReactiveRedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.notification.subscriber-buffer:256}") int inboxSize) {
+        this.listenerContainer = listenerContainer;
+        this.inboxSize = inboxSize;
+        Gauge.builder("notification.hub.users", inboxes, map -> map.size())
+                .description("알림 구독자가 있는 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.hub.subscribers", inboxes, map -> map.values().stream()
+                        .mapToInt(userInboxes -> userInboxes.size())
+                        .sum())
+                .description("알림 구독자 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Mono.defer(() -> listenerContainer.receiveLater(PatternTopic.of(NOTIFICATION_PATTERN)))
+                .flatMapMany(messages -> {
+                    // 구독이 활성화되기 전(시작, 재연결)에 등록된 구독자는 알림을 놓쳤을 수 있으므로 stream에서 다시 읽게 함
+                    resyncAll();
+                    return messages;
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> dispatch(message.getChannel(), message.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    // 수신함을 먼저 등록한 뒤 backlog(stream에서 읽은 놓친 알림)를 보내고, 그 사이 도착한 실시간 알림을 이어서 전달
+    // 수신함이 가득 차거나 redis 구독이 다시 연결되면 에러로 종료되므로 구독자는 재구독해 stream에서 이어서 읽음
+    public Flux<ChatNotification> subscribe(String userId, Flux<ChatNotification> backlog) {
+        return Flux.defer(() -> {
+            Sinks.Many<ChatNotification> inbox = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<ChatNotification>get(inboxSize).get());
+            inboxes.compute(userId, (id, existing) -> {
+                Set<Sinks.Many<ChatNotification>> userInboxes = existing == null ? ConcurrentHashMap.newKeySet() : existing;
+                userInboxes.add(inbox);
+                return userInboxes;
+            });
+            return Flux.concat(backlog, inbox.asFlux())
+                    .doFinally(signal -> release(userId, inbox));
+        });
+    }
+
+    // 재연결시 resyncAll이 다른 스레드에서 같은 수신함에 에러를 보낼 수 있으므로 수신함 단위로 발행을 직렬화
+    // 동시에 발행하면 FAIL_NON_SERIALIZED로 알림이나 에러가 유실됨
+    private void dispatch(String channel, String payload) {
+        Set<Sinks.Many<ChatNotification>> userInboxes = inboxes.get(channel.substring(RedisPublisher.NOTIFICATION_KEY_PREFIX.length()));
+        if (userInboxes == null) { // 이 노드에 구독자가 없는 사용자
+            return;
+        }
+        ChatNotification notification = ChatNotification.parse(payload);
+        userInboxes.forEach(inbox -> {
+            synchronized (inbox) {
+                if (inbox.tryEmitNext(notification) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    inbox.tryEmitError(new IllegalStateException("notification inbox overflow"));
+                }
+            }
+        });
+    }
+
+    private void resyncAll() {
+        inboxes.values().forEach(userInboxes -> userInboxes.forEach(inbox -> {
+            synchronized (inbox) {
+                inbox.tryEmitError(new IllegalStateException("notification subscription restarted"));
+            }
+        }));
+    }
+
+    private void release(String userId, Sinks.Many<ChatNotification> inbox) {
+        inboxes.computeIfPresent(userId, (id, userInboxes) -> {
+            userInboxes.remove(inbox);
+            return userInboxes.isEmpty() ? null : userInboxes;
+        });
+    }
+}
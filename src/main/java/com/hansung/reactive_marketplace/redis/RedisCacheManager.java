@@ -1,22 +1,139 @@
 package com.hansung.reactive_marketplace.redis;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @Component
 public class RedisCacheManager {
 
+    private static final String LEASE_KEY_PREFIX = "lock:";
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate"; // 노드 간 로컬 캐시 무효화 채널
+
+    // 본인이 잡은 lease일 때만 삭제
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
     private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
 
-    public RedisCacheManager(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
+    private final ReactiveRedisTemplate<String, String> stringRedisTemplate;
+
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+    // redis 앞단의 노드 로컬 캐시(L1), getOrFetch로 조회한 값만 저장
+    private final Cache<String, Object> localCache;
+
+    // 로컬 캐시 무효화마다 증가, redis 조회 중에 무효화된 경우 조회한 이전 값을 로컬 캐시에 넣지 않기 위해 사용
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+
+    private Disposable invalidationSubscription;
+
+    // 키별로 진행 중인 로딩 Mono, 같은 키의 캐시 미스는 이 Mono를 공유
+    private final Map<String, Mono<?>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final String leaseOwner = UUID.randomUUID().toString(); // 노드 식별용 lease 값
+
+    private final boolean leaseEnabled;
+
+    private final Duration leaseTimeout;
+
+    private final Duration leasePollInterval;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter loadCounter;
+
+    private final Counter coalescedCounter;
+
+    private final Counter leaseWaitCounter;
+
+    public RedisCacheManager(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                             ReactiveRedisTemplate<String, String> stringRedisTemplate,
+                             ReactiveRedisMessageListenerContainer listenerContainer,
+                             MeterRegistry meterRegistry,
+                             @Value("${cache.local.max-size:10000}") long localMaxSize,
+                             @Value("${cache.local.ttl:30s}") Duration localTtl,
+                             @Value("${cache.lease.enabled:false}") boolean leaseEnabled,
+                             @Value("${cache.lease.timeout:5s}") Duration leaseTimeout,
+                             @Value("${cache.lease.poll-interval:50ms}") Duration leasePollInterval) {
         this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl) // 무효화 메시지를 놓쳐도 TTL 이후에는 redis 값으로 갱신
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "redisLocalCache");
+        this.leaseEnabled = leaseEnabled;
+        this.leaseTimeout = leaseTimeout;
+        this.leasePollInterval = leasePollInterval;
+        this.hitCounter = Counter.builder("cache.gets").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("cache.gets").tag("result", "miss").register(meterRegistry);
+        this.loadCounter = Counter.builder("cache.loads").description("캐시 미스로 실제 실행된 조회 수").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("cache.loads.saved").tag("reason", "coalesced").register(meterRegistry);
+        this.leaseWaitCounter = Counter.builder("cache.loads.saved").tag("reason", "lease").register(meterRegistry);
+    }
+
+    // 노드에서 공유하는 리스너 컨테이너의 구독 커넥션으로 무효화 메시지 수신
+    @PostConstruct
+    public void subscribeInvalidation() {
+        invalidationSubscription = Mono.defer(() -> listenerContainer.receiveLater(ChannelTopic.of(INVALIDATION_CHANNEL)))
+                .flatMapMany(messages -> {
+                    // 구독이 활성화되기 전(시작, 재연결)에 놓친 메시지가 있을 수 있으므로 전체 비움
+                    invalidationGeneration.incrementAndGet();
+                    localCache.invalidateAll();
+                    return messages;
+                })
+                .map(message -> message.getMessage())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(key -> invalidateLocal(key));
+    }
+
+    @PreDestroy
+    public void unsubscribeInvalidation() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
     }
 
+    // 로컬 캐시를 거치지 않고 redis에서 바로 조회, 버전 키처럼 항상 최신 값이 필요한 경우 사용
     public <T> Mono<T> getValue(String key, Class<T> type) {
         return reactiveRedisTemplate.opsForValue()
                 .get(key)
@@ -27,18 +144,174 @@ public class RedisCacheManager {
         return reactiveRedisTemplate.opsForValue().set(key, value, duration);
     }
 
+    public Mono<Long> increment(String key) {
+        return reactiveRedisTemplate.opsForValue().increment(key);
+    }
+
+    // redis 값을 지우고 다른 노드의 로컬 캐시도 무효화하도록 알림
     public Mono<Boolean> deleteValue(String key) {
-        return reactiveRedisTemplate.opsForValue().delete(key);
+        return Mono.fromRunnable(() -> invalidateLocal(key))
+                .then(reactiveRedisTemplate.opsForValue().delete(key))
+                .flatMap(deleted -> stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, key)
+                        .onErrorReturn(0L) // 발행 실패시 다른 노드는 로컬 캐시 TTL 이후 갱신
+                        .thenReturn(deleted));
     }
 
     public <T> Mono<T> getOrFetch(String key, Class<T> type, Mono<T> fetcher, Duration duration) {
-        return getValue(key, type)
-                .switchIfEmpty(
-                        fetcher.flatMap(value ->
-                                setValue(key, value, duration)
-                                        .thenReturn(value)
-                        )
-                );
+        return Mono.defer(() -> Mono.justOrEmpty(localCache.getIfPresent(key)))
+                .filter(value -> type.isInstance(value))
+                .map(value -> type.cast(value))
+                .switchIfEmpty(Mono.defer(() -> {
+                    long generation = invalidationGeneration.get();
+                    return getValue(key, type)
+                            .doOnNext(value -> hitCounter.increment())
+                            .switchIfEmpty(Mono.defer(() -> {
+                                missCounter.increment();
+                                return singleFlight(key, type, fetcher, duration);
+                            }))
+                            .doOnNext(value -> putLocal(Map.of(key, value), generation));
+                }));
+    }
+
+    private void invalidateLocal(String key) {
+        invalidationGeneration.incrementAndGet();
+        localCache.invalidate(key);
+    }
+
+    // 조회를 시작한 뒤 무효화가 있었다면 이전 값일 수 있으므로 로컬 캐시에 넣지 않음
+    // 넣는 중에 무효화된 경우도 있으므로 넣은 뒤 한 번 더 확인
+    private void putLocal(Map<String, ?> values, long generation) {
+        if (invalidationGeneration.get() != generation) {
+            return;
+        }
+        localCache.putAll(values);
+        if (invalidationGeneration.get() != generation) {
+            localCache.invalidateAll(values.keySet());
+        }
+    }
+
+    // 여러 키를 한 번에 조회, 로컬 캐시 -> redis MGET -> fetcher 순으로 채워 키별 값을 반환
+    // fetcher는 미스 키 전체를 받아 한 번에 조회하고, 조회 결과는 keyMapper로 키를 구해 redis에 다시 저장
+    // 어디에도 없는 키는 결과 맵에서 빠짐
+    public <T> Mono<Map<String, T>> getOrFetchAll(Collection<String> keys, Class<T> type,
+                                                  Function<List<String>, Flux<T>> fetcher,
+                                                  Function<T, String> keyMapper, Duration duration) {
+        return Mono.defer(() -> {
+            Set<String> uniqueKeys = new LinkedHashSet<>(keys);
+            Map<String, T> found = new HashMap<>();
+            localCache.getAllPresent(uniqueKeys).forEach((key, value) -> {
+                if (type.isInstance(value)) {
+                    found.put(key, type.cast(value));
+                }
+            });
+
+            List<String> remoteKeys = uniqueKeys.stream()
+                    .filter(key -> !found.containsKey(key))
+                    .toList();
+            if (remoteKeys.isEmpty()) {
+                return Mono.just(found);
+            }
+
+            long generation = invalidationGeneration.get();
+            return reactiveRedisTemplate.opsForValue()
+                    .multiGet(remoteKeys)
+                    .flatMap(values -> {
+                        List<String> missedKeys = new ArrayList<>();
+                        Map<String, T> hits = new HashMap<>();
+                        for (int i = 0; i < remoteKeys.size(); i++) {
+                            Object value = values.get(i); // MGET은 요청한 키 순서대로, 없는 키는 null로 응답
+                            if (type.isInstance(value)) {
+                                hitCounter.increment();
+                                hits.put(remoteKeys.get(i), type.cast(value));
+                            } else {
+                                missCounter.increment();
+                                missedKeys.add(remoteKeys.get(i));
+                            }
+                        }
+                        found.putAll(hits);
+                        putLocal(hits, generation);
+                        if (missedKeys.isEmpty()) {
+                            return Mono.just(found);
+                        }
+
+                        loadCounter.increment();
+                        return fetcher.apply(missedKeys)
+                                .collectMap(value -> keyMapper.apply(value))
+                                .flatMap(loaded -> setValues(loaded, duration)
+                                        .then(Mono.fromCallable(() -> {
+                                            putLocal(loaded, generation);
+                                            found.putAll(loaded);
+                                            return found;
+                                        })));
+                    });
+        });
+    }
+
+    // 여러 SET EX 명령을 하나의 커넥션으로 연달아 보내 응답을 기다리지 않고 파이프라인으로 저장
+    private <T> Mono<Void> setValues(Map<String, T> values, Duration duration) {
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        return reactiveRedisTemplate.execute(connection -> {
+                    RedisSerializationContext<String, Object> context = reactiveRedisTemplate.getSerializationContext();
+                    return connection.stringCommands().set(Flux.fromIterable(values.entrySet())
+                            .map(entry -> ReactiveStringCommands.SetCommand
+                                    .set(context.getKeySerializationPair().write(entry.getKey()))
+                                    .value(context.getValueSerializationPair().write(entry.getValue()))
+                                    .expiring(Expiration.from(duration))));
+                })
+                .then();
+    }
+
+    // 같은 키에 대해 진행 중인 로딩이 있으면 그 결과를 공유하고, 없으면 새 로딩을 등록
+    private <T> Mono<T> singleFlight(String key, Class<T> type, Mono<T> fetcher, Duration duration) {
+        AtomicBoolean leader = new AtomicBoolean(false);
+        Mono<?> shared = inFlightLoads.computeIfAbsent(key, k -> {
+            leader.set(true);
+            return load(k, type, fetcher, duration)
+                    .doFinally(signal -> inFlightLoads.remove(k))
+                    .cache();
+        });
+
+        if (!leader.get()) {
+            coalescedCounter.increment();
+        }
+        return shared.cast(type);
+    }
+
+    private <T> Mono<T> load(String key, Class<T> type, Mono<T> fetcher, Duration duration) {
+        Mono<T> fetchAndSet = Mono.defer(() -> {
+            loadCounter.increment();
+            return fetcher.flatMap(value -> setValue(key, value, duration).thenReturn(value));
+        });
+
+        if (!leaseEnabled) {
+            return fetchAndSet;
+        }
+
+        // 다른 노드와의 중복 로딩을 막기 위해 SET NX lease를 잡은 노드만 조회
+        String leaseKey = LEASE_KEY_PREFIX + key;
+        return reactiveRedisTemplate.opsForValue()
+                .setIfAbsent(leaseKey, leaseOwner, leaseTimeout)
+                .flatMap(acquired -> acquired
+                        ? Mono.usingWhen(Mono.just(leaseKey), k -> fetchAndSet, k -> releaseLease(k))
+                        : waitForLeaseHolder(key, type)
+                                .doOnNext(value -> leaseWaitCounter.increment())
+                                .switchIfEmpty(fetchAndSet)); // lease 만료까지 값이 없으면 직접 조회
+    }
+
+    // lease를 가진 노드가 캐시를 채울 때까지 주기적으로 확인
+    private <T> Mono<T> waitForLeaseHolder(String key, Class<T> type) {
+        long maxPolls = Math.max(1, leaseTimeout.toMillis() / leasePollInterval.toMillis());
+        return Flux.interval(leasePollInterval)
+                .take(maxPolls)
+                .concatMap(tick -> getValue(key, type))
+                .next();
+    }
+
+    private Mono<Long> releaseLease(String leaseKey) {
+        return reactiveRedisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), List.of(leaseOwner))
+                .next();
     }
 
     public <T> Flux<T> getListValue(String key, Class<T> type) {
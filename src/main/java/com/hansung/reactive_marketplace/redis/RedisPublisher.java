@@ -2,24 +2,54 @@ package com.hansung.reactive_marketplace.redis;
 
 import com.hansung.reactive_marketplace.exception.ApiException;
 import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.List;
 
 @Service
 public class RedisPublisher {
+
+    public static final String NOTIFICATION_KEY_PREFIX = "notification:"; // 사용자별 알림 stream 키이자 pub/sub 채널
+
+    // 알림을 stream에 추가하고 같은 이름의 채널로 "id 메시지"를 발행, 한 번의 요청으로 원자적으로 실행
+    private static final RedisScript<String> APPEND_NOTIFICATION_SCRIPT = RedisScript.of(
+            "local id = redis.call('xadd', KEYS[1], 'maxlen', '~', ARGV[1], '*', 'msg', ARGV[2]) " +
+                    "redis.call('expire', KEYS[1], ARGV[3]) " +
+                    "redis.call('publish', KEYS[1], id .. ' ' .. ARGV[2]) " +
+                    "return id",
+            String.class);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
 
-    public RedisPublisher(ReactiveRedisTemplate<String, String> redisTemplate) {
+    private final long streamMaxLength;
+
+    private final Duration streamTtl;
+
+    public RedisPublisher(ReactiveRedisTemplate<String, String> redisTemplate,
+                          @Value("${chat.notification.stream.max-length:100}") long streamMaxLength,
+                          @Value("${chat.notification.stream.ttl:1d}") Duration streamTtl) {
         this.redisTemplate = redisTemplate;
+        this.streamMaxLength = streamMaxLength;
+        this.streamTtl = streamTtl;
+    }
+
+    public static String notificationKey(String userId) {
+        return NOTIFICATION_KEY_PREFIX + userId;
     }
 
-    // 지정된 토픽으로 Chat을 발행(publish)하는 메소드
-    public Mono<Long> publish(String topic, String msg) {
-        return redisTemplate.convertAndSend(topic, msg)
+    // 수신자의 알림 stream에 메시지를 추가하고 실시간 구독자에게 발행, 추가된 stream 항목 id를 반환
+    // 재연결한 구독자는 stream에서 놓친 알림을 다시 읽으므로 발행 순간 연결이 없어도 유실되지 않음
+    public Mono<String> publish(String userId, String msg) {
+        return redisTemplate.execute(APPEND_NOTIFICATION_SCRIPT,
+                        List.of(notificationKey(userId)),
+                        List.of(String.valueOf(streamMaxLength), msg, String.valueOf(streamTtl.toSeconds())))
+                .next()
                 .timeout(Duration.ofSeconds(3))
                 .retryWhen(Retry.backoff(3, Duration.ofMillis(300)) // back off 재시도 전략
                         .maxBackoff(Duration.ofSeconds(2)) // 최대 back off 대기 시간
@@ -1,35 +1,174 @@
 package com.hansung.reactive_marketplace.redis;
 
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class RedisSubscriber {
     private final ReactiveRedisTemplate<String, String> redisTemplate;
 
-    public RedisSubscriber(ReactiveRedisTemplate<String, String> redisTemplate) {
+    private final NotificationHub notificationHub;
+
+    // 사용자별 열려있는 SSE 연결 수
+    private final Map<String, Integer> connections = new ConcurrentHashMap<>();
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final Duration heartbeatInterval;
+
+    private final Duration maxLifetime;
+
+    private final int maxConnectionsPerUser;
+
+    private final Duration reconnectDelay;
+
+    public RedisSubscriber(ReactiveRedisTemplate<String, String> redisTemplate,
+                           NotificationHub notificationHub,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.notification.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+                           @Value("${chat.notification.sse.max-lifetime:30m}") Duration maxLifetime,
+                           @Value("${chat.notification.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+                           @Value("${chat.notification.sse.reconnect-delay:3s}") Duration reconnectDelay) {
         this.redisTemplate = redisTemplate;
+        this.notificationHub = notificationHub;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxLifetime = maxLifetime;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.reconnectDelay = reconnectDelay;
+        Gauge.builder("notification.sse.connections", openConnections, count -> count.get())
+                .description("노드에 열려있는 알림 SSE 연결 수")
+                .register(meterRegistry);
     }
 
-    // 지정된 토픽을 구독(subscribe)하고 메시지를 처리하는 메소드
-    public Flux<ServerSentEvent<String>> subscribeToTopic(String topic) {
-        return redisTemplate.listenTo(ChannelTopic.of(topic))
-                .map(message -> ServerSentEvent.<String>builder()
+    // 사용자의 알림을 구독, lastEventId가 있으면 그 이후(없으면 연결 시점 이후) stream에 쌓인 알림을 먼저 보내고 실시간 알림을 이어서 전달
+    // 허브에 수신함을 등록한 뒤 stream을 읽으므로 그 사이 발행된 알림도 놓치지 않고, 겹치는 알림은 id로 제외
+    public Flux<ServerSentEvent<String>> subscribe(String userId, String lastEventId) {
+        return Flux.defer(() -> {
+            if (!acquire(userId)) {
+                return Flux.error(new ApiException(ExceptionMessage.TOO_MANY_NOTIFICATION_STREAMS));
+            }
+
+            return notifications(userId, lastEventId)
+                    // 알림이 없어도 주기적으로 주석 프레임을 보내 프록시의 유휴 연결 종료를 막고, 끊긴 연결은 쓰기 실패로 바로 정리
+                    .publish(shared -> Flux.merge(shared, heartbeats().takeUntilOther(shared.then())))
+                    .take(maxLifetime) // 연결을 주기적으로 닫아 노드 간 연결을 재분배, 브라우저는 Last-Event-ID로 이어서 받음
+                    .onErrorResume(error -> Flux.just(ServerSentEvent.<String>builder()
+                            .comment("reconnect")
+                            .retry(reconnectDelay) // redis 장애가 계속되면 연결을 닫고 브라우저가 잠시 후 다시 연결
+                            .build()))
+                    .doFinally(signal -> release(userId));
+        });
+    }
+
+    private Flux<ServerSentEvent<String>> notifications(String userId, String lastEventId) {
+        String key = RedisPublisher.notificationKey(userId);
+        return Mono.justOrEmpty(parseRecordId(lastEventId))
+                // 처음 연결하면 stream의 현재 끝을 기준으로 삼아, 첫 알림 전에 재구독해도 그 사이 알림을 stream에서 다시 읽음
+                .switchIfEmpty(Mono.defer(() -> streamTail(key)))
+                .flatMapMany(start -> {
+                    AtomicReference<RecordId> lastDelivered = new AtomicReference<>(start);
+                    return Flux.defer(() -> notificationHub.subscribe(userId, replay(key, lastDelivered.get())))
+                            .filter(notification -> markDelivered(lastDelivered, notification))
+                            .retryWhen(Retry.backoff(3, Duration.ofMillis(300)) // back off 재시도 전략, 재구독시 마지막으로 보낸 알림 이후부터 다시 읽음
+                                    .maxBackoff(Duration.ofSeconds(2)) // 최대 back off 대기 시간
+                                    .jitter(0.5) // 50% jitter로 무작위성 추가
+                                    .transientErrors(true)); // 알림을 정상적으로 받은 뒤의 에러는 재시도 횟수를 새로 계산
+                })
+                .map(notification -> ServerSentEvent.<String>builder()
+                        .id(notification.id()) // 브라우저가 재연결시 Last-Event-ID로 보내는 값
                         .event("chat-message")
-                        .data(message.getMessage())
-                        .build())
-                .timeout(Duration.ofHours(1))
-                .retryWhen(Retry.backoff(3, Duration.ofMillis(300)) // back off 재시도 전략
-                        .maxBackoff(Duration.ofSeconds(2)) // 최대 back off 대기 시간
-                        .jitter(0.5)) // 50% jitter로 무작위성 추가
-                .onErrorResume(error -> Flux.empty()); // 에러 발생시 빈 flux 반환으로 연결 유지
+                        .data(notification.msg())
+                        .build());
+    }
+
+    private Flux<ServerSentEvent<String>> heartbeats() {
+        return Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<String>builder()
+                        .comment("heartbeat")
+                        .build());
+    }
+
+    // 사용자별 연결 수가 제한보다 적을 때만 연결 수를 늘리고 true 반환
+    private boolean acquire(String userId) {
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        connections.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxConnectionsPerUser) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        if (acquired.get()) {
+            openConnections.incrementAndGet();
+        }
+        return acquired.get();
     }
 
+    private void release(String userId) {
+        connections.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        openConnections.decrementAndGet();
+    }
+
+    // XREAD로 마지막으로 받은 알림 이후의 항목을 조회
+    private Flux<ChatNotification> replay(String key, RecordId after) {
+        return redisTemplate.<String, String>opsForStream()
+                .read(StreamOffset.create(key, ReadOffset.from(after)))
+                .map(record -> new ChatNotification(record.getId().getValue(), record.getValue().get("msg")));
+    }
 
+    // XREVRANGE COUNT 1로 stream의 마지막 id 조회, 비어 있으면 처음부터 읽도록 0-0
+    private Mono<RecordId> streamTail(String key) {
+        return redisTemplate.<String, String>opsForStream()
+                .reverseRange(key, Range.unbounded(), Limit.limit().count(1))
+                .next()
+                .map(record -> record.getId())
+                .defaultIfEmpty(RecordId.of(0L, 0L));
+    }
+
+    // 이미 보낸 알림보다 이후의 알림만 통과시키고 마지막으로 보낸 id를 기록
+    private boolean markDelivered(AtomicReference<RecordId> lastDelivered, ChatNotification notification) {
+        RecordId id = RecordId.of(notification.id());
+        RecordId last = lastDelivered.get();
+        if (last != null && (id.getTimestamp() < last.getTimestamp()
+                || (id.getTimestamp().equals(last.getTimestamp()) && id.getSequence() <= last.getSequence()))) {
+            return false;
+        }
+        lastDelivered.set(id);
+        return true;
+    }
+
+    // 형식이 잘못된 id는 무시하고 처음 연결한 것처럼 처리
+    private RecordId parseRecordId(String id) {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        try {
+            RecordId recordId = RecordId.of(id);
+            return recordId.shouldBeAutoGenerated() ? null : recordId;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -6,14 +6,15 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface ChatRoomRepository extends ReactiveMongoRepository<ChatRoom, String> {
+public interface ChatRoomRepository extends ReactiveMongoRepository<ChatRoom, String>, ChatRoomRepositoryCustom {
 
     @Query(value = "{ 'productId' : ?0, 'buyerId' : ?1 }")
     Mono<ChatRoom> findChatRoom(String productId, String buyerId);
 
-    @Query(value = "{ 'sellerId' : ?0 }")
+    // 최근 대화순, 요약 정보만으로 목록을 그리므로 다른 컬렉션 조회 없음
+    @Query(value = "{ 'sellerId' : ?0 }", sort = "{ 'lastMessageAt' : -1 }")
     Flux<ChatRoom> findChatRoomListBySeller(String userId);
 
-    @Query(value = "{ 'buyerId' : ?0 }")
+    @Query(value = "{ 'buyerId' : ?0 }", sort = "{ 'lastMessageAt' : -1 }")
     Flux<ChatRoom> findChatRoomListByBuyer(String userId);
 }
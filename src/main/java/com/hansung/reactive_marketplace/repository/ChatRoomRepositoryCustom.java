@@ -0,0 +1,35 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.domain.ChatRoom;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface ChatRoomRepositoryCustom {
+
+    // 새 메시지가 더 최신이면 최근 메시지를 바꾸고 받는 사람의 읽지 않은 메시지 수를 증가, 읽지 않은 수가 수정된 문서 수 반환
+    Mono<Long> updateLastMessage(Chat chat);
+
+    // 여러 메시지를 모아 저장한 경우 마지막 메시지로 바꾸고 받는 사람별 읽지 않은 메시지 수를 한 번에 증가
+    Mono<Long> updateLastMessage(Chat lastChat, Map<String, Integer> unreadIncrements);
+
+    // 채팅방의 최근 메시지보다 늦게 작성된 메시지일 때만 최근 메시지로 변경, 같은 메시지로 여러 번 호출해도 결과가 같음
+    Mono<Long> setLastMessageIfNewer(Chat chat);
+
+    // 받는 사람별 읽지 않은 메시지 수 증가
+    Mono<Long> incrementUnreadCounts(String roomId, Map<String, Integer> unreadIncrements);
+
+    // 채팅방을 연 사용자의 읽지 않은 메시지 수 초기화
+    Mono<Long> resetUnreadCount(String roomId, String userId);
+
+    // 요약 정보가 없는 이전 채팅방을 채우고 갱신된 채팅방 반환, 메시지가 없는 채팅방은 recentChat이 null
+    Mono<ChatRoom> updateSummary(String roomId, String productTitle, String thumbnailPath,
+                                 String sellerNickname, String buyerNickname, Chat recentChat);
+
+    // 사용자가 참여한 모든 채팅방의 닉네임 변경
+    Mono<Void> updateNickname(String userId, String nickname);
+
+    // 상품 대표 이미지의 썸네일이 바뀌면 해당 상품의 모든 채팅방 썸네일 변경
+    Mono<Long> updateThumbnailPath(String productId, String thumbnailPath);
+}
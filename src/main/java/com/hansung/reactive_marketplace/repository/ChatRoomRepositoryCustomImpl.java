@@ -0,0 +1,112 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.domain.ChatRoom;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ChatRoomRepositoryCustomImpl implements ChatRoomRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ChatRoomRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<Long> updateLastMessage(Chat chat) {
+        return updateLastMessage(chat, Map.of(chat.getReceiverId(), 1));
+    }
+
+    // 최근 메시지는 더 늦게 작성된 경우만 바꾸고, 읽지 않은 수는 순서와 상관없이 항상 증가
+    @Override
+    public Mono<Long> updateLastMessage(Chat lastChat, Map<String, Integer> unreadIncrements) {
+        return setLastMessageIfNewer(lastChat)
+                .then(incrementUnreadCounts(lastChat.getRoomId(), unreadIncrements));
+    }
+
+    // 동시에 저장된 메시지가 순서를 바꿔 도착해도 이전 메시지가 최근 메시지를 덮어쓰지 않도록 작성 시각을 조건으로 사용
+    @Override
+    public Mono<Long> setLastMessageIfNewer(Chat chat) {
+        return reactiveMongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(chat.getRoomId())
+                                .orOperator(
+                                        Criteria.where("lastMessageAt").is(null), // 메시지가 없던 채팅방
+                                        Criteria.where("lastMessageAt").lt(chat.getCreatedAt()))),
+                        new Update()
+                                .set("lastMessage", chat.getMsg())
+                                .set("lastMessageAt", chat.getCreatedAt()),
+                        ChatRoom.class)
+                .map(result -> result.getModifiedCount());
+    }
+
+    // 받는 사람 ID를 필드 경로로 사용하므로 판매자, 구매자 여부를 먼저 조회하지 않고 한 번의 update로 처리
+    @Override
+    public Mono<Long> incrementUnreadCounts(String roomId, Map<String, Integer> unreadIncrements) {
+        Update update = new Update();
+        unreadIncrements.forEach((receiverId, count) -> update.inc("unreadCounts." + receiverId, count));
+
+        return reactiveMongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(roomId)),
+                        update,
+                        ChatRoom.class)
+                .map(result -> result.getModifiedCount());
+    }
+
+    @Override
+    public Mono<Long> resetUnreadCount(String roomId, String userId) {
+        return reactiveMongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(roomId)),
+                        new Update().set("unreadCounts." + userId, 0),
+                        ChatRoom.class)
+                .map(result -> result.getModifiedCount());
+    }
+
+    @Override
+    public Mono<ChatRoom> updateSummary(String roomId, String productTitle, String thumbnailPath,
+                                        String sellerNickname, String buyerNickname, Chat recentChat) {
+        Update update = new Update()
+                .set("productTitle", productTitle)
+                .set("thumbnailPath", thumbnailPath)
+                .set("sellerNickname", sellerNickname)
+                .set("buyerNickname", buyerNickname);
+        if (recentChat != null) { // 메시지가 없으면 마지막 메시지는 비워두고 이후 메시지 저장 시 채워짐
+            update.set("lastMessage", recentChat.getMsg())
+                    .set("lastMessageAt", recentChat.getCreatedAt());
+        }
+
+        return reactiveMongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(roomId)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                ChatRoom.class);
+    }
+
+    @Override
+    public Mono<Void> updateNickname(String userId, String nickname) {
+        return reactiveMongoTemplate.updateMulti(
+                        new Query(Criteria.where("sellerId").is(userId)),
+                        new Update().set("sellerNickname", nickname),
+                        ChatRoom.class)
+                .then(reactiveMongoTemplate.updateMulti(
+                        new Query(Criteria.where("buyerId").is(userId)),
+                        new Update().set("buyerNickname", nickname),
+                        ChatRoom.class))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> updateThumbnailPath(String productId, String thumbnailPath) {
+        return reactiveMongoTemplate.updateMulti(
+                        new Query(Criteria.where("productId").is(productId)),
+                        new Update().set("thumbnailPath", thumbnailPath),
+                        ChatRoom.class)
+                .map(result -> result.getModifiedCount());
+    }
+}
@@ -0,0 +1,11 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.ImageBlob;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ImageBlobRepository extends ReactiveMongoRepository<ImageBlob, String>, ImageBlobRepositoryCustom {
+
+    Mono<ImageBlob> findByContentHashAndImageSource(String contentHash, ImageSource imageSource);
+}
@@ -0,0 +1,23 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.ImageBlob;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ImageBlobRepositoryCustom {
+
+    // 같은 해시의 파일이 있으면 참조 수를 올려 반환, 없으면 imagePath로 새로 생성
+    Mono<ImageBlob> acquire(String contentHash, ImageSource imageSource, String imagePath);
+
+    // 참조 수를 내린 결과 반환, 기록된 파일이 없으면 empty
+    Mono<ImageBlob> release(String contentHash, ImageSource imageSource);
+
+    // 참조가 남아있지 않을 때만 삭제, 그 사이 다시 참조됐다면 false
+    Mono<Boolean> deleteIfUnreferenced(String id);
+
+    // 썸네일 작업 결과를 기록해 같은 파일을 올린 다른 이미지가 재사용하도록 함
+    Mono<Long> updateThumbnail(String contentHash, ImageSource imageSource, String thumbnailPath, List<ImageVariant> variants);
+}
@@ -0,0 +1,71 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.ImageBlob;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImageBlobRepositoryCustomImpl implements ImageBlobRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ImageBlobRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<ImageBlob> acquire(String contentHash, ImageSource imageSource, String imagePath) {
+        return reactiveMongoTemplate.findAndModify(
+                        blobQuery(contentHash, imageSource),
+                        new Update()
+                                .inc("refCount", 1)
+                                .setOnInsert("imagePath", imagePath)
+                                .setOnInsert("createdAt", LocalDateTime.now()),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        ImageBlob.class)
+                // 같은 파일이 동시에 처음 올라오면 한쪽 upsert가 unique 인덱스에 걸리므로 다시 시도하면 기존 문서를 찾음
+                .retryWhen(Retry.max(1).filter(e -> e instanceof DuplicateKeyException));
+    }
+
+    @Override
+    public Mono<ImageBlob> release(String contentHash, ImageSource imageSource) {
+        return reactiveMongoTemplate.findAndModify(
+                blobQuery(contentHash, imageSource),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                ImageBlob.class);
+    }
+
+    @Override
+    public Mono<Boolean> deleteIfUnreferenced(String id) {
+        return reactiveMongoTemplate.remove(
+                        new Query(Criteria.where("_id").is(id).and("refCount").lte(0)),
+                        ImageBlob.class)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    @Override
+    public Mono<Long> updateThumbnail(String contentHash, ImageSource imageSource, String thumbnailPath, List<ImageVariant> variants) {
+        return reactiveMongoTemplate.updateFirst(
+                        blobQuery(contentHash, imageSource),
+                        new Update()
+                                .set("thumbnailPath", thumbnailPath)
+                                .set("variants", variants),
+                        ImageBlob.class)
+                .map(result -> result.getModifiedCount());
+    }
+
+    private Query blobQuery(String contentHash, ImageSource imageSource) {
+        return new Query(Criteria.where("contentHash").is(contentHash).and("imageSource").is(imageSource));
+    }
+}
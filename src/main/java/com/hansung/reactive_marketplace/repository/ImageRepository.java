@@ -2,11 +2,29 @@ package com.hansung.reactive_marketplace.repository;
 
 import com.hansung.reactive_marketplace.domain.Image;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface ImageRepository extends ReactiveMongoRepository<Image, String> {
+import java.util.Collection;
 
-    Mono<Image> findByProductId(String productId);
+public interface ImageRepository extends ReactiveMongoRepository<Image, String>, ImageRepositoryCustom {
+
+    // 상품의 모든 이미지를 표시 순서대로 조회
+    Flux<Image> findByProductIdOrderByPositionAsc(String productId);
+
+    Mono<Image> findByProductIdAndCoverNot(String productId, boolean cover);
+
+    Flux<Image> findByProductIdInAndCoverNot(Collection<String> productIds, boolean cover);
+
+    // 상품 대표 이미지, cover 필드가 없는 이전 단일 이미지도 대표 이미지로 취급
+    default Mono<Image> findCoverByProductId(String productId) {
+        return findByProductIdAndCoverNot(productId, false);
+    }
+
+    // 여러 상품의 대표 이미지를 $in 쿼리 한 번으로 조회
+    default Flux<Image> findCoversByProductIdIn(Collection<String> productIds) {
+        return findByProductIdInAndCoverNot(productIds, false);
+    }
 
     Mono<Image> findByUserId(String userId);
 
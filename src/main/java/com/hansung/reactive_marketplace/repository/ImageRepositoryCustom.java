@@ -0,0 +1,12 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ImageRepositoryCustom {
+
+    // 썸네일 생성 완료 후 썸네일 경로와 너비별 이미지 목록 갱신, 수정된 문서 수 반환
+    Mono<Long> updateThumbnail(String id, String thumbnailPath, List<ImageVariant> variants);
+}
@@ -0,0 +1,32 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class ImageRepositoryCustomImpl implements ImageRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ImageRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    // 내장 객체 목록은 문자열 @Update로 바인딩하기 어려워 template으로 변환해서 저장
+    @Override
+    public Mono<Long> updateThumbnail(String id, String thumbnailPath, List<ImageVariant> variants) {
+        return reactiveMongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(id)),
+                        new Update()
+                                .set("thumbnailPath", thumbnailPath)
+                                .set("variants", variants),
+                        Image.class)
+                .map(result -> result.getModifiedCount());
+    }
+}
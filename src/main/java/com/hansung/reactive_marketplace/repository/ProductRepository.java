@@ -2,6 +2,8 @@ package com.hansung.reactive_marketplace.repository;
 
 import com.hansung.reactive_marketplace.domain.Product;
 import com.hansung.reactive_marketplace.domain.ProductStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
@@ -9,10 +11,21 @@ import org.springframework.data.mongodb.repository.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface ProductRepository extends ReactiveMongoRepository<Product, String> {
+import java.util.Date;
 
-    @Query(value = "{ 'status' : 'ON_SALE' }", fields = "{ '_id' : 1, 'title' : 1, 'price' : 1 }")
-    Flux<Product> findProductList(Sort sort);
+public interface ProductRepository extends ReactiveMongoRepository<Product, String>, ProductRepositoryCustom {
+
+    // 첫 페이지 조회, (createdAt, _id) 내림차순
+    @Query(value = "{ 'status' : 'ON_SALE' }",
+            fields = "{ '_id' : 1, 'title' : 1, 'price' : 1, 'createdAt' : 1 }",
+            sort = "{ 'createdAt' : -1, '_id' : -1 }")
+    Flux<Product> findProductList(Pageable pageable);
+
+    // 커서 이후 페이지 조회, 커서의 (createdAt, _id) 보다 뒤에 있는 상품만 가져옴
+    @Query(value = "{ 'status' : 'ON_SALE', '$or' : [ { 'createdAt' : { '$lt' : ?0 } }, { 'createdAt' : ?0, '_id' : { '$lt' : ?1 } } ] }",
+            fields = "{ '_id' : 1, 'title' : 1, 'price' : 1, 'createdAt' : 1 }",
+            sort = "{ 'createdAt' : -1, '_id' : -1 }")
+    Flux<Product> findProductListAfter(Date createdAt, ObjectId id, Pageable pageable);
 
     @Query(value = "{ 'userId' : ?0 }")
     Flux<Product> findMyProductList(String userId, Sort sort);
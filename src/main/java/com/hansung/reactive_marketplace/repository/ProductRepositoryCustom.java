@@ -0,0 +1,10 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.dto.response.ProductDetailResDto;
+import reactor.core.publisher.Mono;
+
+public interface ProductRepositoryCustom {
+
+    // 상품, 이미지, 판매자 닉네임을 aggregation 한 번으로 조회
+    Mono<ProductDetailResDto> findProductDetail(String productId);
+}
@@ -0,0 +1,70 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.dto.response.ProductDetailResDto;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ProductRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<ProductDetailResDto> findProductDetail(String productId) {
+        if (!ObjectId.isValid(productId)) { // ObjectId 형식이 아니면 존재하지 않는 상품으로 처리
+            return Mono.empty();
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage(new Document("$match", new Document("_id", new ObjectId(productId)))),
+                // image.productId, product.userId는 문자열로 저장되므로 조인 키 타입을 맞춰줌
+                stage(new Document("$addFields", new Document()
+                        .append("productIdStr", new Document("$toString", "$_id"))
+                        .append("sellerObjId", new Document("$convert", new Document()
+                                .append("input", "$userId")
+                                .append("to", "objectId")
+                                .append("onError", null)
+                                .append("onNull", null))))),
+                // 대표 이미지가 첫 번째, 나머지는 표시 순서대로 오도록 정렬해서 조인
+                stage(new Document("$lookup", new Document()
+                        .append("from", "image")
+                        .append("localField", "productIdStr") // 동등 조건은 localField로 지정해야 productId 인덱스를 사용
+                        .append("foreignField", "productId")
+                        .append("pipeline", List.of(
+                                new Document("$sort", new Document("cover", -1).append("position", 1))))
+                        .append("as", "image"))),
+                stage(new Document("$lookup", new Document()
+                        .append("from", "user")
+                        .append("localField", "sellerObjId")
+                        .append("foreignField", "_id")
+                        .append("as", "seller"))),
+                // ProductDetailResDto 필드명에 맞춰 바로 프로젝션, buyerId는 요청자마다 달라 서비스에서 채움
+                stage(new Document("$project", new Document()
+                        .append("_id", "$productIdStr")
+                        .append("title", 1)
+                        .append("price", 1)
+                        .append("description", 1)
+                        .append("nickname", new Document("$first", "$seller.nickname"))
+                        .append("imagePath", new Document("$first", "$image.imagePath"))
+                        .append("imageVariants", new Document("$first", "$image.variants"))
+                        .append("imagePaths", "$image.imagePath")
+                        .append("sellerId", "$userId")))
+        );
+
+        return reactiveMongoTemplate.aggregate(aggregation, "product", ProductDetailResDto.class)
+                .next();
+    }
+
+    private AggregationOperation stage(Document document) {
+        return context -> document;
+    }
+}
@@ -2,6 +2,7 @@ package com.hansung.reactive_marketplace.service;
 
 import com.hansung.reactive_marketplace.domain.Chat;
 import com.hansung.reactive_marketplace.domain.ChatClickPage;
+import com.hansung.reactive_marketplace.domain.ChatRoom;
 import com.hansung.reactive_marketplace.dto.request.ChatSaveReqDto;
 import com.hansung.reactive_marketplace.dto.response.ChatRoomListResDto;
 import com.hansung.reactive_marketplace.dto.response.ChatRoomResDto;
@@ -16,6 +17,9 @@ public interface ChatService {
 
     Mono<ChatRoomResDto> openChat(String productId, String SellerId, String buyerId, Authentication authentication, ChatClickPage clickPage);
 
+    // 사용자가 판매자나 구매자로 참여한 채팅방을 가져오는 메소드
+    Mono<ChatRoom> findChatRoomByMember(String roomId, String userId);
+
     // 채팅 메시지를 저장하는 메소드
     Mono<Chat> saveMsg(ChatSaveReqDto chatSaveReqDto);
 
@@ -1,5 +1,7 @@
 package com.hansung.reactive_marketplace.service;
 
+import com.hansung.reactive_marketplace.chat.ChatHub;
+import com.hansung.reactive_marketplace.chat.ChatWriteBehindBuffer;
 import com.hansung.reactive_marketplace.domain.Chat;
 import com.hansung.reactive_marketplace.domain.ChatClickPage;
 import com.hansung.reactive_marketplace.domain.ChatRoom;
@@ -14,13 +16,26 @@ import com.hansung.reactive_marketplace.repository.ChatRepository;
 import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
 import com.hansung.reactive_marketplace.util.AuthUtils;
 import com.hansung.reactive_marketplace.util.DateTimeUtils;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.function.TupleUtils;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Service
 public class ChatServiceImpl implements ChatService {
 
@@ -36,19 +51,43 @@ public class ChatServiceImpl implements ChatService {
 
     private final RedisPublisher redisPublisher;
 
-    public ChatServiceImpl(ChatRepository chatRepository, ChatRoomRepository chatRoomRepository, ProductService productService, UserService userService, ImageService imageService, RedisPublisher redisPublisher) {
+    private final ChatHub chatHub;
+
+    private final ChatWriteBehindBuffer chatWriteBehindBuffer;
+
+    @Value("${chat.history.size:50}")
+    private int historySize;
+
+    public ChatServiceImpl(ChatRepository chatRepository, ChatRoomRepository chatRoomRepository, ProductService productService, UserService userService, ImageService imageService, RedisPublisher redisPublisher, ChatHub chatHub, ChatWriteBehindBuffer chatWriteBehindBuffer) {
         this.chatRepository = chatRepository;
         this.chatRoomRepository = chatRoomRepository;
         this.productService = productService;
         this.userService = userService;
         this.imageService = imageService;
         this.redisPublisher = redisPublisher;
+        this.chatHub = chatHub;
+        this.chatWriteBehindBuffer = chatWriteBehindBuffer;
     }
 
+    // 이전 메시지는 최근 historySize개만 DB에서 조회하고, 새 메시지는 허브에서 받음
+    // 조회 중에 도착한 메시지를 놓치지 않도록 허브를 함께 구독하고, 이전 메시지를 모두 보낸 뒤 이어서 전달
     public Flux<Chat> findMsgByRoomId(String roomId) {
-        return chatRepository.findMsgByRoomId(roomId)
-                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.CHAT_NOT_FOUND)))
-                .subscribeOn(Schedulers.boundedElastic());
+        return Flux.defer(() -> {
+            Mono<List<Chat>> history = chatRepository.findRecentMsgByRoomId(roomId, PageRequest.of(0, historySize))
+                    .collectList()
+                    .doOnNext(recent -> Collections.reverse(recent)) // 오래된 메시지부터 표시
+                    .cache();
+            Mono<Set<String>> historyIds = history
+                    .map(recent -> recent.stream()
+                            .map(chat -> chat.getId())
+                            .collect(Collectors.toSet()))
+                    .cache();
+
+            return Flux.mergeSequential(
+                    history.flatMapIterable(recent -> recent),
+                    chatHub.subscribe(roomId)
+                            .filterWhen(chat -> historyIds.map(ids -> !ids.contains(chat.getId())))); // 이전 메시지와 겹치면 제외
+        });
     }
 
     public Mono<ChatRoomResDto> openChat(String productId, String sellerId, String buyerId, Authentication authentication, ChatClickPage clickPage) {
@@ -66,20 +105,36 @@ public class ChatServiceImpl implements ChatService {
                                             .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.USER_NOT_FOUND)))
                             )
                             .flatMap(TupleUtils.function((chatRoom, receiver) ->
-                                    createChatRoomResponse(chatRoom, senderId, receiverId, receiver)
+                                    chatRoomRepository.resetUnreadCount(chatRoom.getId(), senderId) // 채팅방을 열면 읽음 처리
+                                            .then(createChatRoomResponse(chatRoom, senderId, receiverId, receiver))
                             ));
                 })
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.CHAT_ROOM_CREATION_FAILED));
     }
 
+    // 목록 화면에 필요한 상품명, 썸네일, 닉네임을 생성 시점에 함께 저장
     private Mono<ChatRoom> createNewChatRoom(String productId, String sellerId, String buyerId) {
-        return Mono.just(new ChatRoom.Builder()
-                        .productId(productId)
-                        .sellerId(sellerId)
-                        .buyerId(buyerId)
-                        .build())
-                .flatMap(newChatRoom -> chatRoomRepository.save(newChatRoom));
+        return Mono.zip(
+                        productService.findProductById(productId),
+                        imageService.findProductImageById(productId),
+                        userService.findUsersByIds(List.of(sellerId, buyerId))
+                )
+                .flatMap(TupleUtils.function((product, image, users) ->
+                        users.containsKey(sellerId) && users.containsKey(buyerId)
+                                ? chatRoomRepository.save(new ChatRoom.Builder()
+                                        .productId(productId)
+                                        .sellerId(sellerId)
+                                        .buyerId(buyerId)
+                                        .productTitle(product.getTitle())
+                                        .thumbnailPath(image.getThumbnailPath())
+                                        .sellerNickname(users.get(sellerId).getNickname())
+                                        .buyerNickname(users.get(buyerId).getNickname())
+                                        .build())
+                                : Mono.<ChatRoom>error(new ApiException(ExceptionMessage.USER_NOT_FOUND))
+                ))
+                // 동시에 같은 채팅방을 만들면 unique 인덱스에 막히므로 먼저 만들어진 채팅방 사용
+                .onErrorResume(DuplicateKeyException.class, e -> chatRoomRepository.findChatRoom(productId, buyerId));
     }
 
     private Mono<ChatRoomResDto> createChatRoomResponse(ChatRoom chatRoom, String senderId, String receiverId, User receiver) {
@@ -93,54 +148,124 @@ public class ChatServiceImpl implements ChatService {
                 ));
     }
 
+    // 참여하지 않은 채팅방은 존재 여부를 드러내지 않도록 없는 채팅방과 같이 처리
+    public Mono<ChatRoom> findChatRoomByMember(String roomId, String userId) {
+        return chatRoomRepository.findById(roomId)
+                .filter(chatRoom -> chatRoom.getSellerId().equals(userId) || chatRoom.getBuyerId().equals(userId))
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.CHAT_ROOM_NOT_FOUND)));
+    }
+
+    // 받는 사람은 요청 값 대신 채팅방의 상대방으로 정함, 받는 사람 ID가 읽지 않은 수의 필드 경로로 쓰이므로 요청 값을 그대로 쓰지 않음
     public Mono<Chat> saveMsg(ChatSaveReqDto chatSaveReqDto) {
-        return Mono.just(new Chat.Builder()
-                        .msg(chatSaveReqDto.msg())
-                        .senderId(chatSaveReqDto.senderId())
-                        .receiverId(chatSaveReqDto.receiverId())
-                        .roomId(chatSaveReqDto.roomId())
-                        .build()
-                )
-                .flatMap(chat -> chatRepository.save(chat))
+        return findChatRoomByMember(chatSaveReqDto.roomId(), chatSaveReqDto.senderId())
+                .map(chatRoom -> {
+                    Chat.Builder builder = new Chat.Builder()
+                            .msg(chatSaveReqDto.msg())
+                            .senderId(chatSaveReqDto.senderId())
+                            .receiverId(chatRoom.getSellerId().equals(chatSaveReqDto.senderId()) ? chatRoom.getBuyerId() : chatRoom.getSellerId())
+                            .roomId(chatRoom.getId());
+                    if (chatWriteBehindBuffer.isEnabled()) { // 저장 전에 전달하므로 id와 작성 시각을 미리 지정
+                        builder.id(new ObjectId().toHexString())
+                                .createdAt(LocalDateTime.now());
+                    }
+                    return builder.build();
+                })
+                .flatMap(chat -> chatWriteBehindBuffer.isEnabled()
+                        ? writeBehind(chat)
+                        : writeThrough(chat))
                 .flatMap(savedMessage ->
-                        redisPublisher.publish(chatSaveReqDto.receiverId(), savedMessage.getMsg())
-                                .thenReturn(savedMessage)) // Redis를 통해 메시지 발행
+                        redisPublisher.publish(savedMessage.getReceiverId(), savedMessage.getMsg())
+                                .thenReturn(savedMessage)) // 수신자의 알림 stream에 추가하고 Redis를 통해 발행
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.CHAT_SAVE_FAILED));
     }
 
+    private Mono<Chat> writeThrough(Chat chat) {
+        return chatRepository.save(chat)
+                .flatMap(savedMessage -> chatRoomRepository.updateLastMessage(savedMessage)
+                        .thenReturn(savedMessage)); // 채팅방 목록의 최근 메시지와 읽지 않은 수 갱신
+    }
+
+    // 저장은 모아서 처리하고 이 서버의 구독자에게는 바로 전달, 다른 서버는 저장 후 change stream으로 받음
+    private Mono<Chat> writeBehind(Chat chat) {
+        return chatWriteBehindBuffer.enqueue(chat)
+                .doOnNext(queuedMessage -> chatHub.publish(queuedMessage));
+    }
+
     public Flux<ChatRoomListResDto> findChatRoomListBySeller(Authentication authentication) {
-        return chatRoomRepository.findChatRoomListBySeller(AuthUtils.getAuthenticationUser(authentication).getId())
-                .flatMap(chatRoom -> createChatRoomListResponse(chatRoom));
+        String userId = AuthUtils.getAuthenticationUser(authentication).getId();
+        return createChatRoomListResponse(chatRoomRepository.findChatRoomListBySeller(userId), userId);
     }
 
     public Flux<ChatRoomListResDto> findChatRoomListByBuyer(Authentication authentication) {
-        return chatRoomRepository.findChatRoomListByBuyer(AuthUtils.getAuthenticationUser(authentication).getId())
-                .flatMap(chatRoom -> createChatRoomListResponse(chatRoom));
+        String userId = AuthUtils.getAuthenticationUser(authentication).getId();
+        return createChatRoomListResponse(chatRoomRepository.findChatRoomListByBuyer(userId), userId);
     }
 
-    public Mono<ChatRoomListResDto> createChatRoomListResponse(ChatRoom chatRoom) {
-        return Mono.zip(
-                        productService.findProductById(chatRoom.getProductId()),
-                        chatRepository.findRecentChat(chatRoom.getId()),
-                        imageService.findProductImageById(chatRoom.getProductId()),
-                        userService.findUserById(chatRoom.getSellerId()),
-                        userService.findUserById(chatRoom.getBuyerId())
-                )
-                .map(TupleUtils.function((product, chat, image, seller, buyer) ->
-                        new ChatRoomListResDto(
-                                chatRoom.getProductId(),
-                                product.getTitle(),
-                                chatRoom.getSellerId(),
-                                seller.getNickname(),
-                                chatRoom.getBuyerId(),
-                                buyer.getNickname(),
-                                chat.getMsg(),
-                                DateTimeUtils.format(chat.getCreatedAt()),
-                                image.getThumbnailPath()
-                        )
+    // 채팅방 문서의 요약 정보만으로 목록 생성
+    private Flux<ChatRoomListResDto> createChatRoomListResponse(Flux<ChatRoom> chatRooms, String userId) {
+        return chatRooms.collectList()
+                .flatMapMany(rooms -> fillMissingSummaries(rooms))
+                .filter(chatRoom -> chatRoom.getLastMessageAt() != null) // 메시지가 없는 채팅방은 목록에서 제외
+                .map(chatRoom -> new ChatRoomListResDto(
+                        chatRoom.getProductId(),
+                        chatRoom.getProductTitle(),
+                        chatRoom.getSellerId(),
+                        chatRoom.getSellerNickname(),
+                        chatRoom.getBuyerId(),
+                        chatRoom.getBuyerNickname(),
+                        chatRoom.getLastMessage(),
+                        DateTimeUtils.format(chatRoom.getLastMessageAt()),
+                        chatRoom.getThumbnailPath(),
+                        chatRoom.getUnreadCount(userId)
                 ))
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.CHAT_ROOM_INFO_FETCH_FAILED));
     }
+
+    // 요약 정보 도입 전에 만들어진 채팅방만 기존 방식으로 조회해 채워넣음, 다음 조회부터는 채팅방 문서만 읽음
+    private Flux<ChatRoom> fillMissingSummaries(List<ChatRoom> chatRooms) {
+        List<ChatRoom> legacyRooms = chatRooms.stream()
+                .filter(chatRoom -> !chatRoom.hasSummary())
+                .toList();
+        if (legacyRooms.isEmpty()) {
+            return Flux.fromIterable(chatRooms);
+        }
+
+        return userService.findUsersByIds(legacyRooms.stream()
+                        .flatMap(chatRoom -> Stream.of(chatRoom.getSellerId(), chatRoom.getBuyerId()))
+                        .collect(Collectors.toSet()))
+                .flatMapMany(users -> Flux.fromIterable(chatRooms)
+                        .flatMapSequential(chatRoom -> chatRoom.hasSummary()
+                                ? Mono.just(chatRoom)
+                                : fillSummary(chatRoom, users)))
+                // 요약이 없던 채팅방은 lastMessageAt이 null인 채로 정렬되어 왔으므로 채운 뒤 최근 메시지 순으로 다시 정렬
+                .sort(Comparator.comparing((ChatRoom chatRoom) -> chatRoom.getLastMessageAt(),
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    private Mono<ChatRoom> fillSummary(ChatRoom chatRoom, Map<String, User> users) {
+        User seller = users.get(chatRoom.getSellerId());
+        User buyer = users.get(chatRoom.getBuyerId());
+        if (seller == null || buyer == null) {
+            return Mono.error(new ApiException(ExceptionMessage.USER_NOT_FOUND));
+        }
+
+        // 메시지가 없는 채팅방도 요약을 저장해 다음 조회부터 다시 채우지 않음
+        return chatRepository.findRecentChat(chatRoom.getId())
+                .map(recentChat -> Optional.of(recentChat))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(recentChat -> Mono.zip(
+                                productService.findProductById(chatRoom.getProductId()),
+                                imageService.findProductImageById(chatRoom.getProductId())
+                        )
+                        .flatMap(TupleUtils.function((product, image) -> chatRoomRepository.updateSummary(
+                                chatRoom.getId(),
+                                product.getTitle(),
+                                image.getThumbnailPath(),
+                                seller.getNickname(),
+                                buyer.getNickname(),
+                                recentChat.orElse(null)
+                        ))));
+    }
 }
@@ -0,0 +1,184 @@
+package com.hansung.reactive_marketplace.service;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 썸네일 생성을 이미지 전용 스케줄러에서 실행하고 대기열, 대기 시간, 처리 시간을 측정
+@Component
+public class ImageProcessor {
+
+    private static final String WEBP_MIME_TYPE = "image/webp";
+
+    private final Scheduler imageScheduler;
+
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+
+    private final int queueCapacity;
+
+    private final Timer waitTimer;
+
+    private final Timer resizeTimer;
+
+    private final boolean webpEnabled;
+
+    private final float webpQuality;
+
+    public ImageProcessor(@Qualifier("imageScheduler") Scheduler imageScheduler,
+                          MeterRegistry meterRegistry,
+                          @Value("${image.worker.queue-capacity:100}") int queueCapacity,
+                          @Value("${image.webp.enabled:true}") boolean webpEnabled,
+                          @Value("${image.webp.quality:0.8}") float webpQuality) {
+        this.imageScheduler = imageScheduler;
+        this.queueCapacity = queueCapacity;
+        // WebP 인코더가 classpath에 없는 환경에서는 변환을 건너뛰고 기존 형식만 제공
+        this.webpEnabled = webpEnabled && ImageIO.getImageWritersByMIMEType(WEBP_MIME_TYPE).hasNext();
+        this.webpQuality = webpQuality;
+        Gauge.builder("image.worker.pending", pendingTasks, AtomicInteger::get)
+                .description("실행을 기다리는 이미지 작업 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("image.worker.wait")
+                .description("이미지 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.resizeTimer = Timer.builder("image.worker.resize")
+                .description("썸네일 생성에 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    // 지정한 크기로 맞춰 자름
+    public Mono<Void> resize(Path source, Path target, int width, int height) {
+        return submit(() -> {
+            Thumbnails.of(source.toFile())
+                    .forceSize(width, height)
+                    .outputQuality(0.8)
+                    .toFile(target.toFile());
+            return new Size(width, height);
+        }).then();
+    }
+
+    // 원본 비율을 유지한 채 너비만 맞춤, 원본보다 크게 늘리지 않음
+    public Mono<Size> resizeToWidth(Path source, Path target, int width) {
+        return submit(() -> {
+            Size original = readSize(source);
+            int targetWidth = Math.min(width, original.width());
+            int targetHeight = Math.max(1, Math.round((float) original.height() * targetWidth / original.width()));
+
+            Thumbnails.of(source.toFile())
+                    .size(targetWidth, targetHeight)
+                    .outputQuality(0.8)
+                    .toFile(target.toFile());
+            return new Size(targetWidth, targetHeight);
+        });
+    }
+
+    // 같은 이미지를 WebP로 다시 인코딩, 변환하지 않았으면 false
+    public Mono<Boolean> writeWebp(Path source, Path target) {
+        if (!webpEnabled) {
+            return Mono.just(false);
+        }
+        return submit(() -> {
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                throw new IOException("지원하지 않는 이미지 형식입니다: " + source);
+            }
+            ImageWriter writer = ImageIO.getImageWritersByMIMEType(WEBP_MIME_TYPE).next();
+            Files.deleteIfExists(target); // 재시도시 이전 파일의 남은 바이트가 섞이지 않도록 삭제
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionType("Lossy");
+                param.setCompressionQuality(webpQuality);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } catch (LinkageError e) { // 네이티브 라이브러리 로드 실패는 Reactor가 에러 신호로 전달하지 않으므로 예외로 변환
+                throw new IOException("WebP 인코더를 사용할 수 없습니다", e);
+            } finally {
+                writer.dispose();
+            }
+            return true;
+        });
+    }
+
+    public boolean isWebpEnabled() {
+        return webpEnabled;
+    }
+
+    // 이미지 전체를 디코딩하지 않고 헤더에서 크기만 읽으므로 리사이징 대기열을 거치지 않음
+    public Mono<Size> readImageSize(Path source) {
+        return Mono.fromCallable(() -> readSize(source))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Size readSize(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다: " + source);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                return new Size(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 이미지 전용 스케줄러에서 작업을 실행하고 대기 시간, 처리 시간을 기록
+    private <T> Mono<T> submit(Callable<T> task) {
+        return Mono.defer(() -> {
+            long submittedAt = System.nanoTime();
+            AtomicBoolean started = new AtomicBoolean(false);
+            // 스케줄러의 대기열 제한은 스레드마다 적용되므로 전체 대기 작업 수는 여기서 제한
+            if (pendingTasks.incrementAndGet() > queueCapacity) {
+                pendingTasks.decrementAndGet();
+                return Mono.error(new ApiException(ExceptionMessage.IMAGE_PROCESSING_BUSY));
+            }
+
+            return Mono.fromCallable(() -> {
+                        started.set(true);
+                        pendingTasks.decrementAndGet();
+                        waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                        return resizeTimer.recordCallable(task);
+                    })
+                    .subscribeOn(imageScheduler)
+                    .doFinally(signal -> {
+                        if (!started.get()) { // 거절되거나 실행 전에 취소된 작업도 대기열 수에서 제외
+                            pendingTasks.decrementAndGet();
+                        }
+                    })
+                    .onErrorMap(RejectedExecutionException.class,
+                            e -> new ApiException(ExceptionMessage.IMAGE_PROCESSING_BUSY));
+        });
+    }
+
+    public record Size(int width, int height) {}
+}
@@ -3,17 +3,28 @@ package com.hansung.reactive_marketplace.service;
 import com.hansung.reactive_marketplace.domain.Image;
 import com.hansung.reactive_marketplace.domain.ImageSource;
 import org.springframework.http.codec.multipart.FilePart;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface ImageService {
 
     // 이미지 업로드 메소드
     Mono<Image> uploadImage(FilePart image, String id, ImageSource imageSource);
 
-    // 상품 이미지 ID로 찾기
+    // 상품 이미지 여러 장 업로드, coverIndex 위치의 이미지를 대표 이미지로 사용
+    Mono<List<Image>> uploadProductImages(Flux<FilePart> images, String productId, ImageSource imageSource, int coverIndex);
+
+    // 상품 대표 이미지 ID로 찾기
     Mono<Image> findProductImageById(String productId);
 
-    // 상품 이미지 ID로 찾기 + cache
+    // 여러 상품 대표 이미지를 한 번에 찾기 (상품 ID -> 이미지)
+    Mono<Map<String, Image>> findProductImagesByIds(Collection<String> productIds);
+
+    // 상품 대표 이미지 ID로 찾기 + cache
     Mono<Image> findProductImageByIdWithCache(String productId);
 
     // 사용자 프로필 이미지 ID로 찾기
@@ -22,7 +33,10 @@ public interface ImageService {
     // 사용자 프로필 이미지 ID로 찾기 + cache
     Mono<Image> findProfileImageByIdWithCache(String productId);
 
-    // 상품 이미지 삭제
+    // 상품 대표 이미지 교체, 같은 파일을 다시 올리면 기존 파일과 썸네일을 재사용
+    Mono<Image> replaceProductImage(FilePart image, String productId, ImageSource imageSource);
+
+    // 상품의 모든 이미지 삭제
     Mono<Void> deleteProductImageById(String productId);
 
     // 사용자 프로필 이미지 삭제
@@ -1,34 +1,64 @@
 package com.hansung.reactive_marketplace.service;
 
 import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageBlob;
 import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
 import com.hansung.reactive_marketplace.exception.ApiException;
 import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.job.ThumbnailJobQueue;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ImageBlobRepository;
 import com.hansung.reactive_marketplace.repository.ImageRepository;
+import com.hansung.reactive_marketplace.storage.ImageStorage;
 import com.hansung.reactive_marketplace.util.ImageUtils;
-import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ImageServiceImpl implements ImageService {
 
+    // 썸네일 생성이 끝나기 전까지 보여줄 이미지
+    private static final String PRODUCT_THUMBNAIL_PLACEHOLDER = "/img/placeholder.png";
+
+    private static final String PROFILE_THUMBNAIL_PLACEHOLDER = "/img/profile.png";
+
     private final ImageRepository imageRepository;
 
+    private final ImageBlobRepository imageBlobRepository;
+
+    private final ImageStorage imageStorage;
+
     private final RedisCacheManager redisCacheManager;
 
     private final TransactionalOperator transactionalOperator;
 
+    private final ThumbnailJobQueue thumbnailJobQueue;
+
+    private final ChatRoomRepository chatRoomRepository;
+
     @Value("${image.profile.originalPath}")
     private String profileOriginalPath;
 
@@ -41,79 +71,217 @@ public class ImageServiceImpl implements ImageService {
     @Value("${image.product.thumbnailPath}")
     private String productThumbnailPath;
 
-    @Value("${image.os.basePath}")
-    private String osBasePath;
+    @Value("${image.variant.widths:90,300,800,1600}")
+    private List<Integer> variantWidths;
+
+    @Value("${image.product.max-count:10}")
+    private int maxProductImages;
 
-    public ImageServiceImpl(ImageRepository imageRepository, RedisCacheManager redisCacheManager, TransactionalOperator transactionalOperator) {
+    @Value("${image.upload.concurrency:4}")
+    private int uploadConcurrency;
+
+    public ImageServiceImpl(ImageRepository imageRepository, ImageBlobRepository imageBlobRepository, ImageStorage imageStorage, RedisCacheManager redisCacheManager, TransactionalOperator transactionalOperator, ThumbnailJobQueue thumbnailJobQueue, ChatRoomRepository chatRoomRepository) {
         this.imageRepository = imageRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageStorage = imageStorage;
         this.redisCacheManager = redisCacheManager;
         this.transactionalOperator = transactionalOperator;
+        this.thumbnailJobQueue = thumbnailJobQueue;
+        this.chatRoomRepository = chatRoomRepository;
     }
 
     public Mono<Image> uploadImage(FilePart image, String id, ImageSource imageSource) {
+        return uploadImage(image, id, imageSource, 0);
+    }
+
+    // 상품 이미지는 position 위치의 대표 이미지로 등록
+    private Mono<Image> uploadImage(FilePart image, String id, ImageSource imageSource, int position) {
         return Mono.justOrEmpty(image)
                 .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
-                .flatMap(img -> createImageData(img, id, imageSource))
-                .flatMap(imageData -> imageRepository.save(imageData))
-                .as(transactionalOperator::transactional)
-                .flatMap(imageData -> saveImageFile(image, imageData, imageSource))
+                .flatMap(img -> {
+                    String imagePath = generateImagePath(img, imageSource);
+
+                    // 해시는 스트림을 다 읽어야 알 수 있으므로 일단 새 경로에 쓰고, 같은 파일이 이미 있으면 기존 파일을 사용
+                    return writeImageFile(img, imagePath)
+                            .flatMap(storedFile -> acquireBlob(storedFile, imagePath, imageSource)
+                                    .map(blob -> createImageData(img, storedFile, blob, id, imageSource, position, imageSource == ImageSource.PRODUCT)))
+                            .flatMap(imageData -> imageRepository.save(imageData))
+                            // 썸네일은 요청 안에서 만들지 않고 작업 큐에 등록, 이미지 저장과 같은 트랜잭션으로 묶음
+                            .flatMap(savedImage -> enqueueThumbnailJob(savedImage, imageSource))
+                            .as(transactionalOperator::transactional)
+                            .onErrorResume(e -> deleteFileQuietly(imagePath) // 실패시 이미 쓴 파일 정리
+                                    .then(Mono.error(e)));
+                })
+                .onErrorMap(e -> !(e instanceof ApiException),
+                        e -> new ApiException(ExceptionMessage.IMAGE_UPLOAD_FAILED));
+    }
+
+    // 파일은 uploadConcurrency개까지 동시에 저장소로 보내고, 이미지 문서는 insertMany 한 번으로 저장
+    public Mono<List<Image>> uploadProductImages(Flux<FilePart> images, String productId, ImageSource imageSource, int coverIndex) {
+        return Mono.defer(() -> {
+                    List<String> writtenPaths = new CopyOnWriteArrayList<>(); // 실패시 정리할 파일
+
+                    return images.index()
+                            .flatMapSequential(indexed -> { // 파일 저장은 병렬로 하되 결과는 업로드 순서대로 받음
+                                if (indexed.getT1() >= maxProductImages) {
+                                    return Mono.<UploadedFile>error(new ApiException(ExceptionMessage.IMAGE_COUNT_EXCEEDED));
+                                }
+                                FilePart img = indexed.getT2();
+                                String imagePath = generateImagePath(img, imageSource);
+                                writtenPaths.add(imagePath);
+                                return writeImageFile(img, imagePath)
+                                        .map(storedFile -> new UploadedFile(img, imagePath, storedFile));
+                            }, uploadConcurrency)
+                            // 트랜잭션 세션에는 명령을 동시에 보낼 수 없으므로 blob 참조는 순서대로 처리
+                            .concatMap(uploaded -> acquireBlob(uploaded.storedFile(), uploaded.imagePath(), imageSource)
+                                    .map(blob -> new UploadedImage(uploaded, blob)))
+                            .collectList()
+                            .flatMap(uploadedImages -> uploadedImages.isEmpty() // 썸네일 없는 상품은 목록, 상세 조회가 실패하므로 저장하지 않음
+                                    ? Mono.<List<Image>>error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND))
+                                    : imageRepository.insert(createProductImages(uploadedImages, productId, imageSource, coverIndex))
+                                            .concatMap(savedImage -> enqueueThumbnailJob(savedImage, imageSource))
+                                            .collectList())
+                            .as(transactionalOperator::transactional)
+                            .onErrorResume(e -> Flux.fromIterable(writtenPaths) // 실패시 이미 쓴 파일 정리
+                                    .flatMap(path -> deleteFileQuietly(path))
+                                    .then(Mono.error(e)));
+                })
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.IMAGE_UPLOAD_FAILED));
     }
 
-    private Mono<Image> createImageData(FilePart image, String id, ImageSource imageSource) {
-        String imageName = ImageUtils.generateUniqueImageName(image.filename());
-
-        return getFileSize(image)
-                .flatMap(fileSize -> Mono.just(new Image.Builder()
-                        .imageName(image.filename())
-                        .imageType(String.valueOf(image.headers().getContentType()))
-                        .imageSize(fileSize)
-                        .imageSource(imageSource)
-                        .userId(imageSource == ImageSource.PROFILE ? id : null)
-                        .productId(imageSource == ImageSource.PRODUCT ? id : null)
-                        .imagePath(ImageUtils.generateImagePath(
-                                imageSource == ImageSource.PROFILE ? profileOriginalPath : productOriginalPath,
-                                imageName
-                        ))
-                        .thumbnailPath(ImageUtils.generateImagePath(
-                                imageSource == ImageSource.PROFILE ? profileThumbnailPath : productThumbnailPath,
-                                "resized_" + imageName
-                        ))
-                        .build()));
-    }
-
-    private Mono<Long> getFileSize(FilePart filePart) {
-        return DataBufferUtils.join(filePart.content()) // 버퍼를 하나로 결합
-                .map(dataBuffer -> {
-                    long size = dataBuffer.readableByteCount();  // 결합된 전체 크기
-                    DataBufferUtils.release(dataBuffer);
-                    return size;
-                });
-    }
-
-    private Mono<Image> saveImageFile(FilePart image, Image imageData, ImageSource imageSource) {
-        File originalFile = new File(osBasePath + imageData.getImagePath());
-        File resizedFile = new File(osBasePath + imageData.getThumbnailPath());
-
-        return image.transferTo(originalFile)
-                .then(Mono.fromCallable(() -> {
-                    Thumbnails.of(originalFile)
-                            .forceSize(
-                                    imageSource == ImageSource.PROFILE ? 45 : 300,
-                                    imageSource == ImageSource.PROFILE ? 45 : 350
-                            )
-                            .outputQuality(0.8)
-                            .toFile(resizedFile);
-                    return imageData;
-                }));
+    // 업로드 순서를 표시 순서로 사용하고, 범위를 벗어난 대표 이미지 위치는 첫 번째 이미지로 대체
+    private List<Image> createProductImages(List<UploadedImage> uploadedImages, String productId, ImageSource imageSource, int coverIndex) {
+        int cover = coverIndex >= 0 && coverIndex < uploadedImages.size() ? coverIndex : 0;
+        List<Image> productImages = new ArrayList<>();
+        for (int position = 0; position < uploadedImages.size(); position++) {
+            UploadedImage uploadedImage = uploadedImages.get(position);
+            productImages.add(createImageData(
+                    uploadedImage.file().filePart(),
+                    uploadedImage.file().storedFile(),
+                    uploadedImage.blob(),
+                    productId,
+                    imageSource,
+                    position,
+                    position == cover));
+        }
+        return productImages;
     }
 
+    private String generateImagePath(FilePart image, ImageSource imageSource) {
+        return ImageUtils.generateImagePath(
+                imageSource == ImageSource.PROFILE ? profileOriginalPath : productOriginalPath,
+                ImageUtils.generateUniqueImageName(image.filename())
+        );
+    }
+
+    // 같은 파일이 이미 있으면 방금 쓴 파일은 삭제하고 기존 blob을 사용
+    private Mono<ImageBlob> acquireBlob(StoredFile storedFile, String imagePath, ImageSource imageSource) {
+        return imageBlobRepository.acquire(storedFile.contentHash(), imageSource, imagePath)
+                .flatMap(blob -> blob.getImagePath().equals(imagePath)
+                        ? Mono.just(blob)
+                        : deleteFileQuietly(imagePath).thenReturn(blob)); // 중복 업로드는 방금 쓴 파일 삭제
+    }
+
+    private Mono<Image> enqueueThumbnailJob(Image savedImage, ImageSource imageSource) {
+        return isPlaceholder(savedImage.getThumbnailPath())
+                ? thumbnailJobQueue.enqueue(createThumbnailJob(savedImage, imageSource)).thenReturn(savedImage)
+                : Mono.just(savedImage); // 같은 파일의 썸네일이 이미 있으면 리사이징 생략
+    }
+
+    // 파일 경로와 썸네일은 blob 기준으로 채움, 썸네일이 아직 없으면 placeholder
+    private Image createImageData(FilePart image, StoredFile storedFile, ImageBlob blob, String id, ImageSource imageSource,
+                                  int position, boolean cover) {
+        return new Image.Builder()
+                .imageName(image.filename())
+                .imageType(String.valueOf(image.headers().getContentType()))
+                .imageSize(storedFile.size())
+                .contentHash(storedFile.contentHash())
+                .imageSource(imageSource)
+                .userId(imageSource == ImageSource.PROFILE ? id : null)
+                .productId(imageSource == ImageSource.PRODUCT ? id : null)
+                .imagePath(blob.getImagePath())
+                .position(position)
+                .cover(cover)
+                .thumbnailPath(blob.getThumbnailPath() != null
+                        ? blob.getThumbnailPath()
+                        : imageSource == ImageSource.PROFILE ? PROFILE_THUMBNAIL_PLACEHOLDER : PRODUCT_THUMBNAIL_PLACEHOLDER)
+                .variants(blob.getVariants())
+                .build();
+    }
+
+    // 업로드 스트림을 메모리에 모으지 않고 DataBuffer 단위로 바로 저장소에 쓰면서 크기와 해시를 함께 계산
+    private Mono<StoredFile> writeImageFile(FilePart image, String imagePath) {
+        return Mono.defer(() -> {
+            MessageDigest digest = newSha256Digest();
+            AtomicLong size = new AtomicLong();
+
+            Flux<DataBuffer> content = image.content()
+                    .doOnNext(dataBuffer -> {
+                        size.addAndGet(dataBuffer.readableByteCount());
+                        // 읽기 전용 뷰로 해시를 갱신하므로 버퍼의 read position은 그대로 유지됨
+                        try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+                            iterator.forEachRemaining(byteBuffer -> digest.update(byteBuffer));
+                        }
+                    });
+
+            return imageStorage.write(imagePath, content)
+                    .then(Mono.fromCallable(() -> new StoredFile(size.get(), HexFormat.of().formatHex(digest.digest()))));
+        });
+    }
+
+    // 썸네일 파일명은 원본 파일명에서 만들어 같은 파일이면 같은 썸네일 경로를 사용
+    private ThumbnailJob createThumbnailJob(Image image, ImageSource imageSource) {
+        String imagePath = image.getImagePath();
+        String thumbnailPath = ImageUtils.generateImagePath(
+                imageSource == ImageSource.PROFILE ? profileThumbnailPath : productThumbnailPath,
+                "resized_" + imagePath.substring(imagePath.lastIndexOf('/') + 1)
+        );
+
+        return new ThumbnailJob.Builder()
+                .imageId(image.getId())
+                .sourcePath(imagePath)
+                .targetPath(thumbnailPath)
+                .width(imageSource == ImageSource.PROFILE ? 45 : 300)
+                .height(imageSource == ImageSource.PROFILE ? 45 : 350)
+                .variantWidths(imageSource == ImageSource.PROFILE ? List.of() : variantWidths) // 프로필은 썸네일만 사용
+                .cacheKey(imageSource == ImageSource.PROFILE ? "userImage:" + image.getUserId() : "productImage:" + image.getProductId())
+                .build();
+    }
+
+    private Mono<Void> deleteFileQuietly(String path) {
+        return imageStorage.delete(path)
+                .onErrorResume(e -> Mono.empty()); // 정리 실패는 원래 에러를 가리지 않도록 무시
+    }
+
+    private boolean isPlaceholder(String thumbnailPath) {
+        return PRODUCT_THUMBNAIL_PLACEHOLDER.equals(thumbnailPath) || PROFILE_THUMBNAIL_PLACEHOLDER.equals(thumbnailPath);
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredFile(long size, String contentHash) {}
+
+    private record UploadedFile(FilePart filePart, String imagePath, StoredFile storedFile) {}
+
+    private record UploadedImage(UploadedFile file, ImageBlob blob) {}
+
     public Mono<Image> findProductImageById(String productId) {
-        return imageRepository.findByProductId(productId)
+        return imageRepository.findCoverByProductId(productId)
                 .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)));
     }
 
+    public Mono<Map<String, Image>> findProductImagesByIds(Collection<String> productIds) {
+        return imageRepository.findCoversByProductIdIn(productIds)
+                .collectMap(image -> image.getProductId());
+    }
+
     public Mono<Image> findProductImageByIdWithCache(String productId) {
         return redisCacheManager.getOrFetch(
                 "productImage:" + productId,
@@ -141,14 +309,27 @@ public class ImageServiceImpl implements ImageService {
         );
     }
 
+    // 새 이미지를 먼저 등록해 같은 파일이면 참조 수가 0이 되지 않게 한 뒤 기존 대표 이미지를 삭제
+    public Mono<Image> replaceProductImage(FilePart image, String productId, ImageSource imageSource) {
+        return imageRepository.findCoverByProductId(productId)
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
+                .flatMap(previous -> uploadImage(image, productId, imageSource, previous.getPosition()) // 기존 표시 순서 유지
+                        .flatMap(uploaded -> deleteImages(imageRepository.deleteById(previous.getId()), List.of(previous), "productImage:" + productId)
+                                // 채팅방 목록이 지워진 이전 썸네일을 가리키지 않도록 변경
+                                // 같은 파일의 썸네일이 이미 있으면 작업이 등록되지 않으므로 여기서 바로 반영하고, 없으면 워커가 생성 후 다시 변경
+                                .then(chatRoomRepository.updateThumbnailPath(productId, uploaded.getThumbnailPath()))
+                                .thenReturn(uploaded)))
+                .as(transactionalOperator::transactional) // 커밋 전까지 상품에 이미지가 2개인 상태가 보이지 않도록 함
+                .onErrorMap(e -> !(e instanceof ApiException),
+                        e -> new ApiException(ExceptionMessage.IMAGE_UPLOAD_FAILED));
+    }
+
     public Mono<Void> deleteProductImageById(String productId) {
-        return imageRepository.findByProductId(productId)
+        return imageRepository.findByProductIdOrderByPositionAsc(productId)
+                .collectList()
+                .filter(images -> !images.isEmpty())
                 .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
-                .flatMap(image -> imageRepository.deleteByProductId(productId).thenReturn(image))
-                .as(transactionalOperator::transactional)
-                .flatMap(image -> deleteImageFiles(image))
-                .then(Mono.defer(() -> redisCacheManager.deleteValue("productImage:" + productId)))
-                .then()
+                .flatMap(images -> deleteImages(imageRepository.deleteByProductId(productId), images, "productImage:" + productId))
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.IMAGE_DELETE_FAILED));
     }
@@ -156,20 +337,86 @@ public class ImageServiceImpl implements ImageService {
     public Mono<Void> deleteProfileImageById(String userId) {
         return imageRepository.findByUserId(userId)
                 .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
-                .flatMap(image -> imageRepository.deleteByUserId(userId).thenReturn(image))
-                .as(transactionalOperator::transactional)
-                .flatMap(image -> deleteImageFiles(image))
-                .then(Mono.defer(() -> redisCacheManager.deleteValue("userImage:" + userId)))
-                .then()
+                .flatMap(image -> deleteImages(imageRepository.deleteByUserId(userId), List.of(image), "userImage:" + userId))
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.IMAGE_DELETE_FAILED));
     }
 
-    private Mono<Image> deleteImageFiles(Image image) {
-        return Mono.fromCallable(() -> {
-            Files.delete(Paths.get(osBasePath + image.getImagePath()));
-            Files.delete(Paths.get(osBasePath + image.getThumbnailPath()));
-            return image;
-        });
+    // 이미지 문서 삭제와 파일 참조 해제를 같은 트랜잭션으로 묶고, 마지막 참조였을 때만 파일 삭제
+    private Mono<Void> deleteImages(Mono<Void> deleteDocuments, List<Image> images, String cacheKey) {
+        return deleteDocuments
+                .thenMany(Flux.fromIterable(images)
+                        .concatMap(image -> releaseImageFiles(image))) // 같은 상품에 같은 파일이 여러 번 있어도 참조 수를 하나씩 줄임
+                .collectList()
+                .flatMap(releasedFiles -> deleteImageFilesAfterCommit(releasedFiles))
+                .as(transactionalOperator::transactional)
+                .then(Mono.defer(() -> redisCacheManager.deleteValue(cacheKey)))
+                .then();
+    }
+
+    // 문서가 롤백되면 파일도 남아 있어야 하므로 바깥 트랜잭션(상품 수정, 삭제 등)까지 커밋된 뒤에 파일 삭제
+    // 커밋 이후라 삭제에 실패해도 요청은 성공으로 두고 파일만 남김
+    private Mono<Void> deleteImageFilesAfterCommit(List<ImageFiles> releasedFiles) {
+        Mono<Void> deleteFiles = Flux.fromIterable(releasedFiles)
+                .flatMap(imageFiles -> deleteImageFiles(imageFiles))
+                .then();
+
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronizationManager -> {
+                    if (!synchronizationManager.isSynchronizationActive()) {
+                        return deleteFiles;
+                    }
+                    synchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return deleteFiles.onErrorResume(e -> Mono.empty());
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> deleteFiles); // 트랜잭션 밖에서 호출되면 바로 삭제
+    }
+
+    // 지워도 되는 파일 반환, 다른 이미지가 같은 파일을 참조중이면 empty
+    private Mono<ImageFiles> releaseImageFiles(Image image) {
+        ImageFiles imageFiles = new ImageFiles(image.getImagePath(), image.getThumbnailPath(), image.getVariants());
+        if (image.getContentHash() == null) {
+            return Mono.just(imageFiles);
+        }
+
+        return imageBlobRepository.release(image.getContentHash(), image.getImageSource())
+                .flatMap(blob -> blob.getRefCount() > 0
+                        ? Mono.just(Optional.<ImageFiles>empty())
+                        : imageBlobRepository.deleteIfUnreferenced(blob.getId()) // 그 사이 다시 참조됐다면 유지
+                                .map(deleted -> deleted
+                                        ? Optional.of(new ImageFiles(
+                                                blob.getImagePath(),
+                                                blob.getThumbnailPath() != null ? blob.getThumbnailPath() : image.getThumbnailPath(),
+                                                blob.getVariants()))
+                                        : Optional.<ImageFiles>empty()))
+                .defaultIfEmpty(Optional.of(imageFiles)) // 중복 제거 도입 전에 올라온 이미지는 blob이 없음
+                .flatMap(files -> Mono.justOrEmpty(files));
     }
+
+    // 원본, 썸네일, 너비별 이미지와 각각의 WebP 파일 삭제
+    private Mono<Void> deleteImageFiles(ImageFiles imageFiles) {
+        List<String> paths = new ArrayList<>();
+        paths.add(imageFiles.imagePath());
+        if (!isPlaceholder(imageFiles.thumbnailPath())) { // 썸네일 생성 전이면 지울 파일이 없음
+            paths.add(imageFiles.thumbnailPath());
+        }
+        if (imageFiles.variants() != null) {
+            imageFiles.variants().stream()
+                    .map(variant -> variant.getPath())
+                    .filter(path -> !path.equals(imageFiles.imagePath())) // 원본은 이미 포함
+                    .forEach(path -> paths.add(path));
+        }
+
+        return Flux.fromIterable(paths)
+                .flatMap(path -> imageStorage.delete(path)
+                        .then(imageStorage.delete(ImageUtils.generateWebpPath(path))))
+                .then();
+    }
+
+    private record ImageFiles(String imagePath, String thumbnailPath, List<ImageVariant> variants) {}
 }
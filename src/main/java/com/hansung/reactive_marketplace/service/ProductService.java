@@ -6,7 +6,7 @@ import com.hansung.reactive_marketplace.dto.request.ProductSaveReqDto;
 import com.hansung.reactive_marketplace.dto.request.ProductUpdateReqDto;
 import com.hansung.reactive_marketplace.dto.response.MyProductListResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductDetailResDto;
-import com.hansung.reactive_marketplace.dto.response.ProductListResDto;
+import com.hansung.reactive_marketplace.dto.response.ProductPageResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductUpdateResDto;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
@@ -16,7 +16,7 @@ import reactor.core.publisher.Mono;
 public interface ProductService {
 
     // 상품 저장
-    Mono<Product> saveProduct(ProductSaveReqDto productSaveReqDto, FilePart image, Authentication authentication);
+    Mono<Product> saveProduct(ProductSaveReqDto productSaveReqDto, Flux<FilePart> images, Authentication authentication);
 
     // 상품 상세 조회
     Mono<ProductDetailResDto> findProductDetail(String productId, Authentication authentication);
@@ -24,8 +24,8 @@ public interface ProductService {
     // 상품 수정 폼에 표시할 내용 조회
     Mono<ProductUpdateResDto> findProductForUpdateForm(String productId);
 
-    // 상품 목록 조회
-    Flux<ProductListResDto> findProductList();
+    // 상품 목록 조회, cursor가 null이면 첫 페이지
+    Mono<ProductPageResDto> findProductList(String cursor, int size);
 
     // 내 상품 목록 조회
     Flux<MyProductListResDto> findMyProductList(Authentication authentication);
@@ -8,13 +8,18 @@ import com.hansung.reactive_marketplace.dto.request.ProductUpdateReqDto;
 import com.hansung.reactive_marketplace.dto.response.MyProductListResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductDetailResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductListResDto;
+import com.hansung.reactive_marketplace.dto.response.ProductPageResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductUpdateResDto;
 import com.hansung.reactive_marketplace.exception.ApiException;
 import com.hansung.reactive_marketplace.exception.ExceptionMessage;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
 import com.hansung.reactive_marketplace.repository.ProductRepository;
 import com.hansung.reactive_marketplace.util.AuthUtils;
+import com.hansung.reactive_marketplace.util.CursorUtils;
 import com.hansung.reactive_marketplace.util.DateTimeUtils;
+import com.hansung.reactive_marketplace.util.ImageUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
@@ -24,9 +29,20 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.function.TupleUtils;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final int THUMBNAIL_BATCH_SIZE = 50; // 이미지 조회 한 번에 묶을 상품 수
+
+    private static final int MAX_PAGE_SIZE = 60; // 한 페이지에 허용하는 최대 상품 수
+
+    private static final Duration PRODUCT_DETAIL_TTL = Duration.ofHours(1);
+
     private final ProductRepository productRepository;
 
     private final UserService userService;
@@ -49,7 +65,8 @@ public class ProductServiceImpl implements ProductService {
         this.transactionalOperator = transactionalOperator;
     }
 
-    public Mono<Product> saveProduct(ProductSaveReqDto productSaveReqDto, FilePart image, Authentication authentication) {
+    // 상품과 이미지 문서를 같은 트랜잭션으로 저장, 이미지가 한 장도 없으면 IMAGE_NOT_FOUND로 실패해 상품도 롤백
+    public Mono<Product> saveProduct(ProductSaveReqDto productSaveReqDto, Flux<FilePart> images, Authentication authentication) {
         return Mono.just(new Product.Builder()
                         .title(productSaveReqDto.title())
                         .description(productSaveReqDto.description())
@@ -57,65 +74,47 @@ public class ProductServiceImpl implements ProductService {
                         .userId(AuthUtils.getAuthenticationUser(authentication).getId())
                         .build())
                 .flatMap(product -> productRepository.save(product))
-                .flatMap(savedProduct ->
-                        Mono.justOrEmpty(image)
-                                .flatMap(img -> imageService.uploadImage(img, savedProduct.getId(), productSaveReqDto.imageSource())
-                                        .thenReturn(savedProduct))
-                                .defaultIfEmpty(savedProduct))
+                .flatMap(savedProduct -> imageService.uploadProductImages(
+                                images,
+                                savedProduct.getId(),
+                                productSaveReqDto.imageSource(),
+                                productSaveReqDto.coverIndex() == null ? 0 : productSaveReqDto.coverIndex())
+                        .thenReturn(savedProduct))
                 .as(transactionalOperator::transactional)
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.INTERNAL_SERVER_ERROR));
     }
 
-//    public Mono<ProductDetailResDto> findProductDetail(String productId, Authentication authentication) {
-//        return redisCacheManager.getOrFetch(
-//                "product:" + productId,
-//                ProductDetailResDto.class,
-//                productRepository.findById(productId)
-//                        .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.PRODUCT_NOT_FOUND)))
-//                        .flatMap(product ->
-//                                Mono.zip(Mono.just(product),
-//                                        imageService.findProductImageByIdWithCache(productId),
-//                                        userService.findUserById(product.getUserId())
-//                                )
-//                        )
-//                        .map(TupleUtils.function((product, image, user) -> new ProductDetailResDto(
-//                                product.getId(),
-//                                product.getTitle(),
-//                                product.getPrice(),
-//                                product.getDescription(),
-//                                user.getNickname(),
-//                                image.getImagePath(),
-//                                product.getUserId(),
-//                                AuthUtils.getAuthenticationUser(authentication).getId()))
-//                        ),
-//                Duration.ofHours(1)
-//        );
-//    }
-
     public Mono<ProductDetailResDto> findProductDetail(String productId, Authentication authentication) {
-        Mono<Product> productMono = productRepository.findById(productId)
-                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.PRODUCT_NOT_FOUND))); // 상품을 찾을 수 없음
+        return findCachedProductDetail(productId)
+                .map(detail -> detail.withBuyerId(AuthUtils.getAuthenticationUser(authentication).getId())); // 요청자 정보는 캐시 이후에 합침
+    }
 
-        Mono<Image> imageMono = imageService.findProductImageById(productId)
-                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND))); // 이미지가 없음
+    // 요청자와 무관한 상세 정보를 product:{id}:v{n} 키로 캐싱
+    // 수정, 삭제시 버전만 올리므로 이전 버전 캐시는 TTL로 자연스럽게 만료됨
+    private Mono<ProductDetailResDto> findCachedProductDetail(String productId) {
+        return redisCacheManager.getValue(productVersionKey(productId), Number.class)
+                .map(version -> version.longValue())
+                .defaultIfEmpty(0L)
+                .flatMap(version -> redisCacheManager.getOrFetch( // 동시 캐시 미스는 getOrFetch 내부에서 하나의 조회로 합쳐짐
+                        "product:" + productId + ":v" + version,
+                        ProductDetailResDto.class,
+                        loadProductDetail(productId),
+                        PRODUCT_DETAIL_TTL));
+    }
 
-        return Mono.zip(productMono, imageMono)
-                .flatMap(tuple -> {
-                    Product product = tuple.getT1();
-                    Image image = tuple.getT2();
+    private Mono<ProductDetailResDto> loadProductDetail(String productId) {
+        return productRepository.findProductDetail(productId) // 상품, 이미지, 판매자를 $lookup으로 한 번에 조회
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.PRODUCT_NOT_FOUND))) // 상품을 찾을 수 없음
+                .filter(detail -> detail.imagePath() != null)
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND))) // 이미지가 없음
+                .filter(detail -> detail.nickname() != null)
+                .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.USER_NOT_FOUND))); // 판매자가 없음
+    }
 
-                    return userService.findUserById(product.getUserId())
-                            .map(user -> new ProductDetailResDto(
-                                    product.getId(),
-                                    product.getTitle(),
-                                    product.getPrice(),
-                                    product.getDescription(),
-                                    user.getNickname(),
-                                    image.getImagePath(),
-                                    product.getUserId(),
-                                    AuthUtils.getAuthenticationUser(authentication).getId()));
-                });
+    // 썸네일 워커도 생성이 끝나면 이 키를 올려 상세 캐시를 무효화
+    public static String productVersionKey(String productId) {
+        return "product:" + productId + ":version";
     }
 
     public Mono<ProductUpdateResDto> findProductForUpdateForm(String productId) {
@@ -140,29 +139,61 @@ public class ProductServiceImpl implements ProductService {
                 ));
     }
 
-    public Flux<ProductListResDto> findProductList() {
-        return productRepository.findProductList(Sort.by(Sort.Direction.DESC, "createdAt"))
-                .concatMap(product -> imageService.findProductImageById(product.getId()) // 순차적 처리를 보장하기 위한 concatMap
-                        .map(image -> new ProductListResDto(
-                                product.getId(),
-                                product.getTitle(),
-                                product.getPrice(),
-                                image.getThumbnailPath()
-                        )));
+    public Mono<ProductPageResDto> findProductList(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, pageSize + 1); // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+
+        Flux<Product> products = Flux.defer(() -> Optional.ofNullable(cursor) // 잘못된 커서 예외를 에러 시그널로 전달하기 위해 defer
+                .filter(token -> !token.isBlank())
+                .map(token -> CursorUtils.decode(token))
+                .map(decoded -> productRepository.findProductListAfter(decoded.createdAt(), decoded.id(), pageable))
+                .orElseGet(() -> productRepository.findProductList(pageable)));
+
+        return products.collectList()
+                .flatMap(fetched -> {
+                    boolean hasNext = fetched.size() > pageSize;
+                    List<Product> page = hasNext ? fetched.subList(0, pageSize) : fetched;
+                    String nextCursor = hasNext
+                            ? CursorUtils.encode(page.get(pageSize - 1).getCreatedAt(), page.get(pageSize - 1).getId())
+                            : null;
+
+                    return enrichWithThumbnail(
+                            Flux.fromIterable(page),
+                            (product, image) -> new ProductListResDto(
+                                    product.getId(),
+                                    product.getTitle(),
+                                    product.getPrice(),
+                                    image.getThumbnailPath(),
+                                    ImageUtils.buildSrcset(image.getVariants())
+                            ))
+                            .collectList()
+                            .map(productList -> new ProductPageResDto(productList, nextCursor));
+                });
     }
 
     public Flux<MyProductListResDto> findMyProductList(Authentication authentication) {
-        return productRepository.findMyProductList(AuthUtils.getAuthenticationUser(authentication).getId(), Sort.by(Sort.Direction.DESC, "createdAt"))
-                .concatMap(product -> imageService.findProductImageById(product.getId()) // 순차적 처리를 보장하기 위한 concatMap
-                        .map(image -> new MyProductListResDto(
-                                product.getId(),
-                                product.getTitle(),
-                                product.getDescription(),
-                                product.getPrice(),
-                                product.getStatus(),
-                                DateTimeUtils.format(product.getCreatedAt()),
-                                image.getThumbnailPath()
-                        )));
+        return enrichWithThumbnail(
+                productRepository.findMyProductList(AuthUtils.getAuthenticationUser(authentication).getId(), Sort.by(Sort.Direction.DESC, "createdAt")),
+                (product, image) -> new MyProductListResDto(
+                        product.getId(),
+                        product.getTitle(),
+                        product.getDescription(),
+                        product.getPrice(),
+                        product.getStatus(),
+                        DateTimeUtils.format(product.getCreatedAt()),
+                        image.getThumbnailPath()
+                ));
+    }
+
+    // 상품 스트림을 THUMBNAIL_BATCH_SIZE 단위로 묶어 이미지를 $in 쿼리 한 번으로 조회한 뒤 원래 정렬 순서대로 다시 방출
+    private <T> Flux<T> enrichWithThumbnail(Flux<Product> products, BiFunction<Product, Image, T> mapper) {
+        return products
+                .buffer(THUMBNAIL_BATCH_SIZE)
+                .concatMap(batch -> imageService.findProductImagesByIds(batch.stream().map(product -> product.getId()).toList())
+                        .flatMapMany(imageMap -> Flux.fromIterable(batch) // 배치 내부 순서는 조회된 상품 순서를 그대로 따름
+                                .concatMap(product -> Mono.justOrEmpty(imageMap.get(product.getId()))
+                                        .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.IMAGE_NOT_FOUND)))
+                                        .map(image -> mapper.apply(product, image)))));
     }
 
     public Mono<Product> findProductById(String productId) {
@@ -181,12 +212,10 @@ public class ProductServiceImpl implements ProductService {
                         )
                 )
                 .then(Mono.justOrEmpty(image)
-                        .flatMap(img -> imageService.deleteProductImageById(productUpdateReqDto.id())
-                                .then(imageService.uploadImage(img, productUpdateReqDto.id(), productUpdateReqDto.imageSource()))
-                        )
+                        .flatMap(img -> imageService.replaceProductImage(img, productUpdateReqDto.id(), productUpdateReqDto.imageSource()))
                 )
                 .as(transactionalOperator::transactional)
-                .then(Mono.defer(() -> redisCacheManager.deleteValue("product:" + productUpdateReqDto.id())))
+                .then(Mono.defer(() -> redisCacheManager.increment(productVersionKey(productUpdateReqDto.id())))) // 캐시 버전을 올려 이전 캐시 무효화
                 .then()
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.INTERNAL_SERVER_ERROR));
@@ -198,7 +227,7 @@ public class ProductServiceImpl implements ProductService {
                 .flatMap(product -> productRepository.deleteById(product.getId()).thenReturn(product))
                 .flatMap(product -> imageService.deleteProductImageById(product.getId()))
                 .as(transactionalOperator::transactional)
-                .then(Mono.defer(() ->redisCacheManager.deleteValue("product:" + productDeleteReqDto.id())))
+                .then(Mono.defer(() -> redisCacheManager.increment(productVersionKey(productDeleteReqDto.id()))))
                 .then()
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.INTERNAL_SERVER_ERROR));
@@ -9,6 +9,9 @@ import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface UserService {
 
     // 사용자 저장
@@ -20,6 +23,9 @@ public interface UserService {
     // 사용자 ID로 사용자 조회
     Mono<User> findUserById(String userId);
 
+    // 여러 사용자 ID로 한 번에 조회, 사용자 ID별 사용자 맵 반환 (없는 사용자는 제외)
+    Mono<Map<String, User>> findUsersByIds(Collection<String> userIds);
+
     // 인증 객체를 통해 사용자 프로필 정보 찾기
     Mono<UserProfileResDto> findUserProfile(Authentication authentication);
 
@@ -8,8 +8,11 @@ import com.hansung.reactive_marketplace.dto.response.UserProfileResDto;
 import com.hansung.reactive_marketplace.exception.ApiException;
 import com.hansung.reactive_marketplace.exception.ExceptionMessage;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ProductRepository;
 import com.hansung.reactive_marketplace.repository.UserRepository;
 import com.hansung.reactive_marketplace.util.AuthUtils;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -18,17 +21,27 @@ import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final String USER_CACHE_KEY_PREFIX = "user:";
+
     private final UserRepository userRepository;
 
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
     private final ImageService imageService;
 
+    private final ChatRoomRepository chatRoomRepository;
+
+    private final ProductRepository productRepository;
+
     private final RedisCacheManager redisCacheManager;
 
     private final TransactionalOperator transactionalOperator;
@@ -36,11 +49,15 @@ public class UserServiceImpl implements UserService {
     public UserServiceImpl(UserRepository userRepository,
                            BCryptPasswordEncoder bCryptPasswordEncoder,
                            ImageService imageService,
+                           ChatRoomRepository chatRoomRepository,
+                           ProductRepository productRepository,
                            RedisCacheManager redisCacheManager,
                            TransactionalOperator transactionalOperator) {
         this.userRepository = userRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.imageService = imageService;
+        this.chatRoomRepository = chatRoomRepository;
+        this.productRepository = productRepository;
         this.redisCacheManager = redisCacheManager;
         this.transactionalOperator = transactionalOperator;
     }
@@ -74,7 +91,7 @@ public class UserServiceImpl implements UserService {
 
     public Mono<User> findUserById(String userId) {
         return redisCacheManager.getOrFetch(
-                "user:" + userId,
+                userCacheKey(userId),
                 User.class,
                 userRepository.findById(userId)
                         .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.USER_NOT_FOUND))),
@@ -82,6 +99,27 @@ public class UserServiceImpl implements UserService {
         );
     }
 
+    // 캐시 MGET 한 번, 미스는 $in 조회 한 번으로 가져와 파이프라인으로 다시 캐싱
+    public Mono<Map<String, User>> findUsersByIds(Collection<String> userIds) {
+        return redisCacheManager.getOrFetchAll(
+                        userIds.stream()
+                                .map(userId -> userCacheKey(userId))
+                                .toList(),
+                        User.class,
+                        missedKeys -> userRepository.findAllById(missedKeys.stream()
+                                .map(key -> key.substring(USER_CACHE_KEY_PREFIX.length()))
+                                .toList()),
+                        user -> userCacheKey(user.getId()),
+                        Duration.ofHours(1)
+                )
+                .map(users -> users.values().stream()
+                        .collect(Collectors.toMap(user -> user.getId(), user -> user)));
+    }
+
+    private String userCacheKey(String userId) {
+        return USER_CACHE_KEY_PREFIX + userId;
+    }
+
     public Mono<UserProfileResDto> findUserProfile(Authentication authentication) {
         return imageService.findProfileImageByIdWithCache(AuthUtils.getAuthenticationUser(authentication).getId())
                 .flatMap(image -> findUserById(AuthUtils.getAuthenticationUser(authentication).getId())
@@ -96,32 +134,53 @@ public class UserServiceImpl implements UserService {
     }
 
     public Mono<Void> updateUser(UserUpdateReqDto userUpdateReqDto, FilePart image) {
-        return userRepository.findById(userUpdateReqDto.id())
-                .flatMap(user -> userRepository.updateUser(
-                                userUpdateReqDto.id(),
-                                userUpdateReqDto.nickname(),
-                                Optional.ofNullable(userUpdateReqDto.password())
-                                        .filter(pwd -> !pwd.isEmpty())
-                                        .map(pwd -> bCryptPasswordEncoder.encode(pwd))
-                                        .orElse(user.getPassword()),
-                                userUpdateReqDto.email()
-                        )
-                )
-                .then(Mono.justOrEmpty(image)
-                        .flatMap(img -> imageService.findProfileImageById(userUpdateReqDto.id())
-                                .filter(findImg -> !findImg.getImagePath().equals("/img/profile.png"))
-                                .switchIfEmpty(Mono.defer(() -> imageService.uploadImage(img, userUpdateReqDto.id(), userUpdateReqDto.imageSource())))
-                                .flatMap(existingImage -> imageService.deleteProfileImageById(userUpdateReqDto.id()))
-                                .then(imageService.uploadImage(img, userUpdateReqDto.id(), userUpdateReqDto.imageSource()))
-                        )
-                )
-                .as(transactionalOperator::transactional)
-                .then(Mono.defer(() ->redisCacheManager.deleteValue("user:" + userUpdateReqDto.id())))
+        return Mono.defer(() -> {
+            AtomicBoolean nicknameChanged = new AtomicBoolean(false);
+
+            return userRepository.findById(userUpdateReqDto.id())
+                    .flatMap(user -> userRepository.updateUser(
+                                    userUpdateReqDto.id(),
+                                    userUpdateReqDto.nickname(),
+                                    Optional.ofNullable(userUpdateReqDto.password())
+                                            .filter(pwd -> !pwd.isEmpty())
+                                            .map(pwd -> bCryptPasswordEncoder.encode(pwd))
+                                            .orElse(user.getPassword()),
+                                    userUpdateReqDto.email()
+                            )
+                            .then(Mono.defer(() -> {
+                                if (user.getNickname().equals(userUpdateReqDto.nickname())) {
+                                    return Mono.<Void>empty();
+                                }
+                                nicknameChanged.set(true);
+                                return chatRoomRepository.updateNickname(userUpdateReqDto.id(), userUpdateReqDto.nickname()); // 채팅방 목록에 저장된 닉네임도 변경
+                            }))
+                    )
+                    .then(Mono.justOrEmpty(image)
+                            .flatMap(img -> imageService.findProfileImageById(userUpdateReqDto.id())
+                                    .filter(findImg -> !findImg.getImagePath().equals("/img/profile.png"))
+                                    .switchIfEmpty(Mono.defer(() -> imageService.uploadImage(img, userUpdateReqDto.id(), userUpdateReqDto.imageSource())))
+                                    .flatMap(existingImage -> imageService.deleteProfileImageById(userUpdateReqDto.id()))
+                                    .then(imageService.uploadImage(img, userUpdateReqDto.id(), userUpdateReqDto.imageSource()))
+                            )
+                    )
+                    .as(transactionalOperator::transactional)
+                    .then(Mono.defer(() ->redisCacheManager.deleteValue(userCacheKey(userUpdateReqDto.id()))))
+                    .then(Mono.defer(() -> nicknameChanged.get()
+                            ? evictSellerProductDetails(userUpdateReqDto.id())
+                            : Mono.<Void>empty()));
+        })
                 .then()
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.INTERNAL_SERVER_ERROR));
     }
 
+    // 상품 상세 캐시에 판매자 닉네임이 들어 있으므로 판매자 상품의 캐시 버전을 올려 무효화
+    private Mono<Void> evictSellerProductDetails(String userId) {
+        return productRepository.findMyProductList(userId, Sort.unsorted())
+                .flatMap(product -> redisCacheManager.increment(ProductServiceImpl.productVersionKey(product.getId())))
+                .then();
+    }
+
     public Mono<Void> deleteUser(UserDeleteReqDto userDeleteReqDto) {
         return userRepository.findById(userDeleteReqDto.id())
                 .switchIfEmpty(Mono.error(new ApiException(ExceptionMessage.USER_NOT_FOUND)))
@@ -132,7 +191,7 @@ public class UserServiceImpl implements UserService {
                         .thenReturn(user)
                 )
                 .as(transactionalOperator::transactional)
-                .then(Mono.defer(() ->redisCacheManager.deleteValue("user:" + userDeleteReqDto.id())))
+                .then(Mono.defer(() ->redisCacheManager.deleteValue(userCacheKey(userDeleteReqDto.id()))))
                 .then()
                 .onErrorMap(e -> !(e instanceof ApiException),
                         e -> new ApiException(ExceptionMessage.INTERNAL_SERVER_ERROR));
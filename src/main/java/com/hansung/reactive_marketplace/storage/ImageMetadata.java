@@ -0,0 +1,7 @@
+package com.hansung.reactive_marketplace.storage;
+
+import java.time.Instant;
+
+public record ImageMetadata(
+        long contentLength,
+        Instant lastModified) {}
@@ -0,0 +1,45 @@
+package com.hansung.reactive_marketplace.storage;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// 요청 경로를 이미지 경로로 바꾸고 검사하는 메소드, 로컬과 S3 저장소가 같은 규칙을 사용
+public class ImagePaths {
+
+    // 퍼센트 인코딩된 요청 경로를 세그먼트별로 디코딩, 잘못된 인코딩이나 안전하지 않은 경로면 empty
+    public static Optional<String> decode(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/", -1)) {
+            String decoded;
+            try {
+                decoded = UriUtils.decode(segment, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            // 인코딩된 '/'(%2F)로 세그먼트를 나누지 못하도록 거절
+            if (decoded.indexOf('/') >= 0 || !isSafeSegment(decoded)) {
+                return Optional.empty();
+            }
+            segments.add(decoded);
+        }
+        return Optional.of(String.join("/", segments));
+    }
+
+    // '.', '..' 세그먼트나 역슬래시, NUL 문자가 없는 경로만 허용
+    public static boolean isSafe(String path) {
+        return Arrays.stream(path.split("/", -1))
+                .allMatch(segment -> isSafeSegment(segment));
+    }
+
+    private static boolean isSafeSegment(String segment) {
+        return !segment.equals(".")
+                && !segment.equals("..")
+                && segment.indexOf('\\') < 0
+                && segment.indexOf('\0') < 0;
+    }
+}
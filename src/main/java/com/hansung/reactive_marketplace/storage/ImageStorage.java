@@ -0,0 +1,35 @@
+package com.hansung.reactive_marketplace.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+// 이미지 파일 저장소, 경로는 '/image/product/original/uuid_name.jpg' 같은 이미지 경로를 그대로 키로 사용
+public interface ImageStorage {
+
+    // 업로드 스트림을 메모리에 모으지 않고 그대로 저장
+    Mono<Void> write(String path, Flux<DataBuffer> content);
+
+    Flux<DataBuffer> read(String path);
+
+    // Range 요청용으로 position부터 count 바이트만 읽음
+    Flux<DataBuffer> read(String path, long position, long count);
+
+    // 파일 크기와 수정 시각, 없으면 empty
+    Mono<ImageMetadata> stat(String path);
+
+    // 없는 파일이면 아무것도 하지 않음
+    Mono<Void> delete(String path);
+
+    // 리사이징 라이브러리는 파일 경로가 필요하므로 로컬 파일로 가져옴, 로컬 저장소는 복사하지 않고 실제 경로 반환
+    Mono<Path> toLocalFile(String path, Path workDir);
+
+    // 작업 디렉토리에서 만든 파일을 저장소로 옮김
+    Mono<Void> store(Path localFile, String path);
+
+    // 로컬 디스크에 있는 저장소만 실제 경로 반환, zero-copy 전송에 사용
+    Optional<Path> localPath(String path);
+}
@@ -0,0 +1,112 @@
+package com.hansung.reactive_marketplace.storage;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+// 단일 서버 디스크에 저장, 읽기와 쓰기는 AsynchronousFileChannel을 사용하고 나머지 파일 작업은 boundedElastic에서 실행
+@Component
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalImageStorage implements ImageStorage {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final String basePath;
+
+    private final Path baseDir;
+
+    public LocalImageStorage(@Value("${image.os.basePath}") String basePath) {
+        this.basePath = basePath;
+        this.baseDir = Paths.get(basePath).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Mono<Void> write(String path, Flux<DataBuffer> content) {
+        Path file = resolve(path);
+        return Mono.fromCallable(() -> Files.createDirectories(file.getParent()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(DataBufferUtils.write(content, file, // 쓰기가 끝난 버퍼는 바로 release
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String path) {
+        return DataBufferUtils.read(resolve(path), DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String path, long position, long count) {
+        Flux<DataBuffer> content = DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(resolve(path), StandardOpenOption.READ),
+                position, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+        return DataBufferUtils.takeUntilByteCount(content, count);
+    }
+
+    @Override
+    public Mono<ImageMetadata> stat(String path) {
+        return Mono.fromCallable(() -> {
+                    BasicFileAttributes attributes = Files.readAttributes(resolve(path), BasicFileAttributes.class);
+                    return new ImageMetadata(attributes.size(), attributes.lastModifiedTime().toInstant());
+                })
+                .onErrorResume(NoSuchFileException.class, e -> Mono.empty())
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> delete(String path) {
+        return Mono.fromCallable(() -> Files.deleteIfExists(resolve(path)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Mono<Path> toLocalFile(String path, Path workDir) {
+        return Mono.just(resolve(path));
+    }
+
+    @Override
+    public Mono<Void> store(Path localFile, String path) {
+        Path file = resolve(path);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(file.getParent());
+                    return Files.move(localFile, file, StandardCopyOption.REPLACE_EXISTING);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Optional<Path> localPath(String path) {
+        return Optional.of(resolve(path));
+    }
+
+    // 기존 경로 규칙과 같이 basePath 뒤에 이미지 경로를 붙이고, basePath 밖을 가리키면 없는 이미지로 처리
+    public Path resolve(String path) {
+        if (!ImagePaths.isSafe(path)) {
+            throw new ApiException(ExceptionMessage.IMAGE_NOT_FOUND);
+        }
+        Path file = Paths.get(basePath + path).toAbsolutePath().normalize();
+        if (!file.startsWith(baseDir)) {
+            throw new ApiException(ExceptionMessage.IMAGE_NOT_FOUND);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,122 @@
+package com.hansung.reactive_marketplace.storage;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// S3 호환 저장소(S3, MinIO 등)에 저장해 여러 서버가 로컬 디스크를 공유하지 않아도 되도록 함
+@Component
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "s3")
+public class S3ImageStorage implements ImageStorage {
+
+    private final S3AsyncClient s3AsyncClient;
+
+    private final String bucket;
+
+    public S3ImageStorage(S3AsyncClient s3AsyncClient, @Value("${image.storage.s3.bucket}") String bucket) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+    }
+
+    // 길이를 모르는 스트림이므로 multipart 업로드로 나눠서 전송
+    @Override
+    public Mono<Void> write(String path, Flux<DataBuffer> content) {
+        Flux<ByteBuffer> body = content.map(dataBuffer -> {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            DataBufferUtils.release(dataBuffer);
+            return ByteBuffer.wrap(bytes);
+        });
+
+        return Mono.fromFuture(() -> s3AsyncClient.putObject(
+                        request -> request.bucket(bucket).key(key(path)),
+                        AsyncRequestBody.fromPublisher(body)))
+                .then();
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String path) {
+        return Mono.fromFuture(() -> s3AsyncClient.getObject(
+                        request -> request.bucket(bucket).key(key(path)),
+                        AsyncResponseTransformer.toPublisher()))
+                .flatMapMany(response -> Flux.from(response))
+                .map(byteBuffer -> DefaultDataBufferFactory.sharedInstance.wrap(byteBuffer));
+    }
+
+    @Override
+    public Flux<DataBuffer> read(String path, long position, long count) {
+        return Mono.fromFuture(() -> s3AsyncClient.getObject(
+                        request -> request.bucket(bucket).key(key(path))
+                                .range("bytes=" + position + "-" + (position + count - 1)),
+                        AsyncResponseTransformer.toPublisher()))
+                .flatMapMany(response -> Flux.from(response))
+                .map(byteBuffer -> DefaultDataBufferFactory.sharedInstance.wrap(byteBuffer));
+    }
+
+    @Override
+    public Mono<ImageMetadata> stat(String path) {
+        return Mono.fromFuture(() -> s3AsyncClient.headObject(request -> request.bucket(bucket).key(key(path))))
+                .map(response -> new ImageMetadata(response.contentLength(), response.lastModified()))
+                .onErrorResume(e -> isNotFound(e), e -> Mono.empty());
+    }
+
+    // S3의 삭제는 없는 키여도 성공하므로 그대로 호출
+    @Override
+    public Mono<Void> delete(String path) {
+        return Mono.fromFuture(() -> s3AsyncClient.deleteObject(request -> request.bucket(bucket).key(key(path))))
+                .then();
+    }
+
+    @Override
+    public Mono<Path> toLocalFile(String path, Path workDir) {
+        Path localFile = workDir.resolve(Path.of(path).getFileName().toString());
+        return Mono.fromFuture(() -> s3AsyncClient.getObject(
+                        request -> request.bucket(bucket).key(key(path)),
+                        AsyncResponseTransformer.toFile(localFile)))
+                .thenReturn(localFile);
+    }
+
+    @Override
+    public Mono<Void> store(Path localFile, String path) {
+        return Mono.fromFuture(() -> s3AsyncClient.putObject(
+                        request -> request.bucket(bucket).key(key(path)),
+                        AsyncRequestBody.fromFile(localFile)))
+                .then();
+    }
+
+    // 원격 객체는 zero-copy로 보낼 수 없으므로 스트림으로 응답
+    @Override
+    public Optional<Path> localPath(String path) {
+        return Optional.empty();
+    }
+
+    // 객체 키는 앞의 '/'를 제외한 경로, 로컬 저장소와 같은 규칙으로 '..' 같은 세그먼트가 있으면 없는 이미지로 처리
+    private String key(String path) {
+        if (!ImagePaths.isSafe(path)) {
+            throw new ApiException(ExceptionMessage.IMAGE_NOT_FOUND);
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private boolean isNotFound(Throwable e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e; // CompletableFuture 예외는 CompletionException으로 감싸짐
+        return cause instanceof NoSuchKeyException
+                || (cause instanceof S3Exception s3Exception && s3Exception.statusCode() == 404);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hansung.reactive_marketplace.util;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+
+// 커서 기반 페이지네이션의 (createdAt, _id) 키를 불투명한 토큰으로 변환하는 유틸리티 클래스
+public class CursorUtils {
+
+    private static final String DELIMITER = ":";
+
+    // 'epochMillis:id' 형식을 url-safe base64로 인코딩
+    // LocalDateTime은 spring data mongodb와 동일하게 시스템 기본 타임존 기준으로 Date 변환
+    public static String encode(LocalDateTime createdAt, String id) {
+        long epochMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String raw = epochMillis + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(DELIMITER, 2);
+            return new Cursor(new Date(Long.parseLong(parts[0])), new ObjectId(parts[1]));
+        } catch (RuntimeException e) { // 형식이 맞지 않는 토큰은 모두 잘못된 요청으로 처리
+            throw new ApiException(ExceptionMessage.INVALID_CURSOR);
+        }
+    }
+
+    public record Cursor(
+            Date createdAt,
+            ObjectId id) {}
+}
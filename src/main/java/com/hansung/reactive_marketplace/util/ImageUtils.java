@@ -1,6 +1,11 @@
 package com.hansung.reactive_marketplace.util;
 
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 // 이미지 이름과 관련된 메소드를 모아놓은 유틸리티 클래스
 public class ImageUtils {
@@ -14,4 +19,29 @@ public class ImageUtils {
     public static String generateImagePath(String uploadPath, String fileName) {
         return uploadPath + "/" + fileName;
     }
+
+    // 'a/uuid_name.jpg' -> 'a/uuid_name_w300.jpg' 형식으로 너비별 이미지 경로 생성
+    public static String generateVariantPath(String imagePath, int width) {
+        int extensionIndex = imagePath.lastIndexOf('.');
+        if (extensionIndex <= imagePath.lastIndexOf('/')) { // 확장자가 없는 경우
+            return imagePath + "_w" + width;
+        }
+        return imagePath.substring(0, extensionIndex) + "_w" + width + imagePath.substring(extensionIndex);
+    }
+
+    // 'a/uuid_name.jpg' -> 'a/uuid_name.jpg.webp' 형식으로 같은 이미지의 WebP 경로 생성
+    public static String generateWebpPath(String imagePath) {
+        return imagePath + ".webp";
+    }
+
+    // 'path 300w, path 800w' 형식의 srcset 문자열 생성, 너비별 이미지가 없으면 null
+    public static String buildSrcset(List<ImageVariant> variants) {
+        if (variants == null || variants.isEmpty()) {
+            return null;
+        }
+        return variants.stream()
+                .sorted(Comparator.comparingInt(variant -> variant.getWidth()))
+                .map(variant -> variant.getPath() + " " + variant.getWidth() + "w")
+                .collect(Collectors.joining(", "));
+    }
 }
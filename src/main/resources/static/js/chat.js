@@ -1,9 +1,61 @@
+let chatSocket; // 열려있으면 WebSocket으로, 아니면 HTTP로 메시지 전송
+
+const RECONNECT_MAX_DELAY = 30000;
+const shownMessageIds = new Set(); // 다시 연결하면 이전 메시지부터 다시 받으므로 이미 표시한 메시지는 건너뜀
+
 document.addEventListener("DOMContentLoaded", function() {
     const roomId = document.getElementById("roomId").value;
-    const senderId = document.getElementById("senderId").value;
 
-//    const eventSource = new EventSource(`http://hansung1908.site:8081/chat/${roomId}`);
-    const eventSource = new EventSource(`http://localhost:8081/chat/${roomId}`);
+    if (!("WebSocket" in window)) {
+        connectEventSource(roomId);
+        return;
+    }
+
+    connectWebSocket(roomId, 0);
+});
+
+// WebSocket 하나로 메시지를 주고받음, 인증과 채팅방 확인은 연결할 때 한 번만 처리
+function connectWebSocket(roomId, attempt) {
+    const protocol = window.location.protocol === "https:" ? "wss" : "ws";
+    const socket = new WebSocket(`${protocol}://${window.location.host}/ws/chat?roomId=${encodeURIComponent(roomId)}`);
+    socket.binaryType = "arraybuffer";
+    let opened = false;
+
+    socket.onopen = () => {
+        opened = true;
+        attempt = 0;
+        chatSocket = socket;
+    };
+
+    socket.onmessage = (event) => {
+        const frame = decodeFrame(event.data);
+        if (frame.type === FRAME_ERROR) {
+            alert(`메시지 전송 실패: ${frame.message}`);
+        } else if (frame.mine) { // 로그인한 유저가 보내는 메세지
+            // 파란박스 (오른쪽)
+            initMyMessage(frame);
+        } else {
+            // 회색박스 (왼쪽)
+            initYourMessage(frame);
+        }
+    };
+
+    socket.onclose = () => {
+        chatSocket = null;
+        if (!opened && attempt === 0) { // 처음부터 WebSocket 연결이 막힌 환경에서는 기존 SSE + HTTP 방식 사용
+            connectEventSource(roomId);
+            return;
+        }
+        // 서버 재시작, 네트워크 끊김 등으로 닫히면 간격을 늘려가며 다시 연결, 그 사이 전송은 HTTP로 처리
+        const delay = Math.min(1000 * 2 ** attempt, RECONNECT_MAX_DELAY);
+        setTimeout(() => connectWebSocket(roomId, attempt + 1), delay);
+    };
+}
+
+// 기존 방식, SSE로 메시지를 받고 HTTP POST로 전송
+function connectEventSource(roomId) {
+    const senderId = document.getElementById("senderId").value;
+    const eventSource = new EventSource(`/chat/${roomId}`);
 
     eventSource.onmessage = (event) => {
 
@@ -16,7 +68,39 @@ document.addEventListener("DOMContentLoaded", function() {
             initYourMessage(data);
         }
     }
-});
+}
+
+const FRAME_MESSAGE = 1;
+const FRAME_ERROR = 2;
+const FLAG_MINE = 1;
+const textDecoder = new TextDecoder();
+const textEncoder = new TextEncoder();
+
+// 서버 바이너리 프레임 해석 (ChatFrameCodec 참고)
+// 메시지: [type 1][flags 1][id 길이 2][id][작성 시각 길이 2][작성 시각][메시지], 에러: [type 2][에러 메시지]
+function decodeFrame(buffer) {
+    const bytes = new Uint8Array(buffer);
+    const view = new DataView(buffer);
+    if (bytes[0] === FRAME_ERROR) {
+        return { type: FRAME_ERROR, message: textDecoder.decode(bytes.subarray(1)) };
+    }
+
+    let offset = 2;
+    const idLength = view.getUint16(offset);
+    const id = textDecoder.decode(bytes.subarray(offset + 2, offset + 2 + idLength));
+    offset += 2 + idLength;
+    const createdAtLength = view.getUint16(offset);
+    const createdAt = textDecoder.decode(bytes.subarray(offset + 2, offset + 2 + createdAtLength));
+    offset += 2 + createdAtLength;
+
+    return {
+        type: FRAME_MESSAGE,
+        mine: (bytes[1] & FLAG_MINE) !== 0,
+        id: id,
+        createdAt: createdAt,
+        msg: textDecoder.decode(bytes.subarray(offset))
+    };
+}
 
 // 파란박스 만들기
 function getSendMsgBox(data) {
@@ -38,6 +122,9 @@ function getReceiveMsgBox(data) {
 // addMessage() 함수 호출시 db에 insert 되고, 그 데이터가 자동으로 흘러들어옴 (SSE)
 // 파란박스 초기화
 function initMyMessage(data) {
+    if (isShown(data)) {
+        return;
+    }
     let chatBox = document.querySelector("#chat-box");
     let sendBox = document.createElement("div");
 
@@ -51,6 +138,9 @@ function initMyMessage(data) {
 
 // 회색박스 초기화
 function initYourMessage(data) {
+    if (isShown(data)) {
+        return;
+    }
     let chatBox = document.querySelector("#chat-box");
     let receivedBox = document.createElement("div");
 
@@ -62,10 +152,24 @@ function initYourMessage(data) {
     document.documentElement.scrollTop = document.body.scrollHeight;
 }
 
+function isShown(data) {
+    if (shownMessageIds.has(data.id)) {
+        return true;
+    }
+    shownMessageIds.add(data.id);
+    return false;
+}
+
 // 채팅 메세지 전송
 async function addMessage() {
     try {
         const msgInput = document.querySelector("#chat-outgoing-msg");
+        if (chatSocket && chatSocket.readyState === WebSocket.OPEN) { // 메시지 본문만 바이너리로 전송
+            chatSocket.send(textEncoder.encode(msgInput.value));
+            msgInput.value = ""; // 입력 필드를 비움
+            return;
+        }
+
         const data = {
             msg: msgInput.value,
             senderId: document.querySelector("#senderId").value,
@@ -1,26 +1,36 @@
 document.addEventListener('DOMContentLoaded', () => {
     const isLoggedIn = localStorage.getItem('isLoggedIn');
     const currentPath = window.location.pathname;
+    const lastEventIdKey = 'chatNotificationLastEventId';
     let eventSource;
 
+    // 채팅방 페이지에서는 메시지를 직접 보고 있으므로 알림을 받지 않고, 이후 페이지에서 지난 알림도 다시 받지 않음
+    if (currentPath === '/chat/chatRoom') {
+        sessionStorage.removeItem(lastEventIdKey);
+        return;
+    }
+
     if (isLoggedIn) {
-        eventSource = new EventSource('/chat/notifications');
+        // 페이지 이동 사이에 도착한 알림을 이어서 받도록 마지막으로 받은 알림 id를 전달
+        const lastEventId = sessionStorage.getItem(lastEventIdKey);
+        const url = lastEventId
+            ? `/chat/notifications?lastEventId=${encodeURIComponent(lastEventId)}`
+            : '/chat/notifications';
+        eventSource = new EventSource(url);
 
         eventSource.addEventListener('chat-message', (event) => {
+            if (event.lastEventId) {
+                sessionStorage.setItem(lastEventIdKey, event.lastEventId);
+            }
             alert(`New message : ${event.data}`);
         });
 
+        // 연결이 끊기면 브라우저가 Last-Event-ID를 보내며 자동으로 재연결하므로 닫지 않음
         eventSource.onerror = (error) => {
-            console.error('SSE error:', error);
-            if (eventSource) {
-                eventSource.close();
+            if (eventSource.readyState === EventSource.CLOSED) {
+                console.error('SSE error:', error);
             }
         };
-
-        // 채팅방 페이지에서는 SSE 연결 종료
-        if (currentPath === '/chat/chatRoom' && eventSource) {
-            eventSource.close();
-        }
     }
 
     // 페이지 언로드 시 SSE 연결 정리
@@ -29,4 +39,4 @@ document.addEventListener('DOMContentLoaded', () => {
             eventSource.close();
         }
     });
-});
\ No newline at end of file
+});
@@ -13,4 +13,34 @@ function previewImage() {
     } else {
         previewImage.style.display = 'none';
     }
-}
\ No newline at end of file
+}
+
+// 여러 이미지 미리보기 표시, 클릭한 이미지를 대표 이미지로 선택
+function previewImages() {
+    const imageInput = document.getElementById('image');
+    const previews = document.getElementById('previews');
+    const coverIndex = document.getElementById('coverIndex');
+
+    previews.innerHTML = '';
+    coverIndex.value = 0;
+
+    Array.from(imageInput.files).forEach((file, index) => {
+        const preview = document.createElement('img');
+        preview.alt = '이미지 미리보기';
+        preview.style.cssText = 'width: 120px; height: 120px; object-fit: cover; cursor: pointer;';
+        preview.className = index === 0 ? 'border border-3 border-primary' : 'border';
+        preview.onclick = function () {
+            coverIndex.value = index;
+            previews.querySelectorAll('img').forEach((img, i) => {
+                img.className = i === index ? 'border border-3 border-primary' : 'border';
+            });
+        };
+
+        const reader = new FileReader();
+        reader.onload = function (e) {
+            preview.src = e.target.result;
+        }
+        reader.readAsDataURL(file);
+        previews.appendChild(preview);
+    });
+}
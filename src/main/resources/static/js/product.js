@@ -2,16 +2,17 @@ async function saveProduct() {
     try {
         const formData = new FormData();
 
-        const image = document.querySelector('input[type="file"]').files[0];
-        if (image) {
+        // 같은 image 이름으로 선택한 순서대로 전송
+        Array.from(document.querySelector('input[type="file"]').files).forEach(image => {
             formData.append("image", image);
-        }
+        });
 
         formData.append('product', JSON.stringify({
             title: document.querySelector('#title').value,
             description: document.querySelector('#description').value,
             price: document.querySelector('#price').value,
-            imageSource: document.querySelector('#imageSource').value
+            imageSource: document.querySelector('#imageSource').value,
+            coverIndex: document.querySelector('#coverIndex').value
         }));
 
         const response = await fetch("/product/save", {
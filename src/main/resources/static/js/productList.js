@@ -0,0 +1,72 @@
+// 홈 화면 무한 스크롤 : 화면 하단에 도달하면 다음 커서의 상품 목록을 가져와 이어 붙임
+document.addEventListener('DOMContentLoaded', () => {
+    const productList = document.getElementById('product-list');
+    const sentinel = document.getElementById('product-list-sentinel');
+    let nextCursor = productList.dataset.nextCursor;
+    let loading = false;
+
+    if (!nextCursor) {
+        return; // 다음 페이지가 없음
+    }
+
+    const observer = new IntersectionObserver(async (entries) => {
+        if (!entries[0].isIntersecting || loading || !nextCursor) {
+            return;
+        }
+
+        loading = true;
+        try {
+            const response = await fetch(`/product/list?cursor=${encodeURIComponent(nextCursor)}`);
+            if (!response.ok) {
+                const errorData = await response.json();
+                console.error(`상품 목록 조회 실패: ${errorData.message || '알 수 없는 오류가 발생했습니다.'}`);
+                return;
+            }
+
+            const page = await response.json();
+            page.productList.forEach(product => productList.append(createProductCard(product)));
+            nextCursor = page.nextCursor;
+
+            if (!nextCursor) {
+                observer.disconnect(); // 마지막 페이지
+            }
+        } catch (error) {
+            console.error('Error:', error);
+        } finally {
+            loading = false;
+        }
+    });
+
+    observer.observe(sentinel);
+});
+
+// index.html의 상품 카드와 동일한 구조로 생성
+function createProductCard(product) {
+    const col = document.createElement('div');
+    col.className = 'col mb-5';
+    col.innerHTML = `<div class="card h-100">
+                        <img class="card-img-top"/>
+                        <div class="card-body p-4">
+                            <div class="text-center">
+                                <h5 class="fw-bolder"></h5>
+                                <span></span>
+                            </div>
+                        </div>
+                        <div class="card-footer p-4 pt-0 border-top-0 bg-transparent">
+                            <div class="text-center">
+                                <a class="btn btn-outline-dark mt-auto">자세히 보기</a>
+                            </div>
+                        </div>
+                    </div>`;
+
+    const img = col.querySelector('img');
+    if (product.srcset) { // 너비별 이미지가 생성된 경우에만 srcset 지정
+        img.srcset = product.srcset;
+        img.sizes = '(min-width: 1200px) 25vw, (min-width: 768px) 33vw, 50vw';
+    }
+    img.src = product.thumbnailPath;
+    col.querySelector('h5').textContent = product.title;
+    col.querySelector('span').textContent = `${product.price} 원`;
+    col.querySelector('a').href = `/product/detail/${product.id}`;
+    return col;
+}
@@ -0,0 +1,80 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatFrameCodecTest {
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private Chat chat() {
+        Chat chat = new Chat.Builder()
+                .msg("안녕하세요 😀")
+                .senderId("seller")
+                .receiverId("buyer")
+                .roomId("room1")
+                .build();
+        ReflectionTestUtils.setField(chat, "id", "chat1");
+        ReflectionTestUtils.setField(chat, "createdAt", LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return chat;
+    }
+
+    private ByteBuffer toByteBuffer(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private String readShortString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testEncodeMessage_WhenSentByUser_ThenMarkAsMine() {
+        ByteBuffer frame = toByteBuffer(ChatFrameCodec.encodeMessage(bufferFactory, chat(), "seller"));
+
+        assertThat(frame.get()).isEqualTo(ChatFrameCodec.TYPE_MESSAGE);
+        assertThat(frame.get()).isEqualTo(ChatFrameCodec.FLAG_MINE);
+        assertThat(readShortString(frame)).isEqualTo("chat1");
+        assertThat(readShortString(frame)).isEqualTo("2024-01-02 03:04:05");
+        byte[] msg = new byte[frame.remaining()];
+        frame.get(msg);
+        assertThat(new String(msg, StandardCharsets.UTF_8)).isEqualTo("안녕하세요 😀");
+    }
+
+    @Test
+    void testEncodeMessage_WhenSentByOther_ThenNotMine() {
+        ByteBuffer frame = toByteBuffer(ChatFrameCodec.encodeMessage(bufferFactory, chat(), "buyer"));
+
+        assertThat(frame.get()).isEqualTo(ChatFrameCodec.TYPE_MESSAGE);
+        assertThat(frame.get()).isZero();
+    }
+
+    @Test
+    void testEncodeError() {
+        ByteBuffer frame = toByteBuffer(ChatFrameCodec.encodeError(bufferFactory, "실패"));
+
+        assertThat(frame.get()).isEqualTo(ChatFrameCodec.TYPE_ERROR);
+        byte[] message = new byte[frame.remaining()];
+        frame.get(message);
+        assertThat(new String(message, StandardCharsets.UTF_8)).isEqualTo("실패");
+    }
+
+    @Test
+    void testDecodeMessage() {
+        DataBuffer payload = bufferFactory.wrap("hello 😀".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ChatFrameCodec.decodeMessage(payload)).isEqualTo("hello 😀");
+    }
+}
@@ -0,0 +1,115 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatHubTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ChatHub chatHub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        chatHub = new ChatHub(meterRegistry, 4);
+    }
+
+    private Chat chat(String roomId, String msg) {
+        return new Chat.Builder()
+                .id(roomId + ":" + msg)
+                .roomId(roomId)
+                .senderId("user1")
+                .receiverId("user2")
+                .msg(msg)
+                .build();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void testPublish_WhenSubscribed_ThenDeliverToRoomSubscribersOnly() {
+        List<String> room1First = new ArrayList<>();
+        List<String> room1Second = new ArrayList<>();
+        List<String> room2 = new ArrayList<>();
+        Disposable first = chatHub.subscribe("room1").subscribe(chat -> room1First.add(chat.getMsg()));
+        Disposable second = chatHub.subscribe("room1").subscribe(chat -> room1Second.add(chat.getMsg()));
+        Disposable other = chatHub.subscribe("room2").subscribe(chat -> room2.add(chat.getMsg()));
+
+        chatHub.publish(chat("room1", "hello"));
+
+        assertThat(room1First).containsExactly("hello");
+        assertThat(room1Second).containsExactly("hello");
+        assertThat(room2).isEmpty();
+        assertThat(gauge("chat.hub.rooms")).isEqualTo(2);
+        assertThat(gauge("chat.hub.subscribers")).isEqualTo(3);
+
+        first.dispose();
+        second.dispose();
+        other.dispose();
+    }
+
+    @Test
+    void testSubscribe_WhenLastSubscriberLeaves_ThenRemoveRoom() {
+        Disposable first = chatHub.subscribe("room1").subscribe();
+        Disposable second = chatHub.subscribe("room1").subscribe();
+
+        first.dispose();
+        assertThat(gauge("chat.hub.rooms")).isEqualTo(1);
+
+        second.dispose();
+        assertThat(gauge("chat.hub.rooms")).isZero();
+
+        // 구독자가 없는 채팅방 메시지는 버려지고, 다시 구독하면 이후 메시지만 받음
+        chatHub.publish(chat("room1", "dropped"));
+        StepVerifier.create(chatHub.subscribe("room1"))
+                .then(() -> chatHub.publish(chat("room1", "hello")))
+                .expectNextMatches(chat -> chat.getMsg().equals("hello"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testPublish_WhenSameMessagePublishedTwice_ThenDeliverOnce() {
+        List<String> received = new ArrayList<>();
+        Disposable subscription = chatHub.subscribe("room1").subscribe(chat -> received.add(chat.getMsg()));
+
+        // write-behind로 바로 발행한 메시지가 저장 후 change stream으로 다시 들어오는 경우
+        chatHub.publish(chat("room1", "hello"));
+        chatHub.publish(chat("room1", "world"));
+        chatHub.publish(chat("room1", "hello"));
+
+        assertThat(received).containsExactly("hello", "world");
+        subscription.dispose();
+    }
+
+    @Test
+    void testSubscribe_WhenSubscriberIsSlow_ThenKeepLatestMessages() {
+        // 요청하지 않은 구독자는 버퍼 크기(4)만큼 최신 메시지만 유지
+        StepVerifier.create(chatHub.subscribe("room1"), 0)
+                .then(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        chatHub.publish(chat("room1", "msg" + i));
+                    }
+                })
+                .thenRequest(4)
+                .expectNextMatches(chat -> chat.getMsg().equals("msg6"))
+                .expectNextMatches(chat -> chat.getMsg().equals("msg7"))
+                .expectNextMatches(chat -> chat.getMsg().equals("msg8"))
+                .expectNextMatches(chat -> chat.getMsg().equals("msg9"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,236 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.domain.ChatRoom;
+import com.hansung.reactive_marketplace.domain.User;
+import com.hansung.reactive_marketplace.dto.request.ChatSaveReqDto;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.jwt.JwtToken;
+import com.hansung.reactive_marketplace.security.CustomUserDetail;
+import com.hansung.reactive_marketplace.service.ChatService;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatWebSocketHandlerTest {
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Mock
+    private ChatService chatService;
+
+    @Mock
+    private WebSocketSession session;
+
+    private ChatWebSocketHandler chatWebSocketHandler;
+
+    private JwtToken authentication;
+
+    private ChatRoom chatRoom;
+
+    private Chat chat;
+
+    private Sinks.Many<WebSocketMessage> inbound;
+
+    private List<WebSocketMessage> outbound;
+
+    @BeforeEach
+    void setUp() {
+        chatWebSocketHandler = new ChatWebSocketHandler(chatService, 16);
+
+        User buyer = new User.Builder()
+                .username("buyer")
+                .nickname("구매자")
+                .build();
+        ReflectionTestUtils.setField(buyer, "id", "buyer1");
+        authentication = new JwtToken("token", new CustomUserDetail(buyer));
+
+        chatRoom = new ChatRoom.Builder()
+                .productId("product1")
+                .sellerId("seller1")
+                .buyerId("buyer1")
+                .build();
+        ReflectionTestUtils.setField(chatRoom, "id", "room1");
+
+        chat = new Chat.Builder()
+                .msg("Hello")
+                .senderId("seller1")
+                .receiverId("buyer1")
+                .roomId("room1")
+                .build();
+        ReflectionTestUtils.setField(chat, "id", "chat1");
+        ReflectionTestUtils.setField(chat, "createdAt", LocalDateTime.now());
+
+        inbound = Sinks.many().unicast().onBackpressureBuffer();
+        outbound = new ArrayList<>();
+    }
+
+    private void givenHandshake(String uri) {
+        when(session.getHandshakeInfo())
+                .thenReturn(new HandshakeInfo(URI.create(uri), new HttpHeaders(), Mono.<Principal>just(authentication), null));
+    }
+
+    private void givenConnection() {
+        when(chatService.findChatRoomByMember("room1", "buyer1"))
+                .thenReturn(Mono.just(chatRoom));
+        when(chatService.findMsgByRoomId("room1"))
+                .thenReturn(Flux.just(chat));
+        when(session.receive())
+                .thenReturn(inbound.asFlux());
+        when(session.binaryMessage(any()))
+                .thenAnswer(invocation -> new WebSocketMessage(WebSocketMessage.Type.BINARY,
+                        invocation.<Function<DataBufferFactory, DataBuffer>>getArgument(0).apply(bufferFactory)));
+        when(session.send(any()))
+                .thenAnswer(invocation -> Flux.from(invocation.<Publisher<WebSocketMessage>>getArgument(0))
+                        .doOnNext(message -> outbound.add(message))
+                        .then());
+    }
+
+    private WebSocketMessage clientMessage(String msg) {
+        return new WebSocketMessage(WebSocketMessage.Type.BINARY, bufferFactory.wrap(msg.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private byte frameType(WebSocketMessage message) {
+        return message.getPayload().getByte(0);
+    }
+
+    @Test
+    void testHandle_WhenMemberSendsMessage_ThenSaveWithHandshakeUser() {
+        givenHandshake("ws://localhost/ws/chat?roomId=room1");
+        givenConnection();
+        when(chatService.saveMsg(new ChatSaveReqDto("Hi", "buyer1", "seller1", "room1")))
+                .thenReturn(Mono.just(chat));
+
+        // 보낸 사람, 받는 사람, 채팅방은 연결할 때 확인한 값으로 채움
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .then(() -> inbound.tryEmitNext(clientMessage("Hi")))
+                .then(() -> inbound.tryEmitComplete()) // 클라이언트 연결 종료
+                .verifyComplete();
+
+        verify(chatService).saveMsg(new ChatSaveReqDto("Hi", "buyer1", "seller1", "room1"));
+        assertThat(outbound).hasSize(1);
+        assertThat(frameType(outbound.get(0))).isEqualTo(ChatFrameCodec.TYPE_MESSAGE);
+    }
+
+    @Test
+    void testHandle_WhenSaveFails_ThenSendErrorFrameAndKeepConnection() {
+        givenHandshake("ws://localhost/ws/chat?roomId=room1");
+        givenConnection();
+        when(chatService.saveMsg(any(ChatSaveReqDto.class)))
+                .thenReturn(Mono.error(new ApiException(ExceptionMessage.CHAT_SAVE_FAILED)))
+                .thenReturn(Mono.just(chat));
+
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .then(() -> inbound.tryEmitNext(clientMessage("first")))
+                .then(() -> inbound.tryEmitNext(clientMessage("second")))
+                .then(() -> inbound.tryEmitComplete())
+                .verifyComplete();
+
+        assertThat(outbound).hasSize(2);
+        assertThat(frameType(outbound.get(1))).isEqualTo(ChatFrameCodec.TYPE_ERROR);
+        verify(chatService).saveMsg(new ChatSaveReqDto("second", "buyer1", "seller1", "room1"));
+    }
+
+    @Test
+    void testHandle_WhenFrameReleasedWhileSaveIsPending_ThenSaveDecodedMessage() {
+        givenHandshake("ws://localhost/ws/chat?roomId=room1");
+        givenConnection();
+        Sinks.One<Chat> firstSave = Sinks.one();
+        when(chatService.saveMsg(any(ChatSaveReqDto.class)))
+                .thenReturn(firstSave.asMono())
+                .thenReturn(Mono.just(chat));
+        NettyDataBufferFactory nettyBufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        WebSocketMessage second = new WebSocketMessage(WebSocketMessage.Type.BINARY,
+                nettyBufferFactory.wrap("second".getBytes(StandardCharsets.UTF_8)));
+
+        // 첫 메시지 저장 중에 도착한 프레임은 서버처럼 onNext 직후 해제
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .then(() -> inbound.tryEmitNext(clientMessage("first")))
+                .then(() -> {
+                    inbound.tryEmitNext(second);
+                    DataBufferUtils.release(second.getPayload());
+                })
+                .then(() -> firstSave.tryEmitValue(chat))
+                .then(() -> inbound.tryEmitComplete())
+                .verifyComplete();
+
+        verify(chatService).saveMsg(new ChatSaveReqDto("second", "buyer1", "seller1", "room1"));
+    }
+
+    @Test
+    void testHandle_WhenMessageTooLong_ThenRejectWithoutSaving() {
+        givenHandshake("ws://localhost/ws/chat?roomId=room1");
+        givenConnection();
+
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .then(() -> inbound.tryEmitNext(clientMessage("a".repeat(17))))
+                .then(() -> inbound.tryEmitComplete())
+                .verifyComplete();
+
+        verify(chatService, never()).saveMsg(any(ChatSaveReqDto.class));
+        assertThat(frameType(outbound.get(1))).isEqualTo(ChatFrameCodec.TYPE_ERROR);
+    }
+
+    @Test
+    void testHandle_WhenNotMember_ThenClose() {
+        givenHandshake("ws://localhost/ws/chat?roomId=room1");
+        when(chatService.findChatRoomByMember("room1", "buyer1"))
+                .thenReturn(Mono.error(new ApiException(ExceptionMessage.CHAT_ROOM_NOT_FOUND)));
+        when(session.close(CloseStatus.POLICY_VIOLATION))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .verifyComplete();
+
+        verify(session, never()).receive();
+    }
+
+    @Test
+    void testHandle_WhenRoomIdMissing_ThenClose() {
+        givenHandshake("ws://localhost/ws/chat");
+        when(session.close(CloseStatus.BAD_DATA))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(chatWebSocketHandler.handle(session))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        verify(chatService, never()).findChatRoomByMember(any(), any());
+    }
+}
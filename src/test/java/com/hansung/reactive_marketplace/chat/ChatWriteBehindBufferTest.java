@@ -0,0 +1,210 @@
+package com.hansung.reactive_marketplace.chat;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatWriteBehindBufferTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    @Captor
+    private ArgumentCaptor<Collection<Chat>> batchCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ChatWriteBehindBuffer chatWriteBehindBuffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 시간 기준 저장이 일어나지 않도록 간격을 길게 두고, 종료시 남은 메시지를 저장하는지 확인
+        chatWriteBehindBuffer = new ChatWriteBehindBuffer(reactiveMongoTemplate, chatRoomRepository, meterRegistry,
+                true, 5, 100, Duration.ofHours(1), 1, Duration.ofSeconds(5));
+    }
+
+    private Chat chat(String id, String roomId, String senderId, String receiverId) {
+        return new Chat.Builder()
+                .id(id)
+                .roomId(roomId)
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .msg("msg " + id)
+                .build();
+    }
+
+    private double messages(String result) {
+        return meterRegistry.get("chat.write-behind.messages").tag("result", result).counter().count();
+    }
+
+    @Test
+    void stop_ThenInsertBatchAndUpdateEachChatRoomOnce() {
+        Chat chat1 = chat("c1", "room1", "seller1", "buyer1");
+        Chat chat2 = chat("c2", "room1", "seller1", "buyer1");
+        Chat chat3 = chat("c3", "room2", "buyer2", "seller1");
+
+        when(reactiveMongoTemplate.insert(ArgumentMatchers.<Chat>anyCollection(), eq(Chat.class)))
+                .thenReturn(Flux.just(chat1, chat2, chat3));
+        when(chatRoomRepository.setLastMessageIfNewer(any(Chat.class)))
+                .thenReturn(Mono.just(1L));
+        when(chatRoomRepository.incrementUnreadCounts(anyString(), anyMap()))
+                .thenReturn(Mono.just(1L));
+
+        for (Chat chat : new Chat[]{chat1, chat2, chat3}) {
+            StepVerifier.create(chatWriteBehindBuffer.enqueue(chat))
+                    .expectNext(chat)
+                    .verifyComplete();
+        }
+        chatWriteBehindBuffer.start();
+        chatWriteBehindBuffer.stop();
+
+        // 세 메시지를 한 번에 저장하고 채팅방별 마지막 메시지와 읽지 않은 수를 모아서 갱신
+        verify(reactiveMongoTemplate).insert(batchCaptor.capture(), eq(Chat.class));
+        assertThat(batchCaptor.getValue()).containsExactly(chat1, chat2, chat3);
+        verify(chatRoomRepository).setLastMessageIfNewer(chat2);
+        verify(chatRoomRepository).incrementUnreadCounts("room1", Map.of("buyer1", 2));
+        verify(chatRoomRepository).setLastMessageIfNewer(chat3);
+        verify(chatRoomRepository).incrementUnreadCounts("room2", Map.of("seller1", 1));
+        assertThat(messages("flushed")).isEqualTo(3);
+        assertThat(meterRegistry.get("chat.write-behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void stop_WhenPartOfBatchAlreadySaved_ThenInsertOnlyRemaining() {
+        Chat chat1 = chat("c1", "room1", "seller1", "buyer1");
+        Chat chat2 = chat("c2", "room1", "seller1", "buyer1");
+
+        when(reactiveMongoTemplate.insert(ArgumentMatchers.<Chat>anyCollection(), eq(Chat.class)))
+                .thenReturn(Flux.error(new DuplicateKeyException("duplicate")), Flux.just(chat2));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Chat.class)))
+                .thenReturn(Flux.just(chat1));
+        when(chatRoomRepository.setLastMessageIfNewer(any(Chat.class)))
+                .thenReturn(Mono.just(1L));
+        when(chatRoomRepository.incrementUnreadCounts(anyString(), anyMap()))
+                .thenReturn(Mono.just(1L));
+
+        chatWriteBehindBuffer.enqueue(chat1).block();
+        chatWriteBehindBuffer.enqueue(chat2).block();
+        chatWriteBehindBuffer.start();
+        chatWriteBehindBuffer.stop();
+
+        // 이전 시도에서 저장된 c1은 제외하고 다시 저장
+        verify(reactiveMongoTemplate, times(2)).insert(batchCaptor.capture(), eq(Chat.class));
+        assertThat(batchCaptor.getAllValues().get(1)).containsExactly(chat2);
+        verify(chatRoomRepository).setLastMessageIfNewer(chat2);
+        verify(chatRoomRepository).incrementUnreadCounts("room1", Map.of("buyer1", 2));
+        assertThat(messages("flushed")).isEqualTo(2);
+    }
+
+    @Test
+    void stop_WhenInsertKeepsFailing_ThenMoveBatchToDeadLetter() {
+        Chat chat1 = chat("c1", "room1", "seller1", "buyer1");
+
+        when(reactiveMongoTemplate.insert(ArgumentMatchers.<Chat>anyCollection(), eq(Chat.class)))
+                .thenReturn(Flux.error(new RuntimeException("Mongo Error")));
+        when(reactiveMongoTemplate.save(chat1, "chatDeadLetter"))
+                .thenReturn(Mono.just(chat1));
+
+        chatWriteBehindBuffer.enqueue(chat1).block();
+        chatWriteBehindBuffer.start();
+        chatWriteBehindBuffer.stop();
+
+        // 재시도 후에도 실패하면 dead letter 컬렉션에 보관하고 채팅방은 갱신하지 않음
+        verify(reactiveMongoTemplate).save(chat1, "chatDeadLetter");
+        assertThat(messages("dead-lettered")).isEqualTo(1);
+        assertThat(messages("dropped")).isZero();
+        assertThat(messages("flushed")).isZero();
+        verify(chatRoomRepository, never()).setLastMessageIfNewer(any(Chat.class));
+        verify(chatRoomRepository, never()).incrementUnreadCounts(anyString(), anyMap());
+    }
+
+    @Test
+    void stop_WhenDeadLetterAlsoFails_ThenCountDropped() {
+        Chat chat1 = chat("c1", "room1", "seller1", "buyer1");
+
+        when(reactiveMongoTemplate.insert(ArgumentMatchers.<Chat>anyCollection(), eq(Chat.class)))
+                .thenReturn(Flux.error(new RuntimeException("Mongo Error")));
+        when(reactiveMongoTemplate.save(chat1, "chatDeadLetter"))
+                .thenReturn(Mono.error(new RuntimeException("Mongo Error")));
+
+        chatWriteBehindBuffer.enqueue(chat1).block();
+        chatWriteBehindBuffer.start();
+        chatWriteBehindBuffer.stop();
+
+        // 보관까지 실패한 경우에만 유실로 집계하고, 다음 배치 저장은 계속 진행
+        assertThat(messages("dropped")).isEqualTo(1);
+        assertThat(messages("dead-lettered")).isZero();
+        assertThat(meterRegistry.get("chat.write-behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void stop_WhenUnreadIncrementFails_ThenDoNotRetryIncrement() {
+        Chat chat1 = chat("c1", "room1", "seller1", "buyer1");
+
+        when(reactiveMongoTemplate.insert(ArgumentMatchers.<Chat>anyCollection(), eq(Chat.class)))
+                .thenReturn(Flux.just(chat1));
+        when(chatRoomRepository.setLastMessageIfNewer(chat1))
+                .thenReturn(Mono.just(1L));
+        when(chatRoomRepository.incrementUnreadCounts("room1", Map.of("buyer1", 1)))
+                .thenReturn(Mono.error(new RuntimeException("Mongo Timeout")));
+
+        chatWriteBehindBuffer.enqueue(chat1).block();
+        chatWriteBehindBuffer.start();
+        chatWriteBehindBuffer.stop();
+
+        // 실제로는 반영됐을 수 있으므로 다시 증가시키지 않고 실패로만 집계
+        verify(chatRoomRepository, times(1)).incrementUnreadCounts("room1", Map.of("buyer1", 1));
+        assertThat(meterRegistry.get("chat.write-behind.room-updates.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_WhenBufferIsFull_ThenThrowApiException() {
+        // 내부 큐는 8로 올림되지만 설정한 5개까지만 받음
+        for (int i = 0; i < 5; i++) {
+            chatWriteBehindBuffer.enqueue(chat("c" + i, "room1", "seller1", "buyer1")).block();
+        }
+
+        StepVerifier.create(chatWriteBehindBuffer.enqueue(chat("c5", "room1", "seller1", "buyer1")))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_WRITE_BUFFER_FULL))
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(messages("rejected")).isEqualTo(1);
+        assertThat(meterRegistry.get("chat.write-behind.pending").gauge().value()).isEqualTo(5);
+    }
+}
@@ -67,7 +67,8 @@ class ChatControllerTest {
                 "buyerNickname",
                 "test msg",
                 "2024-02-21 23:27",
-                "path/to/image"
+                "path/to/image",
+                0
         ));
         Flux<ChatRoomListResDto> buyerChatRooms = Flux.just(new ChatRoomListResDto(
                 "testId",
@@ -78,7 +79,8 @@ class ChatControllerTest {
                 "buyerNickname",
                 "test msg",
                 "2024-02-21 23:27",
-                "path/to/image"
+                "path/to/image",
+                0
         ));
 
         when(chatService.findChatRoomListBySeller(mockAuth)).thenReturn(sellerChatRooms);
@@ -25,9 +25,7 @@ class ChatNotificationControllerTest {
     @InjectMocks
     private ChatNotificationController chatNotificationController;
 
-    @Test
-    void streamChatNotifications_ShouldReturnNotificationFlux() {
-        // Given
+    private Authentication authentication() {
         Authentication authentication = mock(Authentication.class);
         User user = new User.Builder()
                 .username("testUser")
@@ -40,17 +38,51 @@ class ChatNotificationControllerTest {
         CustomUserDetail userDetail = mock(CustomUserDetail.class);
         when(authentication.getPrincipal()).thenReturn(userDetail);
         when(userDetail.getUser()).thenReturn(user);
+        return authentication;
+    }
+
+    @Test
+    void streamChatNotifications_ShouldReturnNotificationFlux() {
+        // Given
+        Authentication authentication = authentication();
         ServerSentEvent<String> event1 = ServerSentEvent.builder("message1").build();
         ServerSentEvent<String> event2 = ServerSentEvent.builder("message2").build();
 
-        when(redisSubscriber.subscribeToTopic("testId"))
+        when(redisSubscriber.subscribe("testId", null))
                 .thenReturn(Flux.just(event1, event2));
 
         // When & Then
-        StepVerifier.create(chatNotificationController.streamChatNotifications(authentication))
+        StepVerifier.create(chatNotificationController.streamChatNotifications(authentication, null, null))
                 .expectNext(event1)
                 .expectNext(event2)
                 .verifyComplete();
     }
+
+    @Test
+    void streamChatNotifications_WhenLastEventIdGiven_ThenResumeFromHeaderFirst() {
+        Authentication authentication = authentication();
+        ServerSentEvent<String> event = ServerSentEvent.builder("message").id("3-0").build();
+
+        when(redisSubscriber.subscribe("testId", "2-0"))
+                .thenReturn(Flux.just(event));
+
+        // 브라우저 재연결 헤더가 페이지 이동시 전달한 파라미터보다 최신
+        StepVerifier.create(chatNotificationController.streamChatNotifications(authentication, "2-0", "1-0"))
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChatNotifications_WhenOnlyParamGiven_ThenResumeFromParam() {
+        Authentication authentication = authentication();
+        ServerSentEvent<String> event = ServerSentEvent.builder("message").id("2-0").build();
+
+        when(redisSubscriber.subscribe("testId", "1-0"))
+                .thenReturn(Flux.just(event));
+
+        StepVerifier.create(chatNotificationController.streamChatNotifications(authentication, null, "1-0"))
+                .expectNext(event)
+                .verifyComplete();
+    }
 }
 
@@ -0,0 +1,214 @@
+package com.hansung.reactive_marketplace.controller;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.storage.ImageStorage;
+import com.hansung.reactive_marketplace.storage.LocalImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.util.UriUtils;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ImageControllerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private ImageStorage imageStorage;
+
+    private ImageController imageController;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStorage = spy(new LocalImageStorage(tempDir.resolve("storage").toString()));
+        imageController = new ImageController(imageStorage, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        writeFile("image/product/original/test.jpg", "0123456789");
+    }
+
+    @Test
+    void testImage_WhenNoRange_ThenReturnWholeFileWithCacheHeaders() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isNull(); // 기본 200
+        assertThat(headers.getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(headers.getContentLength()).isEqualTo(10);
+        assertThat(headers.getCacheControl()).contains("immutable");
+        assertThat(headers.getETag()).isNotNull();
+        assertThat(headers.getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(headers.getVary()).containsExactly(HttpHeaders.ACCEPT);
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("0123456789")
+                .verifyComplete();
+    }
+
+    @Test
+    void testImage_WhenSingleRange_ThenReturnPartialContent() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.RANGE, "bytes=2-5"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(4);
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("2345")
+                .verifyComplete();
+    }
+
+    @Test
+    void testImage_WhenRangeOutOfBounds_ThenReturnRangeNotSatisfiable() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.RANGE, "bytes=20-"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void testImage_WhenIfRangeDoesNotMatch_ThenReturnWholeFile() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.RANGE, "bytes=2-5")
+                .header(HttpHeaders.IF_RANGE, "\"old\""));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(10);
+    }
+
+    @Test
+    void testImage_WhenEtagMatches_ThenReturnNotModified() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg"));
+        imageController.image(first).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .ifNoneMatch(etag));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        // 두 번째 요청은 캐시된 파일 속성을 사용
+        verify(imageStorage, times(1)).stat("/image/product/original/test.jpg");
+    }
+
+    @Test
+    void testImage_WhenAcceptsWebp_ThenReturnWebpFile() throws IOException {
+        writeFile("image/product/original/test.jpg.webp", "webp");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.ACCEPT, "image/avif,image/webp,image/*,*/*;q=0.8"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("image/webp"));
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("webp")
+                .verifyComplete();
+    }
+
+    @Test
+    void testImage_WhenWebpNotGeneratedYet_ThenReturnOriginalFile() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.ACCEPT, "image/webp,*/*"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+    }
+
+    @Test
+    void testImage_WhenWebpNotAccepted_ThenReturnOriginalWithoutLookingUpWebp() throws IOException {
+        writeFile("image/product/original/test.jpg.webp", "webp");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/product/original/test.jpg")
+                .header(HttpHeaders.ACCEPT, "*/*"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        verify(imageStorage, times(0)).stat("/image/product/original/test.jpg.webp");
+    }
+
+    @Test
+    void testImage_WhenFileMissing_ThenThrowNotFound() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/image/missing.jpg"));
+
+        StepVerifier.create(imageController.image(exchange))
+                .expectError(ApiException.class)
+                .verify();
+    }
+
+    @Test
+    void testImage_WhenPathEscapesBaseDirectory_ThenThrowNotFoundWithoutTouchingStorage() throws IOException {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        for (String rawPath : List.of("/image/../../secret.txt", "/image/%2e%2e/%2e%2e/secret.txt", "/image/..%2F..%2Fsecret.txt")) {
+            // MockServerHttpRequest.get은 경로를 다시 인코딩하므로 curl --path-as-is처럼 그대로 보내도록 URI 사용
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET, URI.create(rawPath)));
+
+            StepVerifier.create(imageController.image(exchange))
+                    .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                            ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_NOT_FOUND))
+                    .verify();
+        }
+        verify(imageStorage, never()).stat(anyString());
+    }
+
+    @Test
+    void testImage_WhenFileNameIsEncodedNonAscii_ThenDecodeAndReturnFile() throws IOException {
+        String fileName = "uuid_상품 사진.jpg";
+        writeFile("image/product/original/" + fileName, "korean");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET,
+                URI.create("/image/product/original/" + UriUtils.encodePathSegment(fileName, StandardCharsets.UTF_8))));
+
+        StepVerifier.create(imageController.image(exchange))
+                .verifyComplete();
+
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("korean")
+                .verifyComplete();
+        verify(imageStorage, times(1)).stat("/image/product/original/" + fileName);
+    }
+
+    private void writeFile(String path, String content) throws IOException {
+        Path file = tempDir.resolve("storage").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -5,6 +5,8 @@ import com.hansung.reactive_marketplace.domain.ProductStatus;
 import com.hansung.reactive_marketplace.dto.request.ProductDeleteReqDto;
 import com.hansung.reactive_marketplace.dto.request.ProductSaveReqDto;
 import com.hansung.reactive_marketplace.dto.request.ProductUpdateReqDto;
+import com.hansung.reactive_marketplace.dto.response.ProductListResDto;
+import com.hansung.reactive_marketplace.dto.response.ProductPageResDto;
 import com.hansung.reactive_marketplace.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +16,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -29,6 +34,25 @@ class ProductApiControllerTest {
     @InjectMocks
     private ProductApiController productApiController;
 
+    @Test
+    void list_ShouldReturnProductPage() {
+        // Given
+        ProductPageResDto productPage = new ProductPageResDto(List.of(new ProductListResDto(
+                "testId",
+                "testProduct",
+                1000,
+                "path/to/image",
+                "path/to/image_w300 300w"
+        )), null);
+        when(productService.findProductList("testCursor", 20))
+                .thenReturn(Mono.just(productPage));
+
+        // When & Then
+        StepVerifier.create(productApiController.list("testCursor", 20))
+                .expectNext(productPage)
+                .verifyComplete();
+    }
+
     @Test
     void save_ShouldReturnCreatedStatus() {
         // Given
@@ -36,15 +60,16 @@ class ProductApiControllerTest {
                 "testProduct",
                 "test description",
                 1000,
-                ImageSource.PRODUCT
+                ImageSource.PRODUCT,
+                0
         );
         FilePart mockImage = mock(FilePart.class);
         Authentication mockAuth = mock(Authentication.class);
-        when(productService.saveProduct(any(ProductSaveReqDto.class), any(FilePart.class), any(Authentication.class)))
+        when(productService.saveProduct(any(ProductSaveReqDto.class), any(), any(Authentication.class)))
                 .thenReturn(Mono.empty());
 
         // When & Then
-        StepVerifier.create(productApiController.save(saveReqDto, mockImage, mockAuth))
+        StepVerifier.create(productApiController.save(saveReqDto, Flux.just(mockImage), mockAuth))
                 .expectNextMatches(response ->
                         response.getStatusCode() == HttpStatus.CREATED &&
                                 response.getBody().equals("Product saved successfully")
@@ -4,6 +4,7 @@ import com.hansung.reactive_marketplace.domain.ProductStatus;
 import com.hansung.reactive_marketplace.dto.response.MyProductListResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductDetailResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductListResDto;
+import com.hansung.reactive_marketplace.dto.response.ProductPageResDto;
 import com.hansung.reactive_marketplace.dto.response.ProductUpdateResDto;
 import com.hansung.reactive_marketplace.service.ProductService;
 import org.junit.jupiter.api.Test;
@@ -16,7 +17,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +51,8 @@ class ProductControllerTest {
                 "test description",
                 "nickname",
                 "path/to/image",
+                List.of(),
+                List.of("path/to/image"),
                 "testSellerId",
                 "testBuyerId"
         ); // 예시 DTO
@@ -65,20 +72,22 @@ class ProductControllerTest {
     @Test
     void productList_ShouldReturnIndexView() {
         // Given
-        Flux<ProductListResDto> productList = Flux.just(new ProductListResDto(
+        ProductPageResDto productPage = new ProductPageResDto(List.of(new ProductListResDto(
                 "testId",
                 "testProduct",
                 1000,
-                "path/to/image"
-        ));
-        when(productService.findProductList())
-                .thenReturn(productList);
+                "path/to/image",
+                "path/to/image_w300 300w"
+        )), "nextCursor");
+        when(productService.findProductList(isNull(), anyInt()))
+                .thenReturn(Mono.just(productPage));
 
         // When & Then
         StepVerifier.create(productController.ProductList())
                 .expectNextMatches(rendering ->
                         rendering.view().equals("index") &&
-                                rendering.modelAttributes().containsKey("productList")
+                                rendering.modelAttributes().get("productList").equals(productPage.productList()) &&
+                                rendering.modelAttributes().get("nextCursor").equals("nextCursor")
                 )
                 .verifyComplete();
     }
@@ -0,0 +1,142 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import com.hansung.reactive_marketplace.domain.ThumbnailJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+@DataMongoTest
+@Import({MongoConfig.class, MongoThumbnailJobQueue.class})
+class MongoThumbnailJobQueueTest {
+
+    @Autowired
+    private MongoThumbnailJobQueue thumbnailJobQueue;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private ThumbnailJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new ThumbnailJob.Builder()
+                .imageId("imageId")
+                .sourcePath("/image/product/original/test.jpg")
+                .targetPath("/image/product/thumbnail/resized_test.jpg")
+                .width(300)
+                .height(350)
+                .cacheKey("productImage:productId")
+                .build();
+
+        thumbnailJobQueue.enqueue(job)
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveMongoTemplate.remove(new Query(), ThumbnailJob.class)
+                .then()
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    void claimTest() {
+        thumbnailJobQueue.claim()
+                .as(StepVerifier::create)
+                .expectNextMatches(claimed ->
+                        claimed.getImageId().equals("imageId") &&
+                                claimed.getStatus() == ThumbnailJobStatus.PROCESSING &&
+                                claimed.getAttempts() == 1 &&
+                                claimed.getLockedUntil().isAfter(LocalDateTime.now()))
+                .verifyComplete();
+
+        // lease가 살아있는 작업은 다시 가져가지 않음
+        thumbnailJobQueue.claim()
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    void claim_ExpiredLease() {
+        ThumbnailJob claimed = thumbnailJobQueue.claim().block();
+
+        // 워커가 죽어 lease가 만료된 상황
+        reactiveMongoTemplate.updateFirst(new Query(Criteria.where("_id").is(claimed.getId())),
+                        new Update().set("lockedUntil", LocalDateTime.now().minusSeconds(1)),
+                        ThumbnailJob.class)
+                .then()
+                .block();
+
+        thumbnailJobQueue.claim()
+                .as(StepVerifier::create)
+                .expectNextMatches(reclaimed -> reclaimed.getId().equals(claimed.getId()) && reclaimed.getAttempts() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void retryTest() {
+        ThumbnailJob claimed = thumbnailJobQueue.claim().block();
+
+        thumbnailJobQueue.retry(claimed, LocalDateTime.now().plusMinutes(1), "resize failed")
+                .then(thumbnailJobQueue.claim())
+                .as(StepVerifier::create)
+                .verifyComplete(); // 재시도 시각 전에는 가져가지 않음
+
+        reactiveMongoTemplate.findById(claimed.getId(), ThumbnailJob.class)
+                .as(StepVerifier::create)
+                .expectNextMatches(retried ->
+                        retried.getStatus() == ThumbnailJobStatus.PENDING &&
+                                retried.getLastError().equals("resize failed") &&
+                                retried.getLockedUntil() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void completeTest() {
+        ThumbnailJob claimed = thumbnailJobQueue.claim().block();
+
+        thumbnailJobQueue.complete(claimed)
+                .then(reactiveMongoTemplate.findById(claimed.getId(), ThumbnailJob.class))
+                .as(StepVerifier::create)
+                .expectNextMatches(completed -> completed.getStatus() == ThumbnailJobStatus.DONE &&
+                        completed.getFinishedAt() != null) // TTL 인덱스로 삭제되는 기준 시각
+                .verifyComplete();
+    }
+
+    @Test
+    void complete_WhenLeaseExpiredAndReclaimed_ThenKeepReclaimedState() {
+        ThumbnailJob staleClaim = thumbnailJobQueue.claim().block();
+
+        // 처리가 늦어진 사이 lease가 만료되어 다른 워커가 다시 가져감
+        reactiveMongoTemplate.updateFirst(new Query(Criteria.where("_id").is(staleClaim.getId())),
+                        new Update().set("lockedUntil", LocalDateTime.now().minusSeconds(1)),
+                        ThumbnailJob.class)
+                .then()
+                .block();
+        ThumbnailJob reclaimed = thumbnailJobQueue.claim().block();
+
+        thumbnailJobQueue.fail(staleClaim, "resize failed")
+                .then(thumbnailJobQueue.complete(staleClaim))
+                .then(reactiveMongoTemplate.findById(staleClaim.getId(), ThumbnailJob.class))
+                .as(StepVerifier::create)
+                .expectNextMatches(current ->
+                        current.getStatus() == ThumbnailJobStatus.PROCESSING &&
+                                current.getLockedUntil().equals(reclaimed.getLockedUntil()) &&
+                                current.getLastError() == null)
+                .verifyComplete();
+    }
+}
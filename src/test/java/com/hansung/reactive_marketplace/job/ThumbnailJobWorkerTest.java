@@ -0,0 +1,247 @@
+package com.hansung.reactive_marketplace.job;
+
+import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageBlob;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
+import com.hansung.reactive_marketplace.domain.ThumbnailJobStatus;
+import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ImageBlobRepository;
+import com.hansung.reactive_marketplace.repository.ImageRepository;
+import com.hansung.reactive_marketplace.service.ImageProcessor;
+import com.hansung.reactive_marketplace.storage.ImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailJobWorkerTest {
+
+    @Mock
+    private ImageProcessor imageProcessor;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @TempDir
+    private Path workDir;
+
+    // 저장소에서 작업 디렉토리로 가져온 원본
+    private final Path source = Path.of("/work/test.jpg");
+
+    private InMemoryThumbnailJobQueue thumbnailJobQueue;
+
+    private ThumbnailJobWorker thumbnailJobWorker;
+
+    private ThumbnailJob job;
+
+    private Image image;
+
+    @Captor
+    private ArgumentCaptor<List<ImageVariant>> variantsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailJobQueue = new InMemoryThumbnailJobQueue(Duration.ofMinutes(1));
+        thumbnailJobWorker = new ThumbnailJobWorker(thumbnailJobQueue, imageProcessor, imageRepository, imageBlobRepository, imageStorage, chatRoomRepository, redisCacheManager);
+        ReflectionTestUtils.setField(thumbnailJobWorker, "workDir", workDir);
+        ReflectionTestUtils.setField(thumbnailJobWorker, "batchSize", 10);
+        ReflectionTestUtils.setField(thumbnailJobWorker, "maxAttempts", 2);
+        ReflectionTestUtils.setField(thumbnailJobWorker, "retryBackoff", Duration.ofSeconds(2));
+
+        job = new ThumbnailJob.Builder()
+                .imageId("imageId")
+                .sourcePath("/image/product/original/test.jpg")
+                .targetPath("/image/product/thumbnail/resized_test.jpg")
+                .width(300)
+                .height(350)
+                .variantWidths(List.of(300, 800, 1600))
+                .cacheKey("productImage:productId")
+                .build();
+
+        image = new Image.Builder()
+                .productId("productId")
+                .thumbnailPath("/img/placeholder.png")
+                .build();
+        ReflectionTestUtils.setField(image, "id", "imageId");
+    }
+
+    @Test
+    void testProcessAvailableJobs_WhenResizeSucceeds_ThenUpdateThumbnailAndEvictCache() {
+        thumbnailJobQueue.enqueue(job).block();
+        when(imageRepository.findById("imageId")).thenReturn(Mono.just(image));
+        when(imageStorage.toLocalFile(eq("/image/product/original/test.jpg"), any(Path.class))).thenReturn(Mono.just(source));
+        when(imageStorage.store(any(Path.class), anyString())).thenReturn(Mono.empty());
+        when(imageProcessor.resize(eq(source), fileNamed("resized_test.jpg"), eq(300), eq(350)))
+                .thenReturn(Mono.empty());
+        when(imageProcessor.readImageSize(source))
+                .thenReturn(Mono.just(new ImageProcessor.Size(1000, 750)));
+        when(imageProcessor.resizeToWidth(eq(source), fileNamed("test_w300.jpg"), eq(300)))
+                .thenReturn(Mono.just(new ImageProcessor.Size(300, 225)));
+        when(imageProcessor.resizeToWidth(eq(source), fileNamed("test_w800.jpg"), eq(800)))
+                .thenReturn(Mono.just(new ImageProcessor.Size(800, 600)));
+        when(imageProcessor.writeWebp(any(Path.class), any(Path.class))).thenReturn(Mono.just(true));
+        when(imageRepository.updateThumbnail(eq("imageId"), eq("/image/product/thumbnail/resized_test.jpg"), variantsCaptor.capture()))
+                .thenReturn(Mono.just(1L));
+        when(redisCacheManager.deleteValue("productImage:productId")).thenReturn(Mono.just(true));
+        when(redisCacheManager.increment("product:productId:version")).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(thumbnailJobWorker.processAvailableJobs())
+                .verifyComplete();
+
+        assertThat(job.getStatus()).isEqualTo(ThumbnailJobStatus.DONE);
+        assertThat(thumbnailJobQueue.size()).isZero();
+        // 원본보다 큰 1600은 생성하지 않고 원본을 가장 큰 후보로 포함
+        assertThat(variantsCaptor.getValue())
+                .extracting(variant -> variant.getWidth(), variant -> variant.getPath())
+                .containsExactly(
+                        tuple(300, "/image/product/original/test_w300.jpg"),
+                        tuple(800, "/image/product/original/test_w800.jpg"),
+                        tuple(1000, "/image/product/original/test.jpg"));
+        verify(imageProcessor, never()).resizeToWidth(any(), any(), eq(1600));
+        // 썸네일, 너비별 이미지, 원본 모두 WebP 생성
+        verify(imageProcessor).writeWebp(fileNamed("resized_test.jpg"), fileNamed("resized_test.jpg.webp"));
+        verify(imageProcessor).writeWebp(eq(source), fileNamed("test.jpg.webp"));
+        verify(imageProcessor, times(4)).writeWebp(any(Path.class), any(Path.class));
+        // 작업 디렉토리에서 만든 파일을 저장소 경로로 업로드
+        verify(imageStorage).store(fileNamed("resized_test.jpg"), eq("/image/product/thumbnail/resized_test.jpg"));
+        verify(imageStorage).store(fileNamed("test_w300.jpg"), eq("/image/product/original/test_w300.jpg"));
+        verify(imageStorage).store(fileNamed("test_w800.jpg"), eq("/image/product/original/test_w800.jpg"));
+        verify(imageStorage).store(fileNamed("test.jpg.webp"), eq("/image/product/original/test.jpg.webp"));
+        verify(imageStorage, times(7)).store(any(Path.class), anyString());
+        // 상세 캐시의 srcset이 placeholder로 남지 않도록 상품 버전을 올림
+        verify(redisCacheManager).increment("product:productId:version");
+        // 작업이 끝나면 작업 디렉토리 정리
+        assertThat(workDir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void testProcessAvailableJobs_WhenSharedFileAlreadyResized_ThenReuseWithoutResize() {
+        Image duplicateImage = new Image.Builder()
+                .imageSource(ImageSource.PRODUCT)
+                .productId("productId")
+                .cover(true)
+                .contentHash("hash")
+                .thumbnailPath("/img/placeholder.png")
+                .build();
+        ReflectionTestUtils.setField(duplicateImage, "id", "imageId");
+        List<ImageVariant> variants = List.of(new ImageVariant(300, 225, "/image/product/original/test_w300.jpg"));
+
+        thumbnailJobQueue.enqueue(job).block();
+        when(imageRepository.findById("imageId")).thenReturn(Mono.just(duplicateImage));
+        when(imageBlobRepository.findByContentHashAndImageSource("hash", ImageSource.PRODUCT))
+                .thenReturn(Mono.just(new ImageBlob.Builder()
+                        .thumbnailPath("/image/product/thumbnail/resized_test.jpg")
+                        .variants(variants)
+                        .build()));
+        when(imageBlobRepository.updateThumbnail("hash", ImageSource.PRODUCT, "/image/product/thumbnail/resized_test.jpg", variants))
+                .thenReturn(Mono.just(1L));
+        when(imageRepository.updateThumbnail("imageId", "/image/product/thumbnail/resized_test.jpg", variants))
+                .thenReturn(Mono.just(1L));
+        when(redisCacheManager.deleteValue("productImage:productId")).thenReturn(Mono.just(true));
+        when(redisCacheManager.increment("product:productId:version")).thenReturn(Mono.just(1L));
+        when(chatRoomRepository.updateThumbnailPath("productId", "/image/product/thumbnail/resized_test.jpg"))
+                .thenReturn(Mono.just(1L));
+
+        StepVerifier.create(thumbnailJobWorker.processAvailableJobs())
+                .verifyComplete();
+
+        assertThat(job.getStatus()).isEqualTo(ThumbnailJobStatus.DONE);
+        verify(imageProcessor, never()).resize(any(), any(), anyInt(), anyInt());
+        // 대표 이미지이므로 채팅방 목록의 썸네일도 변경
+        verify(chatRoomRepository).updateThumbnailPath("productId", "/image/product/thumbnail/resized_test.jpg");
+    }
+
+    @Test
+    void testProcessAvailableJobs_WhenResizeFails_ThenScheduleRetryWithBackoff() {
+        thumbnailJobQueue.enqueue(job).block();
+        when(imageRepository.findById("imageId")).thenReturn(Mono.just(image));
+        when(imageStorage.toLocalFile(eq("/image/product/original/test.jpg"), any(Path.class))).thenReturn(Mono.just(source));
+        when(imageProcessor.resize(any(Path.class), any(Path.class), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("resize failed")));
+
+        StepVerifier.create(thumbnailJobWorker.processAvailableJobs())
+                .verifyComplete();
+
+        // 재시도 시각 전까지는 다시 가져가지 않음
+        assertThat(job.getStatus()).isEqualTo(ThumbnailJobStatus.PENDING);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getLastError()).isEqualTo("resize failed");
+        assertThat(job.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(thumbnailJobQueue.size()).isEqualTo(1);
+        verify(imageRepository, never()).updateThumbnail(any(), any(), any());
+    }
+
+    @Test
+    void testProcessAvailableJobs_WhenMaxAttemptsExceeded_ThenMarkFailed() {
+        job.markProcessing(LocalDateTime.now()); // 이미 한번 시도한 작업
+        job.markRetry(LocalDateTime.now().minusSeconds(1), "resize failed");
+        thumbnailJobQueue.enqueue(job).block();
+        when(imageRepository.findById("imageId")).thenReturn(Mono.just(image));
+        when(imageStorage.toLocalFile(eq("/image/product/original/test.jpg"), any(Path.class))).thenReturn(Mono.just(source));
+        when(imageProcessor.resize(any(Path.class), any(Path.class), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("resize failed again")));
+
+        StepVerifier.create(thumbnailJobWorker.processAvailableJobs())
+                .verifyComplete();
+
+        assertThat(job.getStatus()).isEqualTo(ThumbnailJobStatus.FAILED);
+        assertThat(job.getLastError()).isEqualTo("resize failed again");
+        assertThat(thumbnailJobQueue.size()).isZero();
+    }
+
+    @Test
+    void testProcessAvailableJobs_WhenImageDeleted_ThenCompleteWithoutResize() {
+        thumbnailJobQueue.enqueue(job).block();
+        when(imageRepository.findById("imageId")).thenReturn(Mono.empty());
+
+        StepVerifier.create(thumbnailJobWorker.processAvailableJobs())
+                .verifyComplete();
+
+        assertThat(job.getStatus()).isEqualTo(ThumbnailJobStatus.DONE);
+        verify(imageProcessor, never()).resize(any(), any(), anyInt(), anyInt());
+    }
+
+    private static Path fileNamed(String fileName) {
+        return argThat(path -> path != null && path.getFileName().toString().equals(fileName));
+    }
+}
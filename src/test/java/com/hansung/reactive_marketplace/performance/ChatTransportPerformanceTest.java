@@ -0,0 +1,152 @@
+package com.hansung.reactive_marketplace.performance;
+
+import com.hansung.reactive_marketplace.domain.Chat;
+import com.hansung.reactive_marketplace.domain.ChatRoom;
+import com.hansung.reactive_marketplace.domain.User;
+import com.hansung.reactive_marketplace.dto.request.ChatSaveReqDto;
+import com.hansung.reactive_marketplace.jwt.JwtTokenManager;
+import com.hansung.reactive_marketplace.repository.UserRepository;
+import com.hansung.reactive_marketplace.security.CustomUserDetail;
+import com.hansung.reactive_marketplace.service.ChatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// 채팅 메시지 전송시 HTTP POST(요청마다 jwt 검증, 사용자 조회)와 WebSocket(연결시 한 번만 인증)의 처리량 비교
+// 저장 비용을 빼고 전송 방식의 차이만 보도록 ChatService는 mock으로 대체
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ChatTransportPerformanceTest {
+
+    private static final int WARM_UP = 200;
+
+    private static final int MESSAGES = 5000;
+
+    @MockBean
+    private ChatService chatService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenManager jwtTokenManager;
+
+    @LocalServerPort
+    private int port;
+
+    private final AtomicInteger savedCount = new AtomicInteger();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User buyer = new User.Builder()
+                .username("buyer")
+                .nickname("구매자")
+                .password("password")
+                .email("buyer@test.com")
+                .build();
+        ReflectionTestUtils.setField(buyer, "id", "buyer1");
+
+        ChatRoom chatRoom = new ChatRoom.Builder()
+                .productId("product1")
+                .sellerId("seller1")
+                .buyerId("buyer1")
+                .build();
+        ReflectionTestUtils.setField(chatRoom, "id", "room1");
+
+        Chat chat = new Chat.Builder()
+                .msg("message")
+                .senderId("buyer1")
+                .receiverId("seller1")
+                .roomId("room1")
+                .build();
+
+        when(userRepository.findByUsername("buyer")).thenReturn(Mono.just(buyer));
+        when(chatService.findChatRoomByMember("room1", "buyer1")).thenReturn(Mono.just(chatRoom));
+        when(chatService.findMsgByRoomId("room1")).thenReturn(Flux.never());
+        when(chatService.saveMsg(any(ChatSaveReqDto.class))).thenAnswer(invocation -> {
+            savedCount.incrementAndGet();
+            return Mono.just(chat);
+        });
+
+        token = jwtTokenManager.createToken(new CustomUserDetail(buyer)).block();
+    }
+
+    // 기존 방식, 메시지마다 POST /chat 요청 후 응답을 기다림
+    private long sendOverHttp(int count) {
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        savedCount.set(0);
+
+        long startTime = System.nanoTime();
+        Flux.range(0, count)
+                .concatMap(i -> webClient.post()
+                        .uri("/chat")
+                        .cookie("JWT_TOKEN", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ChatSaveReqDto("message " + i, "buyer1", "seller1", "room1"))
+                        .retrieve()
+                        .toBodilessEntity())
+                .blockLast(Duration.ofMinutes(1));
+        return System.nanoTime() - startTime;
+    }
+
+    // WebSocket 연결 하나로 메시지 본문만 보내고 모두 저장될 때까지 대기
+    private long sendOverWebSocket(int count) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, "JWT_TOKEN=" + token);
+        savedCount.set(0);
+
+        long startTime = System.nanoTime();
+        new ReactorNettyWebSocketClient()
+                .execute(URI.create("ws://localhost:" + port + "/ws/chat?roomId=room1"), headers, session ->
+                        session.send(Flux.range(0, count)
+                                        .map(i -> session.binaryMessage(bufferFactory ->
+                                                bufferFactory.wrap(("message " + i).getBytes(StandardCharsets.UTF_8)))))
+                                .then(Flux.interval(Duration.ofMillis(1))
+                                        .filter(tick -> savedCount.get() >= count)
+                                        .next())
+                                .then(session.close()))
+                .block(Duration.ofMinutes(1));
+        return System.nanoTime() - startTime;
+    }
+
+    private void printResults(String testName, long elapsedNanos) {
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        System.out.println(testName + " total time: " + String.format("%.2f", elapsedMillis) + "ms");
+        System.out.println(testName + " throughput: " + String.format("%.2f", MESSAGES / (elapsedMillis / 1000)) + " messages/second");
+    }
+
+    @Test
+    public void compareChatSendThroughput() {
+        sendOverHttp(WARM_UP);
+        sendOverWebSocket(WARM_UP);
+
+        long http = sendOverHttp(MESSAGES);
+        assertThat(savedCount.get()).isEqualTo(MESSAGES);
+        long webSocket = sendOverWebSocket(MESSAGES);
+        assertThat(savedCount.get()).isEqualTo(MESSAGES);
+
+        printResults("HTTP", http);
+        printResults("WebSocket", webSocket);
+        System.out.println("Speedup: " + String.format("%.2f", (double) http / webSocket) + "x");
+    }
+}
@@ -0,0 +1,116 @@
+package com.hansung.reactive_marketplace.performance;
+
+import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.Product;
+import com.hansung.reactive_marketplace.domain.User;
+import com.hansung.reactive_marketplace.repository.ImageRepository;
+import com.hansung.reactive_marketplace.repository.ProductRepository;
+import com.hansung.reactive_marketplace.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 상품 상세 조회시 3번의 순차 조회와 $lookup aggregation 1번의 지연 시간 비교
+@DataMongoTest
+@Import(MongoConfig.class)
+public class ProductDetailQueryPerformanceTest {
+
+    private static final int WARM_UP = 100;
+
+    private static final int ITERATIONS = 1000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String productId;
+
+    @BeforeEach
+    void setUp() {
+        User seller = userRepository.save(new User.Builder()
+                        .username("seller")
+                        .nickname("sellerNickname")
+                        .build())
+                .block();
+        Product product = productRepository.save(new Product.Builder()
+                        .userId(seller.getId())
+                        .title("Detail Product")
+                        .description("Detail Description")
+                        .price(40000)
+                        .build())
+                .block();
+        imageRepository.save(new Image.Builder()
+                        .productId(product.getId())
+                        .imagePath("/image/product/original/detail.jpg")
+                        .cover(true)
+                        .build())
+                .block();
+
+        productId = product.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll()
+                .then(imageRepository.deleteAll())
+                .then(userRepository.deleteAll())
+                .block();
+    }
+
+    // 기존 방식, product -> image -> user 순차 조회
+    private Mono<String> findWithSeparateQueries() {
+        return Mono.zip(productRepository.findById(productId), imageRepository.findCoverByProductId(productId))
+                .flatMap(tuple -> userRepository.findById(tuple.getT1().getUserId()))
+                .map(user -> user.getNickname());
+    }
+
+    private Mono<String> findWithAggregation() {
+        return productRepository.findProductDetail(productId)
+                .map(detail -> detail.nickname());
+    }
+
+    private double measureAverageMillis(String testName, Supplier<Mono<String>> operation) {
+        for (int i = 0; i < WARM_UP; i++) {
+            operation.get().block();
+        }
+
+        List<Long> responseTimes = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long requestStartTime = System.nanoTime();
+            assertThat(operation.get().block()).isEqualTo("sellerNickname");
+            responseTimes.add(System.nanoTime() - requestStartTime);
+        }
+
+        double average = responseTimes.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000;
+        responseTimes.sort(null);
+        double p99 = responseTimes.get((int) (ITERATIONS * 0.99) - 1) / 1_000_000.0;
+
+        System.out.println(testName + " average response time: " + String.format("%.3f", average) + "ms");
+        System.out.println(testName + " p99 response time: " + String.format("%.3f", p99) + "ms");
+        return average;
+    }
+
+    @Test
+    public void compareProductDetailQueryLatency() {
+        double separate = measureAverageMillis("SeparateQueries", () -> findWithSeparateQueries());
+        double aggregation = measureAverageMillis("Aggregation", () -> findWithAggregation());
+
+        System.out.println("Speedup: " + String.format("%.2f", separate / aggregation) + "x");
+    }
+}
@@ -0,0 +1,118 @@
+package com.hansung.reactive_marketplace.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationHubTest {
+
+    @Mock
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Sinks.Many<ReactiveSubscription.PatternMessage<String, String, String>> messages;
+
+    private NotificationHub notificationHub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        messages = Sinks.many().multicast().directBestEffort();
+        doReturn(Mono.just(messages.asFlux())).when(listenerContainer).receiveLater(any(PatternTopic.class));
+
+        notificationHub = new NotificationHub(listenerContainer, meterRegistry, 8);
+        notificationHub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationHub.stop();
+    }
+
+    private void publish(String userId, String id, String msg) {
+        messages.tryEmitNext(new ReactiveSubscription.PatternMessage<>("notification:*", "notification:" + userId, id + " " + msg));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void testSubscribe_WhenManySubscribers_ThenShareSingleRedisSubscription() {
+        List<String> firstTab = new ArrayList<>();
+        List<String> secondTab = new ArrayList<>();
+        List<String> otherUser = new ArrayList<>();
+        Disposable first = notificationHub.subscribe("user1", Flux.empty()).subscribe(notification -> firstTab.add(notification.msg()));
+        Disposable second = notificationHub.subscribe("user1", Flux.empty()).subscribe(notification -> secondTab.add(notification.msg()));
+        Disposable other = notificationHub.subscribe("user2", Flux.empty()).subscribe(notification -> otherUser.add(notification.msg()));
+
+        publish("user1", "1-0", "hello");
+
+        assertThat(firstTab).containsExactly("hello");
+        assertThat(secondTab).containsExactly("hello");
+        assertThat(otherUser).isEmpty();
+        assertThat(gauge("notification.hub.users")).isEqualTo(2);
+        assertThat(gauge("notification.hub.subscribers")).isEqualTo(3);
+        verify(listenerContainer, times(1)).receiveLater(any(PatternTopic.class));
+
+        first.dispose();
+        second.dispose();
+        assertThat(gauge("notification.hub.users")).isEqualTo(1);
+
+        other.dispose();
+        assertThat(gauge("notification.hub.subscribers")).isZero();
+    }
+
+    @Test
+    void testSubscribe_WhenPublishedDuringBacklog_ThenDeliverAfterBacklog() {
+        Sinks.One<ChatNotification> backlog = Sinks.one();
+
+        // backlog 조회 중에 도착한 실시간 알림은 수신함에 보관했다가 backlog 다음에 전달
+        StepVerifier.create(notificationHub.subscribe("user1", backlog.asMono().flux()))
+                .then(() -> publish("user1", "2-0", "live"))
+                .then(() -> backlog.tryEmitValue(new ChatNotification("1-0", "missed")))
+                .expectNextMatches(notification -> notification.id().equals("1-0"))
+                .expectNextMatches(notification -> notification.id().equals("2-0"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testSubscribe_WhenInboxOverflows_ThenErrorToResync() {
+        // 요청하지 않는 구독자의 수신함(8개)이 가득 차면 에러로 종료해 stream에서 다시 읽게 함
+        StepVerifier.create(notificationHub.subscribe("user1", Flux.empty()), 0)
+                .then(() -> {
+                    for (int i = 0; i < 12; i++) {
+                        publish("user1", i + "-0", "msg" + i);
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(8) // 보관된 알림은 모두 전달한 뒤 종료
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,272 @@
+package com.hansung.reactive_marketplace.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheManagerTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> stringRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicInteger fetchCount;
+
+    private Mono<String> fetcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        fetchCount = new AtomicInteger();
+        fetcher = Mono.fromCallable(() -> {
+                    fetchCount.incrementAndGet();
+                    return "value";
+                })
+                .delayElement(Duration.ofMillis(100)); // DB 조회 지연 시뮬레이션
+
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private RedisCacheManager redisCacheManager(boolean leaseEnabled) {
+        return new RedisCacheManager(reactiveRedisTemplate, stringRedisTemplate, listenerContainer, meterRegistry,
+                100, Duration.ofMinutes(1), leaseEnabled, Duration.ofSeconds(1), Duration.ofMillis(50));
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    @Test
+    void testGetOrFetch_WhenCacheHit_ThenSkipFetcher() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.just("cached"));
+
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("cached")
+                .verifyComplete();
+
+        assertThat(fetchCount.get()).isZero();
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testGetOrFetch_WhenConcurrentCacheMiss_ThenFetchOnce() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.empty());
+        when(valueOperations.set(eq("key"), eq("value"), any(Duration.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(Flux.merge(
+                        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)),
+                        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)),
+                        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1))))
+                .expectNext("value", "value", "value")
+                .verifyComplete();
+
+        assertThat(fetchCount.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.loads").counter().count()).isEqualTo(1);
+        assertThat(counter("cache.loads.saved", "reason", "coalesced")).isEqualTo(2);
+    }
+
+    @Test
+    void testGetOrFetch_WhenPreviousLoadFinished_ThenFetchAgain() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.empty());
+        when(valueOperations.set(eq("key"), eq("value"), any(Duration.class))).thenReturn(Mono.just(true));
+
+        // 진행 중인 로딩이 끝나면 공유 Mono가 제거되어 다음 미스는 새로 조회
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+
+        assertThat(fetchCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetOrFetch_WhenLeaseHeldByOtherNode_ThenWaitForCachedValue() {
+        RedisCacheManager redisCacheManager = redisCacheManager(true);
+        AtomicInteger getCount = new AtomicInteger();
+        // 첫 조회와 첫 폴링은 미스, 그 다음 폴링에서 다른 노드가 채운 값을 읽음
+        when(valueOperations.get("key")).thenAnswer(invocation ->
+                getCount.incrementAndGet() < 3 ? Mono.empty() : Mono.just("loadedByOtherNode"));
+        when(valueOperations.setIfAbsent(eq("lock:key"), anyString(), any(Duration.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("loadedByOtherNode")
+                .verifyComplete();
+
+        assertThat(fetchCount.get()).isZero();
+        assertThat(counter("cache.loads.saved", "reason", "lease")).isEqualTo(1);
+    }
+
+    @Test
+    void testGetOrFetch_WhenLeaseAcquired_ThenFetchAndReleaseLease() {
+        RedisCacheManager redisCacheManager = redisCacheManager(true);
+        when(valueOperations.get("key")).thenReturn(Mono.empty());
+        when(valueOperations.setIfAbsent(eq("lock:key"), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(valueOperations.set(eq("key"), eq("value"), any(Duration.class))).thenReturn(Mono.just(true));
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("value")
+                .verifyComplete();
+
+        assertThat(fetchCount.get()).isEqualTo(1);
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void testGetOrFetch_WhenLeaseDisabled_ThenSkipLease() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.empty());
+        when(valueOperations.set(eq("key"), eq("value"), any(Duration.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("value")
+                .verifyComplete();
+
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void testGetOrFetch_WhenLocalCacheHit_ThenSkipRedis() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.just("cached"));
+
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+
+        // 두번째 조회는 로컬 캐시에서 바로 반환
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("cached")
+                .verifyComplete();
+
+        verify(valueOperations, times(1)).get("key");
+    }
+
+    @Test
+    void testDeleteValue_WhenCalled_ThenInvalidateLocalCacheAndPublish() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.get("key")).thenReturn(Mono.just("cached"));
+        when(valueOperations.delete("key")).thenReturn(Mono.just(true));
+        when(stringRedisTemplate.convertAndSend(RedisCacheManager.INVALIDATION_CHANNEL, "key")).thenReturn(Mono.just(1L));
+
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+
+        StepVerifier.create(redisCacheManager.deleteValue("key"))
+                .expectNext(true)
+                .verifyComplete();
+
+        // 무효화 이후에는 다시 redis에서 조회
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+
+        verify(valueOperations, times(2)).get("key");
+        verify(stringRedisTemplate).convertAndSend(RedisCacheManager.INVALIDATION_CHANNEL, "key");
+    }
+
+    @Test
+    void testGetOrFetch_WhenInvalidatedDuringRedisGet_ThenDoNotCacheLocally() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        Sinks.Many<ReactiveSubscription.Message<String, String>> invalidations = Sinks.many().multicast().onBackpressureBuffer();
+        when(listenerContainer.receiveLater(ChannelTopic.of(RedisCacheManager.INVALIDATION_CHANNEL)))
+                .thenReturn(Mono.just(invalidations.asFlux()));
+        redisCacheManager.subscribeInvalidation();
+
+        // 첫 조회의 GET 응답 전에 다른 노드가 값을 바꾸고 무효화 메시지를 보냄
+        AtomicInteger getCount = new AtomicInteger();
+        when(valueOperations.get("key")).thenAnswer(invocation -> getCount.incrementAndGet() == 1
+                ? Mono.fromCallable(() -> {
+                    invalidations.tryEmitNext(new ReactiveSubscription.ChannelMessage<>(RedisCacheManager.INVALIDATION_CHANNEL, "key"));
+                    return "old";
+                })
+                : Mono.just("new"));
+
+        redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)).block();
+
+        // 이전 값이 로컬 캐시에 남지 않아 다시 redis에서 새 값을 조회
+        StepVerifier.create(redisCacheManager.getOrFetch("key", String.class, fetcher, Duration.ofMinutes(1)))
+                .expectNext("new")
+                .verifyComplete();
+
+        redisCacheManager.unsubscribeInvalidation();
+    }
+
+    @Test
+    void testGetOrFetchAll_WhenPartialHit_ThenFetchOnlyMissesAndBackfill() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.multiGet(List.of("a", "b", "c")))
+                .thenReturn(Mono.just(Arrays.asList("A", null, null)));
+        when(reactiveRedisTemplate.execute(any(ReactiveRedisCallback.class)))
+                .thenReturn(Flux.empty());
+        List<List<String>> fetchedKeys = new ArrayList<>();
+
+        // c만 DB에 있고 b는 어디에도 없는 키
+        StepVerifier.create(redisCacheManager.getOrFetchAll(List.of("a", "b", "c", "a"), String.class,
+                        missedKeys -> {
+                            fetchedKeys.add(missedKeys);
+                            return Flux.just("C");
+                        },
+                        value -> value.toLowerCase(), Duration.ofMinutes(1)))
+                .expectNext(Map.of("a", "A", "c", "C"))
+                .verifyComplete();
+
+        assertThat(fetchedKeys).containsExactly(List.of("b", "c"));
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(1);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.loads").counter().count()).isEqualTo(1);
+        verify(reactiveRedisTemplate, times(1)).execute(any(ReactiveRedisCallback.class)); // 백필은 한 번의 파이프라인
+    }
+
+    @Test
+    void testGetOrFetchAll_WhenAllInLocalCache_ThenSkipRedis() {
+        RedisCacheManager redisCacheManager = redisCacheManager(false);
+        when(valueOperations.multiGet(List.of("a")))
+                .thenReturn(Mono.just(Arrays.asList("A")));
+
+        redisCacheManager.getOrFetchAll(List.of("a"), String.class,
+                missedKeys -> Flux.empty(), value -> value, Duration.ofMinutes(1)).block();
+
+        StepVerifier.create(redisCacheManager.getOrFetchAll(List.of("a"), String.class,
+                        missedKeys -> Flux.empty(), value -> value, Duration.ofMinutes(1)))
+                .expectNext(Map.of("a", "A"))
+                .verifyComplete();
+
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+    }
+}
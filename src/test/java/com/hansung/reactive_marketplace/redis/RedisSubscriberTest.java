@@ -0,0 +1,218 @@
+package com.hansung.reactive_marketplace.redis;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSubscriberTest {
+
+    private static final String KEY = "notification:user1";
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveStreamOperations<String, String, String> streamOperations;
+
+    @Mock
+    private NotificationHub notificationHub;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RedisSubscriber redisSubscriber;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        redisSubscriber = new RedisSubscriber(redisTemplate, notificationHub, meterRegistry,
+                Duration.ofSeconds(15), Duration.ofMinutes(30), 2, Duration.ofSeconds(3));
+    }
+
+    private double openConnections() {
+        return meterRegistry.get("notification.sse.connections").gauge().value();
+    }
+
+    // 허브처럼 backlog를 먼저 보내고 실시간 알림을 이어서 전달
+    private void givenLive(ChatNotification... live) {
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenAnswer(invocation -> Flux.concat(invocation.<Flux<ChatNotification>>getArgument(1), Flux.just(live)));
+    }
+
+    // 처음 연결시 조회하는 stream의 마지막 id, null이면 빈 stream
+    private void givenStreamTail(String id) {
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        when(streamOperations.reverseRange(eq(KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(id == null ? Flux.empty() : Flux.just(streamRecord(id, "tail")));
+    }
+
+    private MapRecord<String, String, String> streamRecord(String id, String msg) {
+        return StreamRecords.newRecord()
+                .in(KEY)
+                .withId(RecordId.of(id))
+                .ofMap(Map.of("msg", msg));
+    }
+
+    @Test
+    void testSubscribe_WhenLastEventIdGiven_ThenReplayMissedAndSkipDuplicates() {
+        givenLive(new ChatNotification("3-0", "second"), new ChatNotification("4-0", "third"));
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        when(streamOperations.read(any(StreamOffset.class)))
+                .thenReturn(Flux.just(streamRecord("2-0", "first"), streamRecord("3-0", "second")));
+
+        // stream에서 놓친 알림을 먼저 받고, 실시간으로도 받은 3-0은 한 번만 전달
+        StepVerifier.create(redisSubscriber.subscribe("user1", "1-0"))
+                .expectNextMatches(event -> isEvent(event, "2-0", "first"))
+                .expectNextMatches(event -> isEvent(event, "3-0", "second"))
+                .expectNextMatches(event -> isEvent(event, "4-0", "third"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSubscribe_WhenFirstConnection_ThenReadFromStreamTail() {
+        givenLive(new ChatNotification("5-0", "hello"));
+        givenStreamTail("4-0");
+        when(streamOperations.read(any(StreamOffset.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(redisSubscriber.subscribe("user1", null))
+                .expectNextMatches(event -> isEvent(event, "5-0", "hello"))
+                .verifyComplete();
+
+        verify(streamOperations).read(argThat((StreamOffset<String> offset) -> offset.getOffset().getOffset().equals("4-0")));
+    }
+
+    @Test
+    void testSubscribe_WhenLastEventIdInvalid_ThenTreatAsFirstConnection() {
+        givenLive(new ChatNotification("5-0", "hello world"));
+        givenStreamTail(null);
+        when(streamOperations.read(any(StreamOffset.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(redisSubscriber.subscribe("user1", "invalid"))
+                .expectNextMatches(event -> isEvent(event, "5-0", "hello world"))
+                .verifyComplete();
+
+        verify(streamOperations).read(argThat((StreamOffset<String> offset) -> offset.getOffset().getOffset().equals("0-0")));
+    }
+
+    @Test
+    void testSubscribe_WhenResyncBeforeFirstDelivery_ThenReplayGapFromStreamTail() {
+        AtomicInteger attempts = new AtomicInteger();
+        // 첫 알림이 오기 전에 허브가 재연결(resyncAll)로 구독을 종료
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenAnswer(invocation -> attempts.incrementAndGet() == 1
+                        ? Flux.concat(invocation.<Flux<ChatNotification>>getArgument(1), Flux.error(new IllegalStateException("notification subscription restarted")))
+                        : invocation.<Flux<ChatNotification>>getArgument(1));
+        givenStreamTail("4-0");
+        when(streamOperations.read(any(StreamOffset.class)))
+                .thenReturn(Flux.empty(), Flux.just(streamRecord("5-0", "sent during resync")));
+
+        // 재구독시 연결 시점의 stream 끝(4-0) 이후를 다시 읽어 끊긴 사이의 알림을 전달
+        StepVerifier.create(redisSubscriber.subscribe("user1", null))
+                .expectNextMatches(event -> isEvent(event, "5-0", "sent during resync"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSubscribe_WhenHubErrors_ThenResubscribeFromLastDelivered() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenAnswer(invocation -> attempts.incrementAndGet() == 1
+                        ? Flux.concat(Flux.just(new ChatNotification("2-0", "first")), Flux.error(new IllegalStateException("overflow")))
+                        : Flux.concat(invocation.<Flux<ChatNotification>>getArgument(1), Flux.just(new ChatNotification("4-0", "third"))));
+        givenStreamTail("1-0");
+        when(streamOperations.read(any(StreamOffset.class)))
+                .thenReturn(Flux.just(streamRecord("3-0", "second")));
+
+        // 재구독시 마지막으로 보낸 2-0 이후부터 stream에서 다시 읽음
+        StepVerifier.create(redisSubscriber.subscribe("user1", null))
+                .expectNextMatches(event -> isEvent(event, "2-0", "first"))
+                .expectNextMatches(event -> isEvent(event, "3-0", "second"))
+                .expectNextMatches(event -> isEvent(event, "4-0", "third"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSubscribe_WhenIdle_ThenSendHeartbeatAndReleaseOnDisconnect() {
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenReturn(Flux.never());
+        givenStreamTail(null);
+        when(streamOperations.read(any(StreamOffset.class))).thenReturn(Flux.empty());
+
+        StepVerifier.withVirtualTime(() -> redisSubscriber.subscribe("user1", null))
+                .expectSubscription()
+                .then(() -> assertThat(openConnections()).isEqualTo(1))
+                .thenAwait(Duration.ofSeconds(15))
+                .expectNextMatches(event -> "heartbeat".equals(event.comment()) && event.data() == null)
+                .thenAwait(Duration.ofSeconds(15))
+                .expectNextMatches(event -> "heartbeat".equals(event.comment()))
+                .thenCancel() // 클라이언트 연결 종료
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(openConnections()).isZero();
+    }
+
+    @Test
+    void testSubscribe_WhenUserExceedsConnectionLimit_ThenRejectWithTooManyRequests() {
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenReturn(Flux.never());
+        givenStreamTail(null);
+        when(streamOperations.read(any(StreamOffset.class))).thenReturn(Flux.empty());
+
+        redisSubscriber.subscribe("user1", null).subscribe();
+        redisSubscriber.subscribe("user1", null).subscribe();
+
+        StepVerifier.create(redisSubscriber.subscribe("user1", null))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.TOO_MANY_NOTIFICATION_STREAMS))
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(openConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void testSubscribe_WhenRetriesExhausted_ThenAskClientToReconnect() {
+        when(notificationHub.subscribe(eq("user1"), any()))
+                .thenReturn(Flux.error(new IllegalStateException("redis down")));
+        givenStreamTail(null);
+        when(streamOperations.read(any(StreamOffset.class))).thenReturn(Flux.empty());
+
+        StepVerifier.withVirtualTime(() -> redisSubscriber.subscribe("user1", null))
+                .thenAwait(Duration.ofSeconds(10))
+                .expectNextMatches(event -> Duration.ofSeconds(3).equals(event.retry()) && event.data() == null)
+                .verifyComplete();
+
+        assertThat(openConnections()).isZero();
+    }
+
+    private boolean isEvent(ServerSentEvent<String> event, String id, String data) {
+        return id.equals(event.id()) && "chat-message".equals(event.event()) && data.equals(event.data());
+    }
+}
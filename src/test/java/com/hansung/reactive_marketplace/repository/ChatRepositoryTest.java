@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
@@ -53,21 +54,21 @@ class ChatRepositoryTest {
     }
 
     @Test
-    void findMsgByRoomIdTest() {
-        chatRepository.findMsgByRoomId("room1")
+    void findRecentMsgByRoomIdTest() {
+        // 최근 메시지부터 요청한 개수만큼 조회
+        chatRepository.findRecentMsgByRoomId("room1", PageRequest.of(0, 1))
                 .as(StepVerifier::create)
-                .expectNextMatches(chat ->
-                        chat.getRoomId().equals("room1") &&
-                                chat.getSenderId().equals("user1") &&
-                                chat.getReceiverId().equals("user2") &&
-                                chat.getMsg().equals("Hello"))
                 .expectNextMatches(chat ->
                         chat.getRoomId().equals("room1") &&
                                 chat.getSenderId().equals("user2") &&
-                                chat.getReceiverId().equals("user1") &&
                                 chat.getMsg().equals("Hi there"))
-                .thenCancel()
-                .verify();
+                .verifyComplete();
+
+        chatRepository.findRecentMsgByRoomId("room1", PageRequest.of(0, 10))
+                .map(chat -> chat.getMsg())
+                .as(StepVerifier::create)
+                .expectNext("Hi there", "Hello")
+                .verifyComplete();
     }
 
     @Test
@@ -83,11 +84,10 @@ class ChatRepositoryTest {
     }
 
     @Test
-    void findMsgByRoomId_WhenRoomEmpty() {
-        chatRepository.findMsgByRoomId("nonexistent")
+    void findRecentMsgByRoomId_WhenRoomEmpty() {
+        chatRepository.findRecentMsgByRoomId("nonexistent", PageRequest.of(0, 10))
                 .as(StepVerifier::create)
-                .thenCancel()
-                .verify();
+                .verifyComplete();
     }
 
     @Test
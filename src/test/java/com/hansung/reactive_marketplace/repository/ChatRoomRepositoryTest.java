@@ -1,6 +1,7 @@
 package com.hansung.reactive_marketplace.repository;
 
 import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.domain.Chat;
 import com.hansung.reactive_marketplace.domain.ChatRoom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,9 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Map;
 
 @DataMongoTest
 @Import(MongoConfig.class)
@@ -94,5 +98,122 @@ class ChatRoomRepositoryTest {
                 .as(StepVerifier::create)
                 .verifyComplete();
     }
-}
 
+    @Test
+    void updateLastMessage_ThenListSortedByRecentMessageWithUnreadCount() {
+        Chat chat = new Chat.Builder()
+                .msg("hello")
+                .senderId("seller1")
+                .receiverId("buyer2")
+                .roomId(testChatRoom2.getId())
+                .build();
+        ReflectionTestUtils.setField(chat, "createdAt", LocalDateTime.now());
+
+        chatRoomRepository.updateLastMessage(chat)
+                .then(chatRoomRepository.updateLastMessage(chat))
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+
+        // 최근 메시지가 있는 채팅방이 먼저 조회됨
+        chatRoomRepository.findChatRoomListBySeller("seller1")
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom ->
+                        chatRoom.getProductId().equals("product2") &&
+                                chatRoom.getLastMessage().equals("hello") &&
+                                chatRoom.getUnreadCount("buyer2") == 2 &&
+                                chatRoom.getUnreadCount("seller1") == 0)
+                .expectNextMatches(chatRoom -> chatRoom.getProductId().equals("product1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateLastMessage_WhenGivenUnreadIncrements_ThenAddEachReceiverCount() {
+        Chat lastChat = new Chat.Builder()
+                .msg("bye")
+                .senderId("buyer1")
+                .receiverId("seller1")
+                .roomId(testChatRoom1.getId())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // 한 배치에 모인 메시지의 읽지 않은 수를 한 번에 반영
+        chatRoomRepository.updateLastMessage(lastChat, Map.of("seller1", 2, "buyer1", 3))
+                .then(chatRoomRepository.findById(testChatRoom1.getId()))
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom ->
+                        chatRoom.getLastMessage().equals("bye") &&
+                                chatRoom.getUnreadCount("seller1") == 2 &&
+                                chatRoom.getUnreadCount("buyer1") == 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateLastMessage_WhenOlderMessageArrivesLater_ThenKeepNewerSummary() {
+        LocalDateTime now = LocalDateTime.now();
+        Chat newer = new Chat.Builder()
+                .msg("newer")
+                .senderId("seller1")
+                .receiverId("buyer1")
+                .roomId(testChatRoom1.getId())
+                .createdAt(now)
+                .build();
+        Chat older = new Chat.Builder()
+                .msg("older")
+                .senderId("seller1")
+                .receiverId("buyer1")
+                .roomId(testChatRoom1.getId())
+                .createdAt(now.minusSeconds(1))
+                .build();
+
+        // 늦게 반영된 이전 메시지는 읽지 않은 수만 증가
+        chatRoomRepository.updateLastMessage(newer)
+                .then(chatRoomRepository.updateLastMessage(older))
+                .then(chatRoomRepository.findById(testChatRoom1.getId()))
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom ->
+                        chatRoom.getLastMessage().equals("newer") &&
+                                chatRoom.getUnreadCount("buyer1") == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void resetUnreadCount_ThenUnreadCountIsZero() {
+        Chat chat = new Chat.Builder()
+                .msg("hello")
+                .senderId("seller1")
+                .receiverId("buyer1")
+                .roomId(testChatRoom1.getId())
+                .build();
+        ReflectionTestUtils.setField(chat, "createdAt", LocalDateTime.now());
+
+        chatRoomRepository.updateLastMessage(chat)
+                .then(chatRoomRepository.resetUnreadCount(testChatRoom1.getId(), "buyer1"))
+                .then(chatRoomRepository.findById(testChatRoom1.getId()))
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom -> chatRoom.getUnreadCount("buyer1") == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateNickname_ThenSellerAndBuyerNicknamesChanged() {
+        chatRoomRepository.updateNickname("seller1", "newSeller")
+                .thenMany(chatRoomRepository.findChatRoomListBySeller("seller1"))
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom -> chatRoom.getSellerNickname().equals("newSeller"))
+                .expectNextMatches(chatRoom -> chatRoom.getSellerNickname().equals("newSeller"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateSummary_WhenNoMessage_ThenFillSummaryWithoutLastMessage() {
+        chatRoomRepository.updateSummary(testChatRoom1.getId(), "상품", "/thumbnail.jpg", "seller", "buyer", null)
+                .as(StepVerifier::create)
+                .expectNextMatches(chatRoom ->
+                        chatRoom.hasSummary() &&
+                                chatRoom.getProductTitle().equals("상품") &&
+                                chatRoom.getLastMessage() == null &&
+                                chatRoom.getLastMessageAt() == null)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,114 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@DataMongoTest
+@Import(MongoConfig.class)
+class ImageBlobRepositoryTest {
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @BeforeEach
+    void setUp() {
+        imageBlobRepository.deleteAll()
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageBlobRepository.deleteAll()
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    void acquireTest() {
+        imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/first.jpg")
+                .as(StepVerifier::create)
+                .expectNextMatches(blob ->
+                        blob.getRefCount() == 1 &&
+                                blob.getImagePath().equals("/image/product/original/first.jpg"))
+                .verifyComplete();
+
+        // 같은 해시로 다시 올리면 처음 경로를 유지하고 참조 수만 증가
+        imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/second.jpg")
+                .as(StepVerifier::create)
+                .expectNextMatches(blob ->
+                        blob.getRefCount() == 2 &&
+                                blob.getImagePath().equals("/image/product/original/first.jpg"))
+                .verifyComplete();
+    }
+
+    @Test
+    void acquire_DifferentImageSource() {
+        imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/first.jpg")
+                .then(imageBlobRepository.acquire("hash", ImageSource.PROFILE, "/image/profile/original/first.jpg"))
+                .as(StepVerifier::create)
+                .expectNextMatches(blob ->
+                        blob.getRefCount() == 1 &&
+                                blob.getImagePath().equals("/image/profile/original/first.jpg"))
+                .verifyComplete();
+    }
+
+    @Test
+    void releaseAndDeleteIfUnreferencedTest() {
+        String blobId = imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/first.jpg")
+                .then(imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/second.jpg"))
+                .block()
+                .getId();
+
+        imageBlobRepository.release("hash", ImageSource.PRODUCT)
+                .as(StepVerifier::create)
+                .expectNextMatches(blob -> blob.getRefCount() == 1)
+                .verifyComplete();
+
+        // 참조가 남아있으면 삭제하지 않음
+        imageBlobRepository.deleteIfUnreferenced(blobId)
+                .as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+
+        imageBlobRepository.release("hash", ImageSource.PRODUCT)
+                .then(imageBlobRepository.deleteIfUnreferenced(blobId))
+                .as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void release_NoBlob() {
+        imageBlobRepository.release("nonexistentHash", ImageSource.PRODUCT)
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateThumbnailTest() {
+        imageBlobRepository.acquire("hash", ImageSource.PRODUCT, "/image/product/original/first.jpg")
+                .then(imageBlobRepository.updateThumbnail("hash", ImageSource.PRODUCT,
+                        "/image/product/thumbnail/resized_first.jpg",
+                        List.of(new ImageVariant(300, 225, "/image/product/original/first_w300.jpg"))))
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+
+        imageBlobRepository.findByContentHashAndImageSource("hash", ImageSource.PRODUCT)
+                .as(StepVerifier::create)
+                .expectNextMatches(blob ->
+                        blob.getThumbnailPath().equals("/image/product/thumbnail/resized_first.jpg") &&
+                                blob.getVariants().get(0).getPath().equals("/image/product/original/first_w300.jpg"))
+                .verifyComplete();
+    }
+}
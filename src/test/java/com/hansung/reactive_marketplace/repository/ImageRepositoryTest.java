@@ -3,15 +3,20 @@ package com.hansung.reactive_marketplace.repository;
 import com.hansung.reactive_marketplace.config.MongoConfig;
 import com.hansung.reactive_marketplace.domain.Image;
 import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
+import java.util.List;
 
 @DataMongoTest
 @Import(MongoConfig.class)
@@ -19,6 +24,9 @@ class ImageRepositoryTest {
     @Autowired
     private ImageRepository imageRepository;
 
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
     private Image testImage1;
     private Image testImage2;
 
@@ -32,6 +40,7 @@ class ImageRepositoryTest {
                 .imageType("image/jpeg")
                 .imageSize(1024L)
                 .imagePath("/images/products/test_image1.jpg")
+                .cover(true)
                 .thumbnailPath("/images/products/thumbnails/test_image1.jpg")
                 .build();
 
@@ -60,8 +69,8 @@ class ImageRepositoryTest {
     }
 
     @Test
-    void findByProductIdTest() {
-        imageRepository.findByProductId("product1")
+    void findCoverByProductIdTest() {
+        imageRepository.findCoverByProductId("product1")
                 .as(StepVerifier::create)
                 .expectNextMatches(image ->
                         image.getProductId().equals("product1") &&
@@ -71,6 +80,45 @@ class ImageRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    void updateThumbnailTest() {
+        List<ImageVariant> variants = List.of(
+                new ImageVariant(300, 225, "/images/products/test_image1_w300.jpg"),
+                new ImageVariant(1000, 750, "/images/products/test_image1.jpg"));
+
+        imageRepository.updateThumbnail(testImage1.getId(), "/images/products/thumbnails/updated.jpg", variants)
+                .as(StepVerifier::create)
+                .expectNext(1L)
+                .verifyComplete();
+
+        imageRepository.findById(testImage1.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(image ->
+                        image.getThumbnailPath().equals("/images/products/thumbnails/updated.jpg") &&
+                                image.getVariants().size() == 2 &&
+                                image.getVariants().get(0).getWidth() == 300 &&
+                                image.getVariants().get(0).getPath().equals("/images/products/test_image1_w300.jpg"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateThumbnail_NoImage() {
+        imageRepository.updateThumbnail("nonexistentId", "/images/products/thumbnails/updated.jpg", List.of())
+                .as(StepVerifier::create)
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findCoversByProductIdInTest() {
+        imageRepository.findCoversByProductIdIn(List.of("product1", "nonexistent"))
+                .as(StepVerifier::create)
+                .expectNextMatches(image ->
+                        image.getProductId().equals("product1") &&
+                                image.getImageName().equals("test_image1.jpg"))
+                .verifyComplete();
+    }
+
     @Test
     void findByUserIdTest() {
         imageRepository.findByUserId("user2")
@@ -86,7 +134,7 @@ class ImageRepositoryTest {
     @Test
     void deleteByProductIdTest() {
         imageRepository.deleteByProductId("product1")
-                .then(imageRepository.findByProductId("product1"))
+                .thenMany(imageRepository.findByProductIdOrderByPositionAsc("product1"))
                 .as(StepVerifier::create)
                 .verifyComplete();
     }
@@ -100,10 +148,54 @@ class ImageRepositoryTest {
     }
 
     @Test
-    void findByProductId_WhenNotExists() {
-        imageRepository.findByProductId("nonexistent")
+    void findCoverByProductId_WhenNotExists() {
+        imageRepository.findCoverByProductId("nonexistent")
                 .as(StepVerifier::create)
                 .verifyComplete();
     }
-}
 
+    @Test
+    void findByProductIdOrderByPositionAscTest() {
+        Image second = new Image.Builder()
+                .imageSource(ImageSource.PRODUCT)
+                .productId("product1")
+                .imageName("test_image3.jpg")
+                .imagePath("/images/products/test_image3.jpg")
+                .position(2)
+                .build();
+        Image first = new Image.Builder()
+                .imageSource(ImageSource.PRODUCT)
+                .productId("product1")
+                .imageName("test_image4.jpg")
+                .imagePath("/images/products/test_image4.jpg")
+                .position(1)
+                .build();
+
+        imageRepository.insert(List.of(second, first))
+                .thenMany(imageRepository.findByProductIdOrderByPositionAsc("product1"))
+                .map(image -> image.getImageName())
+                .as(StepVerifier::create)
+                .expectNext("test_image1.jpg", "test_image4.jpg", "test_image3.jpg")
+                .verifyComplete();
+
+        // 대표 이미지가 아닌 이미지는 대표 이미지 조회에 포함되지 않음
+        imageRepository.findCoversByProductIdIn(List.of("product1"))
+                .map(image -> image.getImageName())
+                .as(StepVerifier::create)
+                .expectNext("test_image1.jpg")
+                .verifyComplete();
+    }
+
+    @Test
+    void findCoverByProductId_WhenCoverFieldMissing_ThenTreatAsCover() {
+        // 여러 장 업로드 도입 전에 저장된 이미지는 cover 필드가 없음
+        reactiveMongoTemplate.getCollection("image")
+                .flatMap(collection -> Mono.from(collection.insertOne(new Document()
+                        .append("productId", "legacyProduct")
+                        .append("imageName", "legacy.jpg"))))
+                .then(imageRepository.findCoverByProductId("legacyProduct"))
+                .as(StepVerifier::create)
+                .expectNextMatches(image -> image.getImageName().equals("legacy.jpg"))
+                .verifyComplete();
+    }
+}
@@ -1,18 +1,24 @@
 package com.hansung.reactive_marketplace.repository;
 
 import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
 import com.hansung.reactive_marketplace.domain.Product;
 import com.hansung.reactive_marketplace.domain.ProductStatus;
+import com.hansung.reactive_marketplace.domain.User;
+import com.hansung.reactive_marketplace.util.CursorUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
+import java.util.List;
 
 @DataMongoTest
 @Import(MongoConfig.class)
@@ -20,6 +26,12 @@ class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     private Product testProduct1;
     private Product testProduct2;
     private Product otherUserProduct;
@@ -56,23 +68,110 @@ class ProductRepositoryTest {
     @AfterEach
     void tearDown() {
         productRepository.deleteAll()
+                .then(imageRepository.deleteAll())
+                .then(userRepository.deleteAll())
                 .as(StepVerifier::create)
                 .verifyComplete();
     }
 
     @Test
     void findProductListTest() {
-        productRepository.findProductList(Sort.by(Sort.Direction.DESC, "price"))
+        // 생성 순서의 역순으로 페이지 크기만큼 조회
+        productRepository.findProductList(PageRequest.of(0, 2))
+                .as(StepVerifier::create)
+                .expectNextMatches(product -> product.getTitle().equals("Other Product"))
+                .expectNextMatches(product -> product.getTitle().equals("Test Product 2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductListAfterTest() {
+        Product cursorProduct = productRepository.findProductList(PageRequest.of(0, 2))
+                .last()
+                .block();
+        CursorUtils.Cursor cursor = CursorUtils.decode(CursorUtils.encode(cursorProduct.getCreatedAt(), cursorProduct.getId()));
+
+        productRepository.findProductListAfter(cursor.createdAt(), cursor.id(), PageRequest.of(0, 2))
+                .as(StepVerifier::create)
+                .expectNextMatches(product -> product.getTitle().equals("Test Product 1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductDetailTest() {
+        User seller = userRepository.save(new User.Builder()
+                        .username("seller")
+                        .nickname("sellerNickname")
+                        .build())
+                .block();
+        Product product = productRepository.save(new Product.Builder()
+                        .userId(seller.getId())
+                        .title("Detail Product")
+                        .description("Detail Description")
+                        .price(40000)
+                        .build())
+                .block();
+        imageRepository.save(new Image.Builder()
+                        .productId(product.getId())
+                        .imagePath("/image/product/original/detail.jpg")
+                        .variants(List.of(
+                                new ImageVariant(300, 225, "/image/product/original/detail_w300.jpg"),
+                                new ImageVariant(1000, 750, "/image/product/original/detail.jpg")))
+                        .build())
+                .block();
+
+        productRepository.findProductDetail(product.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(detail ->
+                        detail.id().equals(product.getId()) &&
+                                detail.title().equals("Detail Product") &&
+                                detail.price() == 40000 &&
+                                detail.description().equals("Detail Description") &&
+                                detail.nickname().equals("sellerNickname") &&
+                                detail.imagePath().equals("/image/product/original/detail.jpg") &&
+                                detail.imageSrcset().equals("/image/product/original/detail_w300.jpg 300w, /image/product/original/detail.jpg 1000w") &&
+                                detail.sellerId().equals(seller.getId()) &&
+                                detail.buyerId() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductDetail_MultipleImages() {
+        // 대표 이미지가 중간 순서여도 대표 이미지를 먼저, 나머지는 표시 순서대로 반환
+        String productId = testProduct1.getId();
+        imageRepository.insert(List.of(
+                        new Image.Builder().productId(productId).imagePath("/image/product/original/third.jpg").position(2).build(),
+                        new Image.Builder().productId(productId).imagePath("/image/product/original/first.jpg").position(0).build(),
+                        new Image.Builder().productId(productId).imagePath("/image/product/original/cover.jpg").position(1).cover(true).build()))
+                .blockLast();
+
+        productRepository.findProductDetail(productId)
+                .as(StepVerifier::create)
+                .expectNextMatches(detail ->
+                        detail.imagePath().equals("/image/product/original/cover.jpg") &&
+                                detail.imagePaths().equals(List.of(
+                                        "/image/product/original/cover.jpg",
+                                        "/image/product/original/first.jpg",
+                                        "/image/product/original/third.jpg")))
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductDetail_NoImageAndSeller() {
+        // 이미지와 판매자가 없으면 해당 필드만 비어있는 결과 반환
+        productRepository.findProductDetail(testProduct1.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(detail ->
+                        detail.title().equals("Test Product 1") &&
+                                detail.imagePath() == null &&
+                                detail.nickname() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void findProductDetail_InvalidId() {
+        productRepository.findProductDetail("invalidId")
                 .as(StepVerifier::create)
-                .expectNextMatches(product ->
-                        product.getPrice() == 30000 &&
-                                product.getTitle().equals("Other Product"))
-                .expectNextMatches(product ->
-                        product.getPrice() == 20000 &&
-                                product.getTitle().equals("Test Product 2"))
-                .expectNextMatches(product ->
-                        product.getPrice() == 10000 &&
-                                product.getTitle().equals("Test Product 1"))
                 .verifyComplete();
     }
 
@@ -0,0 +1,163 @@
+package com.hansung.reactive_marketplace.repository;
+
+import com.hansung.reactive_marketplace.config.MongoConfig;
+import com.hansung.reactive_marketplace.config.MongoIndexInitializer;
+import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.job.MongoThumbnailJobQueue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 실제 리포지토리 메소드를 실행하고 프로파일러에 기록된 실행 계획으로 인덱스 없이 전체 스캔하는 쿼리가 없는지 검사
+@DataMongoTest
+@Import({MongoConfig.class, MongoIndexInitializer.class})
+class RepositoryIndexTest {
+
+    private static final String PROFILE_COLLECTION = "system.profile";
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        reactiveMongoTemplate.executeCommand(new Document("profile", 0)).block();
+    }
+
+    @Test
+    void chatQueries_UseIndex() {
+        assertNoCollectionScan("findRecentMsgByRoomId", chatRepository.findRecentMsgByRoomId("room1", PageRequest.of(0, 20)));
+        assertNoCollectionScan("findRecentChat", chatRepository.findRecentChat("room1"));
+    }
+
+    @Test
+    void chatRoomQueries_UseIndex() {
+        assertNoCollectionScan("findChatRoom", chatRoomRepository.findChatRoom("product1", "buyer1"));
+        assertNoCollectionScan("findChatRoomListBySeller", chatRoomRepository.findChatRoomListBySeller("seller1"));
+        assertNoCollectionScan("findChatRoomListByBuyer", chatRoomRepository.findChatRoomListByBuyer("buyer1"));
+        assertNoCollectionScan("updateThumbnailPath", chatRoomRepository.updateThumbnailPath("product1", "thumbnail"));
+    }
+
+    @Test
+    void imageQueries_UseIndex() {
+        assertNoCollectionScan("findByProductIdOrderByPositionAsc", imageRepository.findByProductIdOrderByPositionAsc("product1"));
+        assertNoCollectionScan("findCoverByProductId", imageRepository.findCoverByProductId("product1"));
+        assertNoCollectionScan("findCoversByProductIdIn", imageRepository.findCoversByProductIdIn(List.of("product1", "product2")));
+        assertNoCollectionScan("findByUserId", imageRepository.findByUserId("user1"));
+        assertNoCollectionScan("findByContentHashAndImageSource",
+                imageBlobRepository.findByContentHashAndImageSource("hash", ImageSource.PRODUCT));
+        assertNoCollectionScan("release", imageBlobRepository.release("hash", ImageSource.PRODUCT));
+    }
+
+    @Test
+    void userQueries_UseIndex() {
+        assertNoCollectionScan("findByUsername", userRepository.findByUsername("user1"));
+        assertNoCollectionScan("existsByUsername", userRepository.existsByUsername("user1"));
+    }
+
+    @Test
+    void productQueries_UseIndex() {
+        Pageable pageable = PageRequest.of(0, 21);
+
+        // ProductServiceImpl과 같은 페이지 크기, 정렬로 호출
+        assertNoCollectionScan("findProductList", productRepository.findProductList(pageable));
+        assertNoCollectionScan("findProductListAfter", productRepository.findProductListAfter(new Date(), new ObjectId(), pageable));
+        assertNoCollectionScan("findMyProductList",
+                productRepository.findMyProductList("user1", Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Test
+    void thumbnailJobQueries_UseIndex() {
+        MongoThumbnailJobQueue queue = new MongoThumbnailJobQueue(reactiveMongoTemplate, Duration.ofMinutes(1));
+
+        assertNoCollectionScan("MongoThumbnailJobQueue.claim", queue.claim());
+    }
+
+    @Test
+    void createIndexes_WhenUniqueKeyHasDuplicates_ThenFailWithDuplicateKeys() {
+        MongoIndexInitializer initializer = new MongoIndexInitializer(reactiveMongoTemplate, Duration.ofSeconds(30));
+        // unique 인덱스가 없던 시절에 쌓인 중복 채팅방을 재현
+        reactiveMongoTemplate.dropCollection("chatRoom")
+                .then(reactiveMongoTemplate.getCollection("chatRoom"))
+                .flatMap(mongoCollection -> Mono.from(mongoCollection.insertMany(List.of(
+                        new Document("productId", "product1").append("buyerId", "buyer1"),
+                        new Document("productId", "product1").append("buyerId", "buyer1")))))
+                .block();
+
+        try {
+            assertThatThrownBy(initializer::createIndexes)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("chatRoom")
+                    .hasMessageContaining("productId_buyerId")
+                    .hasMessageContaining("product1");
+        } finally {
+            reactiveMongoTemplate.dropCollection("chatRoom").block();
+            initializer.createIndexes(); // 다른 테스트를 위해 인덱스 복구
+        }
+    }
+
+    private void assertNoCollectionScan(String description, Publisher<?> call) {
+        resetProfiler();
+        Flux.from(call).then().block();
+
+        // 프로파일러 자신에 대한 조회는 제외하고 이번 호출이 남긴 실행 계획 요약만 확인
+        List<String> planSummaries = reactiveMongoTemplate.getMongoDatabase()
+                .flatMapMany(database -> reactiveMongoTemplate.find(
+                        Query.query(Criteria.where("planSummary").exists(true)
+                                .and("ns").ne(database.getName() + "." + PROFILE_COLLECTION)),
+                        Document.class, PROFILE_COLLECTION))
+                .map(profiled -> profiled.getString("planSummary"))
+                .collectList()
+                .block();
+
+        assertThat(planSummaries)
+                .as(description)
+                .isNotEmpty()
+                .noneMatch(planSummary -> planSummary.contains("COLLSCAN"));
+    }
+
+    // 이전 호출의 기록이 섞이지 않도록 프로파일러를 끄고 기록을 비운 뒤 모든 연산을 기록하도록 다시 켬
+    private void resetProfiler() {
+        reactiveMongoTemplate.executeCommand(new Document("profile", 0))
+                .then(reactiveMongoTemplate.dropCollection(PROFILE_COLLECTION))
+                .then(reactiveMongoTemplate.executeCommand(new Document("profile", 2)))
+                .block();
+    }
+}
@@ -1,5 +1,7 @@
 package com.hansung.reactive_marketplace.service;
 
+import com.hansung.reactive_marketplace.chat.ChatHub;
+import com.hansung.reactive_marketplace.chat.ChatWriteBehindBuffer;
 import com.hansung.reactive_marketplace.domain.*;
 import com.hansung.reactive_marketplace.dto.request.ChatSaveReqDto;
 import com.hansung.reactive_marketplace.exception.ApiException;
@@ -11,9 +13,13 @@ import com.hansung.reactive_marketplace.security.CustomUserDetail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -23,8 +29,12 @@ import reactor.test.StepVerifier;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +58,12 @@ class ChatServiceTest {
     @Mock
     private RedisPublisher redisPublisher;
 
+    @Mock
+    private ChatHub chatHub;
+
+    @Mock
+    private ChatWriteBehindBuffer chatWriteBehindBuffer;
+
     @Mock
     private Authentication authentication;
 
@@ -59,6 +75,7 @@ class ChatServiceTest {
     private String buyerId;
     private String roomId;
     private ChatRoom chatRoom;
+    private ChatRoom summarizedChatRoom;
     private Chat chat;
     private User seller;
     private User buyer;
@@ -71,6 +88,7 @@ class ChatServiceTest {
         sellerId = "testSeller";
         buyerId = "testBuyer";
         roomId = "testRoom";
+        ReflectionTestUtils.setField(chatService, "historySize", 50);
 
         // ChatRoom 설정
         chatRoom = new ChatRoom.Builder()
@@ -80,6 +98,21 @@ class ChatServiceTest {
                 .build();
         ReflectionTestUtils.setField(chatRoom, "id", roomId);
 
+        // 요약 정보가 있는 ChatRoom 설정
+        summarizedChatRoom = new ChatRoom.Builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .productTitle("테스트 상품")
+                .thumbnailPath("/test/thumbnail.jpg")
+                .sellerNickname("판매자")
+                .buyerNickname("구매자")
+                .build();
+        ReflectionTestUtils.setField(summarizedChatRoom, "id", roomId);
+        ReflectionTestUtils.setField(summarizedChatRoom, "lastMessage", "Hello");
+        ReflectionTestUtils.setField(summarizedChatRoom, "lastMessageAt", LocalDateTime.now());
+        ReflectionTestUtils.setField(summarizedChatRoom, "unreadCounts", Map.of(buyerId, 3));
+
         // Chat 설정
         chat = new Chat.Builder()
                 .msg("Hello")
@@ -133,23 +166,45 @@ class ChatServiceTest {
     }
 
     @Test
-    void findMsgByRoomId_WhenRoomExists_ThenReturnMessages() {
-        when(chatRepository.findMsgByRoomId(roomId))
-                .thenReturn(Flux.just(chat));
+    void findMsgByRoomId_WhenRoomHasHistory_ThenReturnHistoryThenLiveMessages() {
+        Chat olderChat = new Chat.Builder()
+                .msg("Old")
+                .senderId(buyerId)
+                .receiverId(sellerId)
+                .roomId(roomId)
+                .build();
+        ReflectionTestUtils.setField(olderChat, "id", "chat1");
+        ReflectionTestUtils.setField(chat, "id", "chat2");
+        Chat liveChat = new Chat.Builder()
+                .msg("New")
+                .senderId(sellerId)
+                .receiverId(buyerId)
+                .roomId(roomId)
+                .build();
+        ReflectionTestUtils.setField(liveChat, "id", "chat3");
+
+        when(chatRepository.findRecentMsgByRoomId(eq(roomId), eq(PageRequest.of(0, 50))))
+                .thenReturn(Flux.just(chat, olderChat)); // 최근 메시지부터 조회됨
+        // 조회 중에 허브로 이미 조회된 메시지가 다시 들어와도 한 번만 전달
+        when(chatHub.subscribe(roomId))
+                .thenReturn(Flux.just(chat, liveChat));
 
         StepVerifier.create(chatService.findMsgByRoomId(roomId))
-                .expectNext(chat)
+                .expectNext(olderChat, chat, liveChat)
                 .verifyComplete();
     }
 
     @Test
-    void findMsgByRoomId_WhenRoomDoesNotExist_ThenThrowApiException() {
-        when(chatRepository.findMsgByRoomId(roomId))
+    void findMsgByRoomId_WhenRoomHasNoHistory_ThenReturnLiveMessages() {
+        ReflectionTestUtils.setField(chat, "id", "chat1");
+        when(chatRepository.findRecentMsgByRoomId(eq(roomId), any(Pageable.class)))
                 .thenReturn(Flux.empty());
+        when(chatHub.subscribe(roomId))
+                .thenReturn(Flux.concat(Flux.just(chat), Flux.never()));
 
         StepVerifier.create(chatService.findMsgByRoomId(roomId))
-                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
-                        ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_NOT_FOUND))
+                .expectNext(chat)
+                .thenCancel()
                 .verify(Duration.ofSeconds(1));
     }
 
@@ -161,6 +216,8 @@ class ChatServiceTest {
                 .thenReturn(Mono.just(chatRoom));
         when(userService.findUserById(eq(sellerId)))
                 .thenReturn(Mono.just(seller));
+        when(chatRoomRepository.resetUnreadCount(eq(roomId), eq(buyerId)))
+                .thenReturn(Mono.just(1L));
         when(imageService.findProfileImageByIdWithCache(eq(sellerId)))
                 .thenReturn(Mono.just(image));
 
@@ -206,6 +263,12 @@ class ChatServiceTest {
 
         when(chatRoomRepository.findChatRoom(eq(productId), eq(buyerId)))
                 .thenReturn(Mono.empty());
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
         when(chatRoomRepository.save(any(ChatRoom.class)))
                 .thenReturn(Mono.error(new RuntimeException("DB Error")));
         when(userService.findUserById(eq(sellerId)))
@@ -217,6 +280,83 @@ class ChatServiceTest {
                 .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    void openChat_WhenChatRoomDoesNotExist_ThenCreateChatRoomWithSummary() {
+        setupBuyerAuthentication();
+
+        when(chatRoomRepository.findChatRoom(eq(productId), eq(buyerId)))
+                .thenReturn(Mono.empty());
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRoomRepository.save(ArgumentMatchers.<ChatRoom>argThat(newChatRoom ->
+                newChatRoom.getProductTitle().equals(product.getTitle()) &&
+                        newChatRoom.getThumbnailPath().equals(image.getThumbnailPath()) &&
+                        newChatRoom.getSellerNickname().equals(seller.getNickname()) &&
+                        newChatRoom.getBuyerNickname().equals(buyer.getNickname()))))
+                .thenReturn(Mono.just(chatRoom));
+        when(userService.findUserById(eq(sellerId)))
+                .thenReturn(Mono.just(seller));
+        when(chatRoomRepository.resetUnreadCount(eq(roomId), eq(buyerId)))
+                .thenReturn(Mono.just(0L));
+        when(imageService.findProfileImageByIdWithCache(eq(sellerId)))
+                .thenReturn(Mono.just(image));
+
+        StepVerifier.create(chatService.openChat(productId, sellerId, buyerId, authentication, ChatClickPage.DETAIL))
+                .expectNextMatches(chatRoomResDto -> chatRoomResDto.id().equals(roomId))
+                .verifyComplete();
+    }
+
+    @Test
+    void openChat_WhenChatRoomCreatedConcurrently_ThenUseExistingChatRoom() {
+        setupBuyerAuthentication();
+
+        when(chatRoomRepository.findChatRoom(eq(productId), eq(buyerId)))
+                .thenReturn(Mono.empty(), Mono.just(chatRoom)); // 생성 직전에 다른 요청이 먼저 만든 경우
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRoomRepository.save(any(ChatRoom.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate chat room")));
+        when(userService.findUserById(eq(sellerId)))
+                .thenReturn(Mono.just(seller));
+        when(chatRoomRepository.resetUnreadCount(eq(roomId), eq(buyerId)))
+                .thenReturn(Mono.just(0L));
+        when(imageService.findProfileImageByIdWithCache(eq(sellerId)))
+                .thenReturn(Mono.just(image));
+
+        StepVerifier.create(chatService.openChat(productId, sellerId, buyerId, authentication, ChatClickPage.DETAIL))
+                .expectNextMatches(chatRoomResDto -> chatRoomResDto.id().equals(roomId))
+                .verifyComplete();
+    }
+
+    @Test
+    void findChatRoomByMember_WhenUserIsMember_ThenReturnChatRoom() {
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+
+        StepVerifier.create(chatService.findChatRoomByMember(roomId, buyerId))
+                .expectNext(chatRoom)
+                .verifyComplete();
+    }
+
+    @Test
+    void findChatRoomByMember_WhenUserIsNotMember_ThenThrowChatRoomNotFound() {
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+
+        StepVerifier.create(chatService.findChatRoomByMember(roomId, "otherUser"))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_ROOM_NOT_FOUND))
+                .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     void saveMsg_WhenGivenValidRequest_ThenMessageIsSaved() {
         ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(
@@ -226,8 +366,12 @@ class ChatServiceTest {
                 roomId
         );
 
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
         when(chatRepository.save(any(Chat.class)))
                 .thenReturn(Mono.just(chat));
+        when(chatRoomRepository.updateLastMessage(chat))
+                .thenReturn(Mono.just(1L));
         when(redisPublisher.publish(anyString(), anyString()))
                 .thenReturn(Mono.empty());
 
@@ -245,6 +389,8 @@ class ChatServiceTest {
                 roomId
         );
 
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
         when(chatRepository.save(any(Chat.class)))
                 .thenReturn(Mono.error(new RuntimeException("DB Error")));
 
@@ -263,8 +409,12 @@ class ChatServiceTest {
                 roomId
         );
 
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
         when(chatRepository.save(any(Chat.class)))
                 .thenReturn(Mono.just(chat));
+        when(chatRoomRepository.updateLastMessage(chat))
+                .thenReturn(Mono.just(1L));
         when(redisPublisher.publish(anyString(), anyString()))
                 .thenReturn(Mono.error(new RuntimeException("Redis Error")));
 
@@ -274,23 +424,108 @@ class ChatServiceTest {
                 .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    void saveMsg_WhenReceiverIdIsForged_ThenUseChatRoomCounterpart() {
+        ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(
+                "Hello",
+                sellerId,
+                "x.$inc", // 읽지 않은 수의 필드 경로로 쓰이는 값
+                roomId
+        );
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+        when(chatRepository.save(any(Chat.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(chatRoomRepository.updateLastMessage(any(Chat.class)))
+                .thenReturn(Mono.just(1L));
+        when(redisPublisher.publish(anyString(), anyString()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(chatService.saveMsg(chatSaveReqDto))
+                .expectNextMatches(savedMessage -> savedMessage.getReceiverId().equals(buyerId))
+                .verifyComplete();
+
+        verify(redisPublisher).publish(buyerId, "Hello");
+    }
+
+    @Test
+    void saveMsg_WhenSenderIsNotMember_ThenThrowChatRoomNotFound() {
+        ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(
+                "Hello",
+                "otherUser",
+                buyerId,
+                roomId
+        );
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+
+        StepVerifier.create(chatService.saveMsg(chatSaveReqDto))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_ROOM_NOT_FOUND))
+                .verify(Duration.ofSeconds(1));
+
+        verify(chatRepository, never()).save(any(Chat.class));
+    }
+
+    @Test
+    void saveMsg_WhenWriteBehindEnabled_ThenEnqueueAndPublishToHub() {
+        ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(
+                "Hello",
+                sellerId,
+                buyerId,
+                roomId
+        );
+
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+        when(chatWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(chatWriteBehindBuffer.enqueue(any(Chat.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(redisPublisher.publish(anyString(), anyString()))
+                .thenReturn(Mono.empty());
+
+        // 저장 전에 id와 작성 시각이 정해지고 같은 서버의 구독자에게 바로 전달
+        StepVerifier.create(chatService.saveMsg(chatSaveReqDto))
+                .expectNextMatches(savedMessage -> savedMessage.getId() != null &&
+                        savedMessage.getCreatedAt() != null &&
+                        savedMessage.getMsg().equals("Hello"))
+                .verifyComplete();
+
+        verify(chatHub).publish(any(Chat.class));
+        verify(chatRepository, never()).save(any(Chat.class));
+    }
+
+    @Test
+    void saveMsg_WhenWriteBehindBufferIsFull_ThenThrowApiException() {
+        ChatSaveReqDto chatSaveReqDto = new ChatSaveReqDto(
+                "Hello",
+                sellerId,
+                buyerId,
+                roomId
+        );
+
+        when(chatRoomRepository.findById(roomId))
+                .thenReturn(Mono.just(chatRoom));
+        when(chatWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(chatWriteBehindBuffer.enqueue(any(Chat.class)))
+                .thenReturn(Mono.error(new ApiException(ExceptionMessage.CHAT_WRITE_BUFFER_FULL)));
+
+        StepVerifier.create(chatService.saveMsg(chatSaveReqDto))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_WRITE_BUFFER_FULL))
+                .verify(Duration.ofSeconds(1));
+
+        verify(chatHub, never()).publish(any(Chat.class));
+    }
+
     @Test
     void findChatRoomListBySeller_WhenSellerExists_ThenReturnChatRooms() {
         setupSellerAuthentication();
 
         when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
-                .thenReturn(Flux.just(chatRoom));
-        when(productService.findProductById(eq(productId)))
-                .thenReturn(Mono.just(product));
-        when(chatRepository.findRecentChat(eq(roomId)))
-                .thenReturn(Mono.just(chat));
-        when(imageService.findProductImageById(eq(productId)))
-                .thenReturn(Mono.just(image));
-        when(userService.findUserById(eq(sellerId)))
-                .thenReturn(Mono.just(seller));
-        when(userService.findUserById(eq(buyerId)))
-                .thenReturn(Mono.just(buyer));
+                .thenReturn(Flux.just(summarizedChatRoom));
 
+        // 요약 정보가 있으면 다른 컬렉션을 조회하지 않음
         StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
                 .expectNextMatches(chatRoomListResDto ->
                         chatRoomListResDto.productId().equals(productId) &&
@@ -300,7 +535,8 @@ class ChatServiceTest {
                         chatRoomListResDto.buyerId().equals(buyerId) &&
                         chatRoomListResDto.buyerNickname().equals(buyer.getNickname()) &&
                         chatRoomListResDto.recentMsg().equals(chat.getMsg()) &&
-                        chatRoomListResDto.thumbnailPath().equals(image.getThumbnailPath())
+                        chatRoomListResDto.thumbnailPath().equals(image.getThumbnailPath()) &&
+                        chatRoomListResDto.unreadCount() == 0
                 )
                 .verifyComplete();
     }
@@ -311,8 +547,14 @@ class ChatServiceTest {
 
         when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
                 .thenReturn(Flux.just(chatRoom));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRepository.findRecentChat(eq(roomId)))
+                .thenReturn(Mono.just(chat));
         when(productService.findProductById(eq(productId)))
                 .thenReturn(Mono.error(new RuntimeException("DB Error")));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
 
         StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
                 .expectErrorMatches(throwable -> throwable instanceof ApiException &&
@@ -325,18 +567,9 @@ class ChatServiceTest {
         setupBuyerAuthentication();
 
         when(chatRoomRepository.findChatRoomListByBuyer(eq(buyerId)))
-                .thenReturn(Flux.just(chatRoom));
-        when(productService.findProductById(eq(productId)))
-                .thenReturn(Mono.just(product));
-        when(chatRepository.findRecentChat(eq(roomId)))
-                .thenReturn(Mono.just(chat));
-        when(imageService.findProductImageById(eq(productId)))
-                .thenReturn(Mono.just(image));
-        when(userService.findUserById(eq(sellerId)))
-                .thenReturn(Mono.just(seller));
-        when(userService.findUserById(eq(buyerId)))
-                .thenReturn(Mono.just(buyer));
+                .thenReturn(Flux.just(summarizedChatRoom));
 
+        // 요약 정보가 있으면 다른 컬렉션을 조회하지 않음
         StepVerifier.create(chatService.findChatRoomListByBuyer(authentication))
                 .expectNextMatches(chatRoomListResDto ->
                         chatRoomListResDto.productId().equals(productId) &&
@@ -346,7 +579,8 @@ class ChatServiceTest {
                         chatRoomListResDto.buyerId().equals(buyerId) &&
                         chatRoomListResDto.buyerNickname().equals(buyer.getNickname()) &&
                         chatRoomListResDto.recentMsg().equals(chat.getMsg()) &&
-                        chatRoomListResDto.thumbnailPath().equals(image.getThumbnailPath())
+                        chatRoomListResDto.thumbnailPath().equals(image.getThumbnailPath()) &&
+                        chatRoomListResDto.unreadCount() == 3
                 )
                 .verifyComplete();
     }
@@ -357,12 +591,150 @@ class ChatServiceTest {
 
         when(chatRoomRepository.findChatRoomListByBuyer(eq(buyerId)))
                 .thenReturn(Flux.just(chatRoom));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRepository.findRecentChat(eq(roomId)))
+                .thenReturn(Mono.just(chat));
         when(productService.findProductById(eq(productId)))
                 .thenReturn(Mono.error(new RuntimeException("DB Error")));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
 
         StepVerifier.create(chatService.findChatRoomListByBuyer(authentication))
                 .expectErrorMatches(throwable -> throwable instanceof ApiException &&
                         ((ApiException) throwable).getException().equals(ExceptionMessage.CHAT_ROOM_INFO_FETCH_FAILED))
                 .verify(Duration.ofSeconds(1));
     }
+
+    @Test
+    void findChatRoomListBySeller_WhenUserMissing_ThenThrowApiException() {
+        setupSellerAuthentication();
+
+        when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
+                .thenReturn(Flux.just(chatRoom));
+        when(userService.findUsersByIds(anyCollection()))
+                .thenReturn(Mono.just(Map.of(sellerId, seller))); // 탈퇴한 구매자
+
+        StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.USER_NOT_FOUND))
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void findChatRoomListBySeller_WhenChatRoomHasNoSummary_ThenFillSummary() {
+        setupSellerAuthentication();
+
+        when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
+                .thenReturn(Flux.just(chatRoom));
+        when(userService.findUsersByIds(eq(Set.of(sellerId, buyerId))))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRepository.findRecentChat(eq(roomId)))
+                .thenReturn(Mono.just(chat));
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(chatRoomRepository.updateSummary(roomId, product.getTitle(), image.getThumbnailPath(),
+                seller.getNickname(), buyer.getNickname(), chat))
+                .thenReturn(Mono.just(summarizedChatRoom));
+
+        StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
+                .expectNextMatches(chatRoomListResDto ->
+                        chatRoomListResDto.productTitle().equals(product.getTitle()) &&
+                        chatRoomListResDto.recentMsg().equals(chat.getMsg()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findChatRoomListBySeller_WhenNoMessageYet_ThenExcludeChatRoom() {
+        setupSellerAuthentication();
+
+        ChatRoom emptyChatRoom = new ChatRoom.Builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .productTitle("테스트 상품")
+                .build();
+        when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
+                .thenReturn(Flux.just(emptyChatRoom));
+
+        StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
+                .verifyComplete();
+    }
+
+    @Test
+    void findChatRoomListBySeller_WhenLegacyChatRoomHasNoMessage_ThenPersistSummaryWithoutMessage() {
+        setupSellerAuthentication();
+
+        ChatRoom filledChatRoom = new ChatRoom.Builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .productTitle(product.getTitle())
+                .build();
+        when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
+                .thenReturn(Flux.just(chatRoom));
+        when(userService.findUsersByIds(eq(Set.of(sellerId, buyerId))))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRepository.findRecentChat(eq(roomId)))
+                .thenReturn(Mono.empty());
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(chatRoomRepository.updateSummary(eq(roomId), eq(product.getTitle()), eq(image.getThumbnailPath()),
+                eq(seller.getNickname()), eq(buyer.getNickname()), isNull()))
+                .thenReturn(Mono.just(filledChatRoom));
+
+        // 요약을 저장해 다음 조회부터는 다시 채우지 않고, 메시지가 없으므로 목록에서는 제외
+        StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
+                .verifyComplete();
+
+        verify(chatRoomRepository).updateSummary(eq(roomId), eq(product.getTitle()), eq(image.getThumbnailPath()),
+                eq(seller.getNickname()), eq(buyer.getNickname()), isNull());
+    }
+
+    @Test
+    void findChatRoomListBySeller_WhenLegacyChatRoomFilled_ThenSortByRecentMessage() {
+        setupSellerAuthentication();
+
+        String legacyRoomId = "legacyRoom";
+        ChatRoom legacyChatRoom = new ChatRoom.Builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .build();
+        ReflectionTestUtils.setField(legacyChatRoom, "id", legacyRoomId);
+        ChatRoom filledChatRoom = new ChatRoom.Builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .productTitle(product.getTitle())
+                .build();
+        ReflectionTestUtils.setField(filledChatRoom, "id", legacyRoomId);
+        ReflectionTestUtils.setField(filledChatRoom, "lastMessage", "Newest");
+        ReflectionTestUtils.setField(filledChatRoom, "lastMessageAt", LocalDateTime.now());
+        ReflectionTestUtils.setField(summarizedChatRoom, "lastMessageAt", LocalDateTime.now().minusHours(1));
+
+        // Mongo 정렬에서 lastMessageAt이 null인 요약 없는 채팅방은 뒤에 옴
+        when(chatRoomRepository.findChatRoomListBySeller(eq(sellerId)))
+                .thenReturn(Flux.just(summarizedChatRoom, legacyChatRoom));
+        when(userService.findUsersByIds(eq(Set.of(sellerId, buyerId))))
+                .thenReturn(Mono.just(Map.of(sellerId, seller, buyerId, buyer)));
+        when(chatRepository.findRecentChat(eq(legacyRoomId)))
+                .thenReturn(Mono.just(chat));
+        when(productService.findProductById(eq(productId)))
+                .thenReturn(Mono.just(product));
+        when(imageService.findProductImageById(eq(productId)))
+                .thenReturn(Mono.just(image));
+        when(chatRoomRepository.updateSummary(legacyRoomId, product.getTitle(), image.getThumbnailPath(),
+                seller.getNickname(), buyer.getNickname(), chat))
+                .thenReturn(Mono.just(filledChatRoom));
+
+        StepVerifier.create(chatService.findChatRoomListBySeller(authentication))
+                .expectNextMatches(chatRoomListResDto -> chatRoomListResDto.recentMsg().equals("Newest"))
+                .expectNextMatches(chatRoomListResDto -> chatRoomListResDto.recentMsg().equals(summarizedChatRoom.getLastMessage()))
+                .verifyComplete();
+    }
 }
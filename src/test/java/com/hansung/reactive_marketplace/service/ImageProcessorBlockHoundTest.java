@@ -0,0 +1,68 @@
+package com.hansung.reactive_marketplace.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.coobird.thumbnailator.Thumbnails;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// BlockHound는 JVM 전체에 설치되므로 blockHoundTest 태스크에서 별도 JVM으로 실행
+@Tag("blockhound")
+class ImageProcessorBlockHoundTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    private Path createSourceImage() throws IOException {
+        Path source = tempDir.resolve("original.jpg");
+        ImageIO.write(new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB), "jpg", source.toFile());
+        return source;
+    }
+
+    @Test
+    void testResize_WhenCalledFromNonBlockingThread_ThenNoBlockingCallDetected() throws IOException {
+        Path source = createSourceImage();
+        Scheduler imageScheduler = Schedulers.newBoundedElastic(2, 10, "image-worker");
+        ImageProcessor imageProcessor = new ImageProcessor(imageScheduler, new SimpleMeterRegistry(), 10, false, 0.8f);
+
+        // parallel 스케줄러는 이벤트 루프처럼 non-blocking 스레드로 취급됨
+        StepVerifier.create(imageProcessor.resize(source, tempDir.resolve("resized.jpg"), 300, 350)
+                        .subscribeOn(Schedulers.parallel()))
+                .verifyComplete();
+
+        imageScheduler.dispose();
+    }
+
+    @Test
+    void testThumbnails_WhenRunOnNonBlockingThread_ThenBlockHoundDetectsIt() throws IOException {
+        Path source = createSourceImage();
+
+        // 전용 스케줄러 없이 실행했던 기존 방식은 BlockHound에 검출됨
+        StepVerifier.create(Mono.fromCallable(() -> {
+                            Thumbnails.of(source.toFile())
+                                    .forceSize(300, 350)
+                                    .toFile(tempDir.resolve("resized.jpg").toFile());
+                            return true;
+                        })
+                        .subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+}
@@ -0,0 +1,179 @@
+package com.hansung.reactive_marketplace.service;
+
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ImageProcessorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Scheduler imageScheduler;
+
+    private ImageProcessor imageProcessor;
+
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        imageScheduler = Schedulers.newBoundedElastic(1, 1, "test-image-worker");
+        imageProcessor = new ImageProcessor(imageScheduler, meterRegistry, 100, true, 0.8f);
+
+        source = tempDir.resolve("original.jpg");
+        ImageIO.write(new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB), "jpg", source.toFile());
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageScheduler.dispose();
+    }
+
+    @Test
+    void testResize_WhenSourceExists_ThenWriteThumbnailOnImageWorker() throws IOException {
+        Path target = tempDir.resolve("resized.jpg");
+
+        StepVerifier.create(imageProcessor.resize(source, target, 300, 350))
+                .verifyComplete();
+
+        BufferedImage resized = ImageIO.read(target.toFile());
+        assertThat(resized.getWidth()).isEqualTo(300);
+        assertThat(resized.getHeight()).isEqualTo(350);
+        assertThat(meterRegistry.get("image.worker.resize").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.worker.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.worker.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testResizeToWidth_WhenWidthIsSmaller_ThenKeepAspectRatio() throws IOException {
+        Path wideSource = tempDir.resolve("wide.jpg");
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), "jpg", wideSource.toFile());
+        Path target = tempDir.resolve("wide_w200.jpg");
+
+        StepVerifier.create(imageProcessor.resizeToWidth(wideSource, target, 200))
+                .expectNext(new ImageProcessor.Size(200, 150))
+                .verifyComplete();
+
+        BufferedImage resized = ImageIO.read(target.toFile());
+        assertThat(resized.getWidth()).isEqualTo(200);
+        assertThat(resized.getHeight()).isEqualTo(150);
+    }
+
+    @Test
+    void testResizeToWidth_WhenWidthIsLarger_ThenDoNotUpscale() {
+        StepVerifier.create(imageProcessor.resizeToWidth(source, tempDir.resolve("original_w800.jpg"), 800))
+                .expectNext(new ImageProcessor.Size(400, 400))
+                .verifyComplete();
+    }
+
+    @Test
+    void testReadImageSize_WhenSourceExists_ThenReturnSize() {
+        StepVerifier.create(imageProcessor.readImageSize(source))
+                .expectNext(new ImageProcessor.Size(400, 400))
+                .verifyComplete();
+    }
+
+    @Test
+    void testWriteWebp_WhenEncoderAvailable_ThenWriteWebpFile() throws IOException {
+        assumeTrue(imageProcessor.isWebpEnabled()); // 네이티브 인코더를 쓸 수 없는 OS에서는 건너뜀
+        Path target = tempDir.resolve("original.jpg.webp");
+
+        StepVerifier.create(imageProcessor.writeWebp(source, target))
+                .expectNext(true)
+                .verifyComplete();
+
+        BufferedImage webp = ImageIO.read(target.toFile());
+        assertThat(webp.getWidth()).isEqualTo(400);
+        assertThat(webp.getHeight()).isEqualTo(400);
+    }
+
+    @Test
+    void testWriteWebp_WhenDisabled_ThenSkip() {
+        ImageProcessor disabledProcessor = new ImageProcessor(imageScheduler, meterRegistry, 100, false, 0.8f);
+        Path target = tempDir.resolve("original.jpg.webp");
+
+        StepVerifier.create(disabledProcessor.writeWebp(source, target))
+                .expectNext(false)
+                .verifyComplete();
+
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    void testResize_WhenQueueIsFull_ThenThrowImageProcessingBusy() {
+        CountDownLatch release = new CountDownLatch(1);
+        // 스레드 1개는 작업 중, 대기열 1칸은 가득 찬 상태로 만듦
+        imageScheduler.schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        imageScheduler.schedule(() -> {});
+
+        StepVerifier.create(imageProcessor.resize(source, tempDir.resolve("resized.jpg"), 300, 350))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_PROCESSING_BUSY))
+                .verify();
+
+        release.countDown();
+        assertThat(meterRegistry.get("image.worker.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testResize_WhenPendingTasksExceedQueueCapacity_ThenThrowImageProcessingBusy() {
+        // 스케줄러 대기열은 여유가 있어도 전체 대기 작업 수 제한에 먼저 걸려야 함
+        Scheduler roomyScheduler = Schedulers.newBoundedElastic(1, 10, "test-roomy-image-worker");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ImageProcessor limitedProcessor = new ImageProcessor(roomyScheduler, registry, 1, false, 0.8f);
+        CountDownLatch release = new CountDownLatch(1);
+        roomyScheduler.schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            // 첫 작업은 스레드가 비기를 기다리며 대기열 1칸을 차지
+            Mono<Void> queued = limitedProcessor.resize(source, tempDir.resolve("queued.jpg"), 300, 350).cache();
+            queued.subscribe();
+            assertThat(registry.get("image.worker.pending").gauge().value()).isEqualTo(1);
+
+            StepVerifier.create(limitedProcessor.resize(source, tempDir.resolve("rejected.jpg"), 300, 350))
+                    .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                            ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_PROCESSING_BUSY))
+                    .verify();
+
+            release.countDown();
+            StepVerifier.create(queued)
+                    .verifyComplete();
+            assertThat(registry.get("image.worker.pending").gauge().value()).isZero();
+        } finally {
+            release.countDown();
+            roomyScheduler.dispose();
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.hansung.reactive_marketplace.service;
 
 import com.hansung.reactive_marketplace.domain.Image;
+import com.hansung.reactive_marketplace.domain.ImageBlob;
 import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.ImageVariant;
+import com.hansung.reactive_marketplace.domain.ThumbnailJob;
 import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import com.hansung.reactive_marketplace.job.ThumbnailJobQueue;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ImageBlobRepository;
 import com.hansung.reactive_marketplace.repository.ImageRepository;
+import com.hansung.reactive_marketplace.storage.LocalImageStorage;
 import com.hansung.reactive_marketplace.util.ImageUtils;
-import net.coobird.thumbnailator.Thumbnails;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -21,26 +28,39 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ImageServiceTest {
 
+    // "test data"의 SHA-256 해시
+    private static final String TEST_DATA_SHA256 = "916f0027a575074ce72a331777c3478d6513f786a591bd892da1a577bf2335f9";
+
     @Mock
     private ImageRepository imageRepository;
 
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
     @Mock
     private RedisCacheManager redisCacheManager;
 
@@ -50,9 +70,17 @@ class ImageServiceTest {
     @Mock
     private TransactionalOperator transactionalOperator;
 
-    @InjectMocks
+    @Mock
+    private ThumbnailJobQueue thumbnailJobQueue;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
     private ImageServiceImpl imageService;
 
+    @TempDir
+    private Path tempDir;
+
     private String productId;
     private String userId;
     private String fileName;
@@ -63,16 +91,22 @@ class ImageServiceTest {
 
     @BeforeEach
     void setUp() {
+        // 파일 입출력은 임시 디렉토리를 사용하는 실제 로컬 저장소로 검증
+        imageService = new ImageServiceImpl(imageRepository, imageBlobRepository, new LocalImageStorage(tempDir.toString() + "/"),
+                redisCacheManager, transactionalOperator, thumbnailJobQueue, chatRoomRepository);
         ReflectionTestUtils.setField(imageService, "profileOriginalPath", "test/profile/original");
         ReflectionTestUtils.setField(imageService, "profileThumbnailPath", "test/profile/thumbnail");
         ReflectionTestUtils.setField(imageService, "productOriginalPath", "test/product/original");
         ReflectionTestUtils.setField(imageService, "productThumbnailPath", "test/product/thumbnail");
+        ReflectionTestUtils.setField(imageService, "variantWidths", List.of(300, 800));
+        ReflectionTestUtils.setField(imageService, "maxProductImages", 10);
+        ReflectionTestUtils.setField(imageService, "uploadConcurrency", 4);
 
         productId = "testProduct";
         userId = "testUser";
         fileName = "test.jpg";
         uniqueFileName = "test-uuid_" + fileName;
-        fileSize = 1024L;
+        fileSize = "test data".length();
 
         userImage = new Image.Builder()
                 .imageName(fileName)
@@ -92,19 +126,45 @@ class ImageServiceTest {
                 .productId(productId)
                 .imagePath("test/product/original/" + uniqueFileName)
                 .thumbnailPath("test/product/thumbnail/resized_" + uniqueFileName)
+                .variants(List.of(
+                        new ImageVariant(300, 225, "test/product/original/test-uuid_test_w300.jpg"),
+                        new ImageVariant(1000, 750, "test/product/original/" + uniqueFileName)))
                 .build();
     }
 
+    // 삭제 대상 원본, 썸네일, 너비별 이미지 파일을 임시 디렉토리에 생성
+    private void createImageFiles(Image image) throws IOException {
+        List<String> imagePaths = new ArrayList<>(List.of(image.getImagePath(), image.getThumbnailPath()));
+        if (image.getVariants() != null) {
+            image.getVariants().forEach(variant -> imagePaths.add(variant.getPath()));
+        }
+        for (String imagePath : imagePaths) {
+            Path path = tempDir.resolve(imagePath);
+            Files.createDirectories(path.getParent());
+            Files.write(path, "test data".getBytes());
+        }
+    }
+
     private void transactionalSetUp() {
         // 트랜잭션 호출시 첫번째 인자를 그대로 반환하도록 지정
         when(transactionalOperator.transactional(any(Mono.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
     }
 
+    private void newBlobSetUp() {
+        // 처음 올라온 파일이면 요청한 경로로 blob 생성
+        when(imageBlobRepository.acquire(eq(TEST_DATA_SHA256), any(ImageSource.class), anyString()))
+                .thenAnswer(invocation -> Mono.just(new ImageBlob.Builder()
+                        .contentHash(invocation.getArgument(0))
+                        .imageSource(invocation.getArgument(1))
+                        .imagePath(invocation.getArgument(2))
+                        .refCount(1)
+                        .build()));
+    }
+
     @Test
-    void testUploadImage_WhenValidFileProvided_ThenImageUploadedSuccessfully() {
-        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class);
-             MockedStatic<Thumbnails> thumbnails = Mockito.mockStatic(Thumbnails.class)) {
+    void testUploadImage_WhenValidFileProvided_ThenImageUploadedSuccessfully() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
 
             transactionalSetUp();
 
@@ -122,25 +182,19 @@ class ImageServiceTest {
             imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
                     .thenCallRealMethod();
 
-            // Thumbnails static 메소드 mocking
-            Thumbnails.Builder<File> builder = mock(Thumbnails.Builder.class);
-            when(builder.forceSize(anyInt(), anyInt())).thenReturn(builder);
-            when(builder.outputQuality(anyDouble())).thenReturn(builder);
-            try {
-                doNothing().when(builder).toFile(any(File.class));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            thumbnails.when(() -> Thumbnails.of(any(File.class))).thenReturn(builder);
+            newBlobSetUp();
+
+            // 썸네일 작업 등록 mocking
+            when(thumbnailJobQueue.enqueue(any(ThumbnailJob.class))).thenReturn(Mono.empty());
 
             // FilePart 추가 설정
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.IMAGE_JPEG);
             when(filePart.headers()).thenReturn(headers);
-            when(filePart.transferTo(any(File.class))).thenReturn(Mono.empty());
 
             // Repository mock
-            when(imageRepository.save(any(Image.class))).thenReturn(Mono.just(userImage));
+            when(imageRepository.save(any(Image.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            Files.createDirectories(tempDir.resolve("test/profile/original"));
 
             imageService.uploadImage(filePart, userId, ImageSource.PROFILE)
                     .as(StepVerifier::create)
@@ -150,17 +204,27 @@ class ImageServiceTest {
                                     image.getImageSize() == fileSize &&
                                     image.getImageSource() == ImageSource.PROFILE &&
                                     image.getUserId().equals(userId) &&
+                                    image.getContentHash().equals(TEST_DATA_SHA256) &&
                                     image.getImagePath().equals("test/profile/original/" + uniqueFileName) &&
-                                    image.getThumbnailPath().equals("test/profile/thumbnail/resized_" + uniqueFileName)
+                                    image.getThumbnailPath().equals("/img/profile.png") // 썸네일 생성 전에는 기본 이미지
                     )
                     .verifyComplete();
+
+            verify(thumbnailJobQueue).enqueue(argThat(job ->
+                    job.getSourcePath().equals("test/profile/original/" + uniqueFileName) &&
+                            job.getTargetPath().equals("test/profile/thumbnail/resized_" + uniqueFileName) &&
+                            job.getWidth() == 45 &&
+                            job.getHeight() == 45 &&
+                            job.getCacheKey().equals("userImage:" + userId)));
+
+            // 업로드 스트림이 그대로 원본 파일에 기록되었는지 확인
+            assertThat(Files.readString(tempDir.resolve("test/profile/original/" + uniqueFileName))).isEqualTo("test data");
         }
     }
 
     @Test
-    void testUploadImage_WhenValidProductFileProvided_ThenProductImageUploadedSuccessfully() {
-        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class);
-             MockedStatic<Thumbnails> thumbnails = Mockito.mockStatic(Thumbnails.class)) {
+    void testUploadImage_WhenValidProductFileProvided_ThenProductImageUploadedSuccessfully() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
 
             transactionalSetUp();
 
@@ -178,25 +242,19 @@ class ImageServiceTest {
             imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
                     .thenCallRealMethod();
 
-            // Thumbnails static 메소드 mocking
-            Thumbnails.Builder<File> builder = mock(Thumbnails.Builder.class);
-            when(builder.forceSize(anyInt(), anyInt())).thenReturn(builder);
-            when(builder.outputQuality(anyDouble())).thenReturn(builder);
-            try {
-                doNothing().when(builder).toFile(any(File.class));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            thumbnails.when(() -> Thumbnails.of(any(File.class))).thenReturn(builder);
+            newBlobSetUp();
+
+            // 썸네일 작업 등록 mocking
+            when(thumbnailJobQueue.enqueue(any(ThumbnailJob.class))).thenReturn(Mono.empty());
 
             // FilePart 추가 설정
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.IMAGE_JPEG);
             when(filePart.headers()).thenReturn(headers);
-            when(filePart.transferTo(any(File.class))).thenReturn(Mono.empty());
 
             // Repository mock
-            when(imageRepository.save(any(Image.class))).thenReturn(Mono.just(productImage));
+            when(imageRepository.save(any(Image.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            Files.createDirectories(tempDir.resolve("test/product/original"));
 
             imageService.uploadImage(filePart, productId, ImageSource.PRODUCT)
                     .as(StepVerifier::create)
@@ -206,16 +264,236 @@ class ImageServiceTest {
                                     image.getImageSize() == fileSize &&
                                     image.getImageSource() == ImageSource.PRODUCT &&
                                     image.getProductId().equals(productId) &&
+                                    image.getContentHash().equals(TEST_DATA_SHA256) &&
                                     image.getImagePath().equals("test/product/original/" + uniqueFileName) &&
-                                    image.getThumbnailPath().equals("test/product/thumbnail/resized_" + uniqueFileName)
+                                    image.getThumbnailPath().equals("/img/placeholder.png") // 썸네일 생성 전에는 placeholder
                     )
                     .verifyComplete();
+
+            verify(thumbnailJobQueue).enqueue(argThat(job ->
+                    job.getTargetPath().equals("test/product/thumbnail/resized_" + uniqueFileName) &&
+                            job.getWidth() == 300 &&
+                            job.getHeight() == 350 &&
+                            job.getVariantWidths().equals(List.of(300, 800)) &&
+                            job.getCacheKey().equals("productImage:" + productId)));
+        }
+    }
+
+    @Test
+    void testUploadImage_WhenDatabaseErrorOccurs_ThenDeleteWrittenFile() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
+
+            transactionalSetUp();
+
+            when(filePart.filename()).thenReturn(fileName);
+            when(filePart.content()).thenReturn(Flux.just(new DefaultDataBufferFactory().wrap("test data".getBytes())));
+            when(filePart.headers()).thenReturn(new HttpHeaders());
+
+            imageUtils.when(() -> ImageUtils.generateUniqueImageName(anyString()))
+                    .thenReturn(uniqueFileName);
+            imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
+                    .thenCallRealMethod();
+
+            newBlobSetUp();
+            when(imageRepository.save(any(Image.class))).thenReturn(Mono.error(new RuntimeException("DB Error")));
+            Files.createDirectories(tempDir.resolve("test/product/original"));
+
+            imageService.uploadImage(filePart, productId, ImageSource.PRODUCT)
+                    .as(StepVerifier::create)
+                    .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                            ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_UPLOAD_FAILED))
+                    .verify();
+
+            assertThat(tempDir.resolve("test/product/original/" + uniqueFileName)).doesNotExist();
+        }
+    }
+
+    @Test
+    void testUploadImage_WhenSameContentAlreadyStored_ThenReuseStoredFiles() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
+
+            transactionalSetUp();
+
+            when(filePart.filename()).thenReturn(fileName);
+            when(filePart.content()).thenReturn(Flux.just(new DefaultDataBufferFactory().wrap("test data".getBytes())));
+            when(filePart.headers()).thenReturn(new HttpHeaders());
+
+            imageUtils.when(() -> ImageUtils.generateUniqueImageName(anyString()))
+                    .thenReturn(uniqueFileName);
+            imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
+                    .thenCallRealMethod();
+
+            // 같은 내용의 파일이 이미 썸네일까지 생성된 상태
+            when(imageBlobRepository.acquire(TEST_DATA_SHA256, ImageSource.PRODUCT, "test/product/original/" + uniqueFileName))
+                    .thenReturn(Mono.just(new ImageBlob.Builder()
+                            .contentHash(TEST_DATA_SHA256)
+                            .imageSource(ImageSource.PRODUCT)
+                            .imagePath("test/product/original/stored_test.jpg")
+                            .thumbnailPath("test/product/thumbnail/resized_stored_test.jpg")
+                            .variants(List.of(new ImageVariant(300, 225, "test/product/original/stored_test_w300.jpg")))
+                            .refCount(2)
+                            .build()));
+            when(imageRepository.save(any(Image.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            Files.createDirectories(tempDir.resolve("test/product/original"));
+
+            imageService.uploadImage(filePart, productId, ImageSource.PRODUCT)
+                    .as(StepVerifier::create)
+                    .expectNextMatches(image ->
+                            image.getImagePath().equals("test/product/original/stored_test.jpg") &&
+                                    image.getThumbnailPath().equals("test/product/thumbnail/resized_stored_test.jpg") &&
+                                    image.getVariants().size() == 1)
+                    .verifyComplete();
+
+            // 방금 쓴 중복 파일은 지우고 리사이징 작업도 등록하지 않음
+            assertThat(tempDir.resolve("test/product/original/" + uniqueFileName)).doesNotExist();
+            verify(thumbnailJobQueue, never()).enqueue(any());
+        }
+    }
+
+    @Test
+    void testReplaceProductImage_WhenSameContentAlreadyStored_ThenUpdateChatRoomThumbnail() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
+
+            transactionalSetUp();
+
+            when(filePart.filename()).thenReturn(fileName);
+            when(filePart.content()).thenReturn(Flux.just(new DefaultDataBufferFactory().wrap("test data".getBytes())));
+            when(filePart.headers()).thenReturn(new HttpHeaders());
+
+            imageUtils.when(() -> ImageUtils.generateUniqueImageName(anyString()))
+                    .thenReturn(uniqueFileName);
+            imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
+                    .thenCallRealMethod();
+
+            // 새 대표 이미지와 같은 내용의 파일이 이미 썸네일까지 생성된 상태
+            when(imageRepository.findCoverByProductId(productId)).thenReturn(Mono.just(productImage));
+            when(imageBlobRepository.acquire(TEST_DATA_SHA256, ImageSource.PRODUCT, "test/product/original/" + uniqueFileName))
+                    .thenReturn(Mono.just(new ImageBlob.Builder()
+                            .contentHash(TEST_DATA_SHA256)
+                            .imageSource(ImageSource.PRODUCT)
+                            .imagePath("test/product/original/stored_test.jpg")
+                            .thumbnailPath("test/product/thumbnail/resized_stored_test.jpg")
+                            .refCount(2)
+                            .build()));
+            when(imageRepository.save(any(Image.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+            when(imageRepository.deleteById(productImage.getId())).thenReturn(Mono.empty());
+            when(redisCacheManager.deleteValue("productImage:" + productId)).thenReturn(Mono.empty());
+            when(chatRoomRepository.updateThumbnailPath(productId, "test/product/thumbnail/resized_stored_test.jpg"))
+                    .thenReturn(Mono.just(1L));
+            createImageFiles(productImage);
+
+            imageService.replaceProductImage(filePart, productId, ImageSource.PRODUCT)
+                    .as(StepVerifier::create)
+                    .expectNextMatches(image -> image.getThumbnailPath().equals("test/product/thumbnail/resized_stored_test.jpg"))
+                    .verifyComplete();
+
+            // 리사이징 작업이 없으므로 워커 대신 채팅방 썸네일을 바로 변경
+            verify(thumbnailJobQueue, never()).enqueue(any());
+            verify(chatRoomRepository).updateThumbnailPath(productId, "test/product/thumbnail/resized_stored_test.jpg");
+        }
+    }
+
+    // 파일명마다 다른 저장 경로를 사용하도록 지정한 FilePart
+    private FilePart productFilePart(String name, String content) {
+        FilePart part = mock(FilePart.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_JPEG);
+        when(part.filename()).thenReturn(name);
+        when(part.headers()).thenReturn(headers);
+        when(part.content()).thenReturn(Flux.just(new DefaultDataBufferFactory().wrap(content.getBytes())));
+        return part;
+    }
+
+    @Test
+    void testUploadProductImages_WhenMultipleFilesProvided_ThenBulkInsertInOrderWithCover() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
+
+            transactionalSetUp();
+            imageUtils.when(() -> ImageUtils.generateUniqueImageName(anyString()))
+                    .thenAnswer(invocation -> "uuid_" + invocation.getArgument(0));
+            imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
+                    .thenCallRealMethod();
+
+            when(imageBlobRepository.acquire(anyString(), eq(ImageSource.PRODUCT), anyString()))
+                    .thenAnswer(invocation -> Mono.just(new ImageBlob.Builder()
+                            .contentHash(invocation.getArgument(0))
+                            .imageSource(ImageSource.PRODUCT)
+                            .imagePath(invocation.getArgument(2))
+                            .refCount(1)
+                            .build()));
+            when(imageRepository.insert(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Image>>getArgument(0)));
+            when(thumbnailJobQueue.enqueue(any(ThumbnailJob.class))).thenReturn(Mono.empty());
+            Files.createDirectories(tempDir.resolve("test/product/original"));
+
+            Flux<FilePart> images = Flux.just(
+                    productFilePart("first.jpg", "first"),
+                    productFilePart("second.jpg", "second"),
+                    productFilePart("third.jpg", "third"));
+
+            imageService.uploadProductImages(images, productId, ImageSource.PRODUCT, 1)
+                    .as(StepVerifier::create)
+                    .assertNext(uploaded -> {
+                        assertThat(uploaded)
+                                .extracting(image -> image.getImageName(), image -> image.getPosition(), image -> image.isCover())
+                                .containsExactly(
+                                        tuple("first.jpg", 0, false),
+                                        tuple("second.jpg", 1, true),
+                                        tuple("third.jpg", 2, false));
+                        assertThat(uploaded).allMatch(image -> image.getProductId().equals(productId));
+                    })
+                    .verifyComplete();
+
+            // 이미지 문서는 한 번에 저장하고 썸네일 작업은 이미지마다 등록
+            verify(imageRepository, times(1)).insert(anyList());
+            verify(imageRepository, never()).save(any(Image.class));
+            verify(thumbnailJobQueue, times(3)).enqueue(any(ThumbnailJob.class));
+            assertThat(Files.readString(tempDir.resolve("test/product/original/uuid_second.jpg"))).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void testUploadProductImages_WhenNoFilesProvided_ThenThrowImageNotFound() {
+        transactionalSetUp();
+
+        imageService.uploadProductImages(Flux.empty(), productId, ImageSource.PRODUCT, 0)
+                .as(StepVerifier::create)
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_NOT_FOUND))
+                .verify();
+
+        verify(imageRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void testUploadProductImages_WhenTooManyFiles_ThenFailAndDeleteWrittenFiles() throws IOException {
+        try (MockedStatic<ImageUtils> imageUtils = Mockito.mockStatic(ImageUtils.class)) {
+
+            transactionalSetUp();
+            ReflectionTestUtils.setField(imageService, "maxProductImages", 1);
+            imageUtils.when(() -> ImageUtils.generateUniqueImageName(anyString()))
+                    .thenAnswer(invocation -> "uuid_" + invocation.getArgument(0));
+            imageUtils.when(() -> ImageUtils.generateImagePath(anyString(), anyString()))
+                    .thenCallRealMethod();
+            Files.createDirectories(tempDir.resolve("test/product/original"));
+
+            FilePart first = mock(FilePart.class);
+            when(first.filename()).thenReturn("first.jpg");
+            when(first.content()).thenReturn(Flux.just(new DefaultDataBufferFactory().wrap("first".getBytes())));
+
+            imageService.uploadProductImages(Flux.just(first, mock(FilePart.class)), productId, ImageSource.PRODUCT, 0)
+                    .as(StepVerifier::create)
+                    .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                            ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_COUNT_EXCEEDED))
+                    .verify();
+
+            assertThat(tempDir.resolve("test/product/original/uuid_first.jpg")).doesNotExist();
+            verify(imageRepository, never()).insert(anyList());
         }
     }
 
     @Test
     void testFindProductImageById_WhenProductExists_ThenReturnImage() {
-        when(imageRepository.findByProductId(productId)).thenReturn(Mono.just(userImage));
+        when(imageRepository.findCoverByProductId(productId)).thenReturn(Mono.just(userImage));
 
         imageService.findProductImageById(productId)
                 .as(StepVerifier::create)
@@ -226,7 +504,7 @@ class ImageServiceTest {
     @Test
     void testFindProductImageById_WhenProductDoesNotExist_ThenThrowApiException() {
         String productId = "nonExistentProduct";
-        when(imageRepository.findByProductId(productId)).thenReturn(Mono.empty());
+        when(imageRepository.findCoverByProductId(productId)).thenReturn(Mono.empty());
 
         imageService.findProductImageById(productId)
                 .as(StepVerifier::create)
@@ -234,6 +512,19 @@ class ImageServiceTest {
                 .verify();
     }
 
+    @Test
+    void testFindProductImagesByIds_WhenProductsExist_ThenReturnImageMap() {
+        when(imageRepository.findCoversByProductIdIn(List.of(productId, "otherProduct")))
+                .thenReturn(Flux.just(productImage));
+
+        imageService.findProductImagesByIds(List.of(productId, "otherProduct"))
+                .as(StepVerifier::create)
+                .expectNextMatches(imageMap ->
+                        imageMap.size() == 1 &&
+                                imageMap.get(productId) == productImage)
+                .verifyComplete();
+    }
+
     @Test
     void testFindProductImageByIdWithCache_WhenProductExistsInCache_ThenReturnImage() {
         when(redisCacheManager.getOrFetch(
@@ -246,7 +537,7 @@ class ImageServiceTest {
             return fetchFunction;
         });
 
-        when(imageRepository.findByProductId(productId)).thenReturn(Mono.just(userImage));
+        when(imageRepository.findCoverByProductId(productId)).thenReturn(Mono.just(userImage));
 
         imageService.findProductImageByIdWithCache(productId)
                 .as(StepVerifier::create)
@@ -305,45 +596,203 @@ class ImageServiceTest {
     }
 
     @Test
-    void testDeleteProductImageById_WhenProductExists_ThenDeleteImageSuccessfully() {
+    void testDeleteProductImageById_WhenProductExists_ThenDeleteImageSuccessfully() throws IOException {
         transactionalSetUp();
-        when(imageRepository.findByProductId(productId)).thenReturn(Mono.just(productImage));
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(productImage));
         when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
         when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
 
-        try (MockedStatic<Files> files = Mockito.mockStatic(Files.class)) {
-            files.when(() -> Files.delete(any(Path.class))).then(invocation -> {
-                // void 메소드이므로 null을 반환
-                return null;
-            });
+        createImageFiles(productImage);
 
-            StepVerifier.create(imageService.deleteProductImageById(productId))
-                    .verifyComplete();
-        }
+        StepVerifier.create(imageService.deleteProductImageById(productId))
+                .verifyComplete();
+
+        assertThat(tempDir.resolve(productImage.getImagePath())).doesNotExist();
+        assertThat(tempDir.resolve(productImage.getThumbnailPath())).doesNotExist();
+        assertThat(tempDir.resolve("test/product/original/test-uuid_test_w300.jpg")).doesNotExist();
     }
 
     @Test
-    void testDeleteProfileImageById_WhenUserExists_ThenDeleteImageSuccessfully() {
+    void testDeleteProfileImageById_WhenUserExists_ThenDeleteImageSuccessfully() throws IOException {
         transactionalSetUp();
         when(imageRepository.findByUserId(userId)).thenReturn(Mono.just(userImage));
         when(imageRepository.deleteByUserId(userId)).thenReturn(Mono.empty());
         when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
 
-        try (MockedStatic<Files> files = Mockito.mockStatic(Files.class)) {
-            files.when(() -> Files.delete(any(Path.class))).then(invocation -> {
-                // void 메소드이므로 null을 반환
-                return null;
-            });
+        createImageFiles(userImage);
 
-            StepVerifier.create(imageService.deleteProfileImageById(userId))
-                    .verifyComplete();
+        StepVerifier.create(imageService.deleteProfileImageById(userId))
+                .verifyComplete();
+
+        assertThat(tempDir.resolve(userImage.getImagePath())).doesNotExist();
+        assertThat(tempDir.resolve(userImage.getThumbnailPath())).doesNotExist();
+    }
+
+    @Test
+    void testDeleteProductImageById_WhenThumbnailNotGeneratedYet_ThenDeleteOriginalOnly() throws IOException {
+        transactionalSetUp();
+        Image pendingImage = productImage.toBuilder()
+                .thumbnailPath("/img/placeholder.png")
+                .build();
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(pendingImage));
+        when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
+        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
+
+        Path originalFile = tempDir.resolve(pendingImage.getImagePath());
+        Files.createDirectories(originalFile.getParent());
+        Files.write(originalFile, "test data".getBytes());
+
+        StepVerifier.create(imageService.deleteProductImageById(productId))
+                .verifyComplete();
+
+        assertThat(originalFile).doesNotExist();
+    }
+
+    @Test
+    void testDeleteProductImageById_WhenFileIsShared_ThenKeepFiles() throws IOException {
+        transactionalSetUp();
+        Image sharedImage = productImage.toBuilder()
+                .imageSource(ImageSource.PRODUCT)
+                .contentHash(TEST_DATA_SHA256)
+                .build();
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(sharedImage));
+        when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
+        when(imageBlobRepository.release(TEST_DATA_SHA256, ImageSource.PRODUCT))
+                .thenReturn(Mono.just(new ImageBlob.Builder().imagePath(sharedImage.getImagePath()).refCount(1).build()));
+        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
+
+        createImageFiles(sharedImage);
+
+        StepVerifier.create(imageService.deleteProductImageById(productId))
+                .verifyComplete();
+
+        // 다른 이미지가 아직 참조하므로 파일 유지
+        assertThat(tempDir.resolve(sharedImage.getImagePath())).exists();
+        assertThat(tempDir.resolve(sharedImage.getThumbnailPath())).exists();
+        verify(imageBlobRepository, never()).deleteIfUnreferenced(any());
+    }
+
+    @Test
+    void testDeleteProductImageById_WhenLastReference_ThenDeleteBlobFiles() throws IOException {
+        transactionalSetUp();
+        Image pendingImage = productImage.toBuilder()
+                .imageSource(ImageSource.PRODUCT)
+                .contentHash(TEST_DATA_SHA256)
+                .thumbnailPath("/img/placeholder.png")
+                .variants(null)
+                .build();
+        // 이 이미지는 아직 placeholder지만 blob에는 다른 이미지의 작업으로 생성된 썸네일이 기록되어 있음
+        ImageBlob blob = new ImageBlob.Builder()
+                .imagePath(productImage.getImagePath())
+                .thumbnailPath(productImage.getThumbnailPath())
+                .variants(productImage.getVariants())
+                .refCount(0)
+                .build();
+        ReflectionTestUtils.setField(blob, "id", "blobId");
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(pendingImage));
+        when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
+        when(imageBlobRepository.release(TEST_DATA_SHA256, ImageSource.PRODUCT)).thenReturn(Mono.just(blob));
+        when(imageBlobRepository.deleteIfUnreferenced("blobId")).thenReturn(Mono.just(true));
+        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
+
+        createImageFiles(productImage);
+
+        StepVerifier.create(imageService.deleteProductImageById(productId))
+                .verifyComplete();
+
+        assertThat(tempDir.resolve(productImage.getImagePath())).doesNotExist();
+        assertThat(tempDir.resolve(productImage.getThumbnailPath())).doesNotExist();
+        assertThat(tempDir.resolve("test/product/original/test-uuid_test_w300.jpg")).doesNotExist();
+    }
+
+    @Test
+    void testDeleteProductImageById_WhenOuterTransactionCommits_ThenDeleteFilesAfterCommit() throws IOException {
+        TransactionalOperator operator = inMemoryTransactionalSetUp();
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(productImage));
+        when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
+        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
+
+        createImageFiles(productImage);
+
+        // 상품 삭제처럼 바깥 트랜잭션 안에서 호출, 커밋 전에는 파일이 남아 있어야 함
+        StepVerifier.create(imageService.deleteProductImageById(productId)
+                        .then(Mono.fromRunnable(() -> assertThat(tempDir.resolve(productImage.getImagePath())).exists()))
+                        .as(operator::transactional))
+                .verifyComplete();
+
+        assertThat(tempDir.resolve(productImage.getImagePath())).doesNotExist();
+        assertThat(tempDir.resolve(productImage.getThumbnailPath())).doesNotExist();
+        assertThat(tempDir.resolve("test/product/original/test-uuid_test_w300.jpg")).doesNotExist();
+    }
+
+    @Test
+    void testDeleteProductImageById_WhenOuterTransactionRollsBack_ThenKeepFiles() throws IOException {
+        TransactionalOperator operator = inMemoryTransactionalSetUp();
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.just(productImage));
+        when(imageRepository.deleteByProductId(productId)).thenReturn(Mono.empty());
+        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
+
+        createImageFiles(productImage);
+
+        // 이미지 삭제 뒤 상품 문서 변경이 실패해 전체가 롤백되는 경우
+        StepVerifier.create(imageService.deleteProductImageById(productId)
+                        .then(Mono.error(new IllegalStateException("update failed")))
+                        .as(operator::transactional))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(tempDir.resolve(productImage.getImagePath())).exists();
+        assertThat(tempDir.resolve(productImage.getThumbnailPath())).exists();
+        assertThat(tempDir.resolve("test/product/original/test-uuid_test_w300.jpg")).exists();
+    }
+
+    // 트랜잭션 호출시 커밋, 롤백 콜백이 실제로 동작하는 메모리 트랜잭션으로 실행
+    private TransactionalOperator inMemoryTransactionalSetUp() {
+        TransactionalOperator operator = TransactionalOperator.create(new InMemoryTransactionManager());
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> operator.transactional((Mono<Object>) invocation.getArgument(0)));
+        return operator;
+    }
+
+    // 저장소 없이 트랜잭션 참여와 동기화 콜백만 처리하는 트랜잭션 매니저
+    private static class InMemoryTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return synchronizationManager.hasResource(this);
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return (Boolean) transaction;
+        }
+
+        @Override
+        protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                     TransactionDefinition definition) {
+            return Mono.fromRunnable(() -> synchronizationManager.bindResource(this, Boolean.TRUE));
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCleanupAfterCompletion(TransactionSynchronizationManager synchronizationManager, Object transaction) {
+            return Mono.fromRunnable(() -> synchronizationManager.unbindResourceIfPossible(this));
         }
     }
 
     @Test
     void testDeleteProductImageById_WhenProductDoesNotExist_ThenThrowApiException() {
         transactionalSetUp();
-        when(imageRepository.findByProductId(productId)).thenReturn(Mono.empty());
+        when(imageRepository.findByProductIdOrderByPositionAsc(productId)).thenReturn(Flux.empty());
 
         StepVerifier.create(imageService.deleteProductImageById(productId))
                 .expectError(ApiException.class)
@@ -10,12 +10,15 @@ import com.hansung.reactive_marketplace.exception.ExceptionMessage;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
 import com.hansung.reactive_marketplace.repository.ProductRepository;
 import com.hansung.reactive_marketplace.security.CustomUserDetail;
+import com.hansung.reactive_marketplace.util.CursorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
@@ -27,9 +30,13 @@ import reactor.test.StepVerifier;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -76,7 +83,8 @@ class ProductServiceTest {
                 "Test Product",
                 "Test Description",
                 10000,
-                ImageSource.PRODUCT
+                ImageSource.PRODUCT,
+                1
         );
 
         testProductUpdateReqDto = new ProductUpdateReqDto(
@@ -119,10 +127,10 @@ class ProductServiceTest {
 
         when(productRepository.save(any()))
                 .thenReturn(Mono.just(testProduct));
-        when(imageService.uploadImage(any(), any(), any()))
-                .thenReturn(Mono.empty());
+        when(imageService.uploadProductImages(any(), any(), eq(ImageSource.PRODUCT), eq(1)))
+                .thenReturn(Mono.just(List.of()));
 
-        StepVerifier.create(productService.saveProduct(testProductSaveReqDto, testFilePart, authentication))
+        StepVerifier.create(productService.saveProduct(testProductSaveReqDto, Flux.just(testFilePart), authentication))
                 .expectNextMatches(product ->
                         product.getTitle().equals("Test Product") &&
                                 product.getDescription().equals("Test Description") &&
@@ -130,6 +138,22 @@ class ProductServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testSaveProduct_WhenImageUploadFails_ThenPropagateApiException() {
+        authenticationSetUp();
+        transactionalSetUp();
+
+        when(productRepository.save(any()))
+                .thenReturn(Mono.just(testProduct));
+        when(imageService.uploadProductImages(any(), any(), any(), anyInt()))
+                .thenReturn(Mono.error(new ApiException(ExceptionMessage.IMAGE_COUNT_EXCEEDED)));
+
+        StepVerifier.create(productService.saveProduct(testProductSaveReqDto, Flux.just(testFilePart), authentication))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_COUNT_EXCEEDED))
+                .verify();
+    }
+
     @Test
     void testSaveProduct_WhenDatabaseErrorOccurs_ThenThrowApiException() {
         authenticationSetUp();
@@ -138,36 +162,46 @@ class ProductServiceTest {
         when(productRepository.save(any()))
                 .thenReturn(Mono.error(new RuntimeException("DB Error")));
 
-        StepVerifier.create(productService.saveProduct(testProductSaveReqDto, testFilePart, authentication))
+        StepVerifier.create(productService.saveProduct(testProductSaveReqDto, Flux.just(testFilePart), authentication))
                 .expectErrorMatches(throwable -> throwable instanceof ApiException &&
                         ((ApiException) throwable).getException().equals(ExceptionMessage.INTERNAL_SERVER_ERROR))
                 .verify();
     }
 
-    @Test
-    void testFindProductDetail_WhenProductExists_ThenReturnProductDetail() {
-        authenticationSetUp();
+    private void productDetailCacheMissSetUp() {
+        // 캐시 미스 상황을 가정해 getOrFetch 호출시 조회 Mono를 그대로 반환
+        when(redisCacheManager.getValue("product:testProductId:version", Number.class))
+                .thenReturn(Mono.just(3));
+        when(redisCacheManager.getOrFetch(
+                eq("product:testProductId:v3"),
+                eq(ProductDetailResDto.class),
+                any(Mono.class),
+                eq(Duration.ofHours(1))))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+    }
 
-        String cacheKey = "product:testProductId";
-        ProductDetailResDto expectedDto = new ProductDetailResDto(
+    private ProductDetailResDto testProductDetail(String imagePath) {
+        return new ProductDetailResDto(
                 testProduct.getId(),
                 testProduct.getTitle(),
                 testProduct.getPrice(),
                 testProduct.getDescription(),
                 testUser.getNickname(),
-                "/test/image.jpg",
+                imagePath,
+                null,
+                List.of(imagePath),
                 testProduct.getUserId(),
-                testUser.getId()
+                null
         );
+    }
 
-        when(redisCacheManager.getOrFetch(
-                eq("product:testProductId:user:testId"),
-                eq(ProductDetailResDto.class),
-                any(Mono.class),
-                eq(Duration.ofHours(1))))
-                .thenReturn(Mono.just(expectedDto));
-        when(productRepository.findById("testProductId"))
-                .thenReturn(Mono.just(testProduct));
+    @Test
+    void testFindProductDetail_WhenProductExists_ThenReturnProductDetail() {
+        authenticationSetUp();
+        productDetailCacheMissSetUp();
+
+        when(productRepository.findProductDetail("testProductId"))
+                .thenReturn(Mono.just(testProductDetail("/test/image.jpg")));
 
         StepVerifier.create(productService.findProductDetail("testProductId", authentication))
                 .expectNextMatches(dto ->
@@ -175,39 +209,68 @@ class ProductServiceTest {
                                 dto.title().equals("Test Product") &&
                                 dto.price() == 10000 &&
                                 dto.description().equals("Test Description") &&
-                                dto.nickname().equals("testNickname"))
+                                dto.nickname().equals("testNickname") &&
+                                dto.imagePath().equals("/test/image.jpg") &&
+                                dto.sellerId().equals("testUserId") &&
+                                dto.buyerId().equals("testId"))
                 .verifyComplete();
     }
 
     @Test
-    void testFindProductDetail_WhenProductDoesNotExist_ThenThrowApiException() {
+    void testFindProductDetail_WhenCached_ThenMergeViewerIntoCachedDetail() {
         authenticationSetUp();
 
-        String cacheKey = "product:nonexistentId";
-
+        when(redisCacheManager.getValue("product:testProductId:version", Number.class))
+                .thenReturn(Mono.empty());
         when(redisCacheManager.getOrFetch(
-                eq("product:nonexistentId:user:testId"),
+                eq("product:testProductId:v0"),
                 eq(ProductDetailResDto.class),
                 any(Mono.class),
                 eq(Duration.ofHours(1))))
-                .thenReturn(Mono.error(new ApiException(ExceptionMessage.PRODUCT_NOT_FOUND)));
-        when(productRepository.findById("nonexistentId"))
+                .thenReturn(Mono.just(testProductDetail("/test/image.jpg")));
+
+        StepVerifier.create(productService.findProductDetail("testProductId", authentication))
+                .expectNextMatches(dto ->
+                        dto.id().equals("testProductId") &&
+                                dto.buyerId().equals("testId"))
+                .verifyComplete();
+
+        verify(productRepository, never()).findProductDetail(anyString());
+    }
+
+    @Test
+    void testFindProductDetail_WhenProductDoesNotExist_ThenThrowApiException() {
+        productDetailCacheMissSetUp();
+
+        when(productRepository.findProductDetail("testProductId"))
                 .thenReturn(Mono.empty());
 
-        StepVerifier.create(productService.findProductDetail("nonexistentId", authentication))
+        StepVerifier.create(productService.findProductDetail("testProductId", authentication))
                 .expectErrorMatches(throwable -> throwable instanceof ApiException &&
                         ((ApiException) throwable).getException().equals(ExceptionMessage.PRODUCT_NOT_FOUND))
                 .verify();
     }
 
+    @Test
+    void testFindProductDetail_WhenImageDoesNotExist_ThenThrowApiException() {
+        productDetailCacheMissSetUp();
+
+        when(productRepository.findProductDetail("testProductId"))
+                .thenReturn(Mono.just(testProductDetail(null)));
+
+        StepVerifier.create(productService.findProductDetail("testProductId", authentication))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_NOT_FOUND))
+                .verify();
+    }
+
     @Test
     void testUpdateProduct_WhenGivenValidRequest_ThenProductIsUpdatedSuccessfully() {
         transactionalSetUp();
         when(productRepository.findById("testProductId")).thenReturn(Mono.just(testProduct));
         when(productRepository.updateProduct(any(), any(), anyInt(), any())).thenReturn(Mono.empty());
-        when(redisCacheManager.deleteValue(anyString())).thenReturn(Mono.empty());
-        when(imageService.deleteProductImageById(anyString())).thenReturn(Mono.empty());
-        when(imageService.uploadImage(any(), anyString(), any())).thenReturn(Mono.empty());
+        when(redisCacheManager.increment("product:testProductId:version")).thenReturn(Mono.just(1L));
+        when(imageService.replaceProductImage(any(), anyString(), any())).thenReturn(Mono.empty());
 
         StepVerifier.create(productService.updateProduct(testProductUpdateReqDto, testFilePart, authentication))
                 .verifyComplete();
@@ -222,8 +285,8 @@ class ProductServiceTest {
                 .thenReturn(Mono.empty());
         when(imageService.deleteProductImageById(any()))
                 .thenReturn(Mono.empty());
-        when(redisCacheManager.deleteValue(any()))
-                .thenReturn(Mono.just(true));
+        when(redisCacheManager.increment("product:testProductId:version"))
+                .thenReturn(Mono.just(1L));
 
         StepVerifier.create(productService.deleteProduct(testProductDeleteReqDto, authentication))
                 .verifyComplete();
@@ -263,7 +326,7 @@ class ProductServiceTest {
     }
 
     @Test
-    void testFindProductList_WhenNoParametersProvided_ThenReturnProductList() {
+    void testFindProductList_WhenFirstPageRequested_ThenReturnPageWithNextCursor() {
         Product product1 = new Product.Builder()
                 .title("Product 1")
                 .description("Description 1")
@@ -271,6 +334,7 @@ class ProductServiceTest {
                 .userId("user1")
                 .build();
         ReflectionTestUtils.setField(product1, "id", "product1");
+        ReflectionTestUtils.setField(product1, "createdAt", LocalDateTime.of(2024, 2, 21, 23, 27));
 
         Product product2 = new Product.Builder()
                 .title("Product 2")
@@ -279,32 +343,86 @@ class ProductServiceTest {
                 .userId("user2")
                 .build();
         ReflectionTestUtils.setField(product2, "id", "product2");
+        ReflectionTestUtils.setField(product2, "createdAt", LocalDateTime.of(2024, 2, 21, 23, 26));
 
-        when(productRepository.findProductList(any(Sort.class)))
+        // 페이지 크기 1 + 다음 페이지 확인용 1개
+        when(productRepository.findProductList(PageRequest.of(0, 2)))
                 .thenReturn(Flux.just(product1, product2));
-        when(imageService.findProductImageById("product1"))
-                .thenReturn(Mono.just(new Image.Builder()
-                        .thumbnailPath("/thumbnail1.jpg")
-                        .build()));
-        when(imageService.findProductImageById("product2"))
-                .thenReturn(Mono.just(new Image.Builder()
-                        .thumbnailPath("/thumbnail2.jpg")
-                        .build()));
+        when(imageService.findProductImagesByIds(List.of("product1")))
+                .thenReturn(Mono.just(Map.of(
+                        "product1", new Image.Builder()
+                                .productId("product1")
+                                .thumbnailPath("/thumbnail1.jpg")
+                                .build())));
+
+        StepVerifier.create(productService.findProductList(null, 1))
+                .expectNextMatches(page ->
+                        page.productList().size() == 1 &&
+                                page.productList().get(0).id().equals("product1") &&
+                                page.productList().get(0).thumbnailPath().equals("/thumbnail1.jpg") &&
+                                page.nextCursor().equals(CursorUtils.encode(product1.getCreatedAt(), "product1")))
+                .verifyComplete();
+    }
 
-        StepVerifier.create(productService.findProductList())
-                .expectNextMatches(dto ->
-                        dto.id().equals("product1") &&
-                                dto.title().equals("Product 1") &&
-                                dto.price() == 10000 &&
-                                dto.thumbnailPath().equals("/thumbnail1.jpg"))
-                .expectNextMatches(dto ->
-                        dto.id().equals("product2") &&
-                                dto.title().equals("Product 2") &&
-                                dto.price() == 20000 &&
-                                dto.thumbnailPath().equals("/thumbnail2.jpg"))
+    @Test
+    void testFindProductList_WhenCursorProvided_ThenReturnLastPage() {
+        String productId = "65d5f0c2a1b2c3d4e5f60718";
+        LocalDateTime createdAt = LocalDateTime.of(2024, 2, 21, 23, 27);
+
+        Product product2 = new Product.Builder()
+                .title("Product 2")
+                .price(20000)
+                .userId("user2")
+                .build();
+        ReflectionTestUtils.setField(product2, "id", "product2");
+        ReflectionTestUtils.setField(product2, "createdAt", createdAt.minusMinutes(1));
+
+        CursorUtils.Cursor cursor = CursorUtils.decode(CursorUtils.encode(createdAt, productId));
+        when(productRepository.findProductListAfter(cursor.createdAt(), cursor.id(), PageRequest.of(0, 21)))
+                .thenReturn(Flux.just(product2));
+        when(imageService.findProductImagesByIds(List.of("product2")))
+                .thenReturn(Mono.just(Map.of(
+                        "product2", new Image.Builder()
+                                .productId("product2")
+                                .thumbnailPath("/thumbnail2.jpg")
+                                .build())));
+
+        StepVerifier.create(productService.findProductList(CursorUtils.encode(createdAt, productId), 20))
+                .expectNextMatches(page ->
+                        page.productList().size() == 1 &&
+                                page.productList().get(0).id().equals("product2") &&
+                                page.nextCursor() == null)
                 .verifyComplete();
     }
 
+    @Test
+    void testFindProductList_WhenCursorInvalid_ThenThrowApiException() {
+        StepVerifier.create(productService.findProductList("invalid-cursor", 20))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.INVALID_CURSOR))
+                .verify();
+    }
+
+    @Test
+    void testFindProductList_WhenImageMissing_ThenThrowApiException() {
+        Product product1 = new Product.Builder()
+                .title("Product 1")
+                .price(10000)
+                .userId("user1")
+                .build();
+        ReflectionTestUtils.setField(product1, "id", "product1");
+
+        when(productRepository.findProductList(any(Pageable.class)))
+                .thenReturn(Flux.just(product1));
+        when(imageService.findProductImagesByIds(List.of("product1")))
+                .thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(productService.findProductList(null, 20))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_NOT_FOUND))
+                .verify();
+    }
+
     @Test
     void testFindMyProductList_WhenUserAuthenticated_ThenReturnUserProducts() {
         authenticationSetUp();
@@ -329,14 +447,16 @@ class ProductServiceTest {
 
         when(productRepository.findMyProductList(eq(testUser.getId()), any(Sort.class)))
                 .thenReturn(Flux.just(product1, product2));
-        when(imageService.findProductImageById("product1"))
-                .thenReturn(Mono.just(new Image.Builder()
-                        .thumbnailPath("/thumbnail1.jpg")
-                        .build()));
-        when(imageService.findProductImageById("product2"))
-                .thenReturn(Mono.just(new Image.Builder()
-                        .thumbnailPath("/thumbnail2.jpg")
-                        .build()));
+        when(imageService.findProductImagesByIds(List.of("product1", "product2")))
+                .thenReturn(Mono.just(Map.of(
+                        "product1", new Image.Builder()
+                                .productId("product1")
+                                .thumbnailPath("/thumbnail1.jpg")
+                                .build(),
+                        "product2", new Image.Builder()
+                                .productId("product2")
+                                .thumbnailPath("/thumbnail2.jpg")
+                                .build())));
 
         StepVerifier.create(productService.findMyProductList(authentication))
                 .expectNextMatches(dto ->
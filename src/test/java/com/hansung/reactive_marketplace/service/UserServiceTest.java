@@ -2,6 +2,7 @@ package com.hansung.reactive_marketplace.service;
 
 import com.hansung.reactive_marketplace.domain.Image;
 import com.hansung.reactive_marketplace.domain.ImageSource;
+import com.hansung.reactive_marketplace.domain.Product;
 import com.hansung.reactive_marketplace.domain.User;
 import com.hansung.reactive_marketplace.dto.request.UserDeleteReqDto;
 import com.hansung.reactive_marketplace.dto.request.UserSaveReqDto;
@@ -9,6 +10,8 @@ import com.hansung.reactive_marketplace.dto.request.UserUpdateReqDto;
 import com.hansung.reactive_marketplace.exception.ApiException;
 import com.hansung.reactive_marketplace.exception.ExceptionMessage;
 import com.hansung.reactive_marketplace.redis.RedisCacheManager;
+import com.hansung.reactive_marketplace.repository.ChatRoomRepository;
+import com.hansung.reactive_marketplace.repository.ProductRepository;
 import com.hansung.reactive_marketplace.repository.UserRepository;
 import com.hansung.reactive_marketplace.security.CustomUserDetail;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,20 +20,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +51,12 @@ class UserServiceTest {
     @Mock
     private ImageService imageService;
 
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private RedisCacheManager redisCacheManager;
 
@@ -220,6 +235,29 @@ class UserServiceTest {
                 .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    void testFindUsersByIds_WhenCacheMiss_ThenFetchMissedUsersWithIdsAndMapById() {
+        when(redisCacheManager.getOrFetchAll(
+                eq(List.of("user:" + userId, "user:unknown")),
+                eq(User.class),
+                any(),
+                any(),
+                any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    // 캐시에 없는 키로 fetcher를 호출하고 keyMapper로 캐시 키를 만드는지 확인
+                    Function<List<String>, Flux<User>> fetcher = invocation.getArgument(2);
+                    Function<User, String> keyMapper = invocation.getArgument(3);
+                    return fetcher.apply(List.of("user:" + userId, "user:unknown"))
+                            .collectMap(keyMapper);
+                });
+        when(userRepository.findAllById(List.of(userId, "unknown")))
+                .thenReturn(Flux.just(user));
+
+        StepVerifier.create(userService.findUsersByIds(List.of(userId, "unknown")))
+                .expectNext(Map.of(userId, user))
+                .verifyComplete();
+    }
+
     @Test
     void testFindUserByUsername_WhenUserExists_ThenReturnUser() {
         when(userRepository.findByUsername(username))
@@ -263,6 +301,33 @@ class UserServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testUpdateUser_WhenNicknameChanged_ThenUpdateChatRoomNicknames() {
+        transactionalSetUp();
+        UserUpdateReqDto nicknameUpdateReqDto = new UserUpdateReqDto(userId, "새 닉네임", "", email, ImageSource.PROFILE);
+        when(userRepository.findById(userId))
+                .thenReturn(Mono.just(user));
+        when(userRepository.updateUser(eq(userId), eq("새 닉네임"), eq(password), eq(email)))
+                .thenReturn(Mono.empty());
+        when(chatRoomRepository.updateNickname(userId, "새 닉네임"))
+                .thenReturn(Mono.empty());
+        when(redisCacheManager.deleteValue("user:" + userId))
+                .thenReturn(Mono.just(true));
+        Product product = new Product.Builder().userId(userId).build();
+        ReflectionTestUtils.setField(product, "id", "productId");
+        when(productRepository.findMyProductList(userId, Sort.unsorted()))
+                .thenReturn(Flux.just(product));
+        when(redisCacheManager.increment("product:productId:version"))
+                .thenReturn(Mono.just(1L));
+
+        StepVerifier.create(userService.updateUser(nicknameUpdateReqDto, null))
+                .verifyComplete();
+
+        verify(chatRoomRepository).updateNickname(userId, "새 닉네임");
+        // 판매 상품의 상세 캐시에 이전 닉네임이 남지 않도록 버전을 올림
+        verify(redisCacheManager).increment("product:productId:version");
+    }
+
     @Test
     void testDeleteUser_WhenUserExists_ThenUserIsDeletedSuccessfully() {
         transactionalSetUp();
@@ -0,0 +1,91 @@
+package com.hansung.reactive_marketplace.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalImageStorageTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private LocalImageStorage localImageStorage;
+
+    @BeforeEach
+    void setUp() {
+        localImageStorage = new LocalImageStorage(tempDir.toString());
+    }
+
+    @Test
+    void testWrite_WhenParentDirectoryMissing_ThenCreateDirectoriesAndWriteFile() throws IOException {
+        StepVerifier.create(localImageStorage.write("/image/product/original/test.jpg", content("test ", "data")))
+                .verifyComplete();
+
+        assertThat(Files.readString(tempDir.resolve("image/product/original/test.jpg"))).isEqualTo("test data");
+    }
+
+    @Test
+    void testReadAndStat_WhenFileExists_ThenReturnContentAndMetadata() throws IOException {
+        Path file = tempDir.resolve("image/test.jpg");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "test data");
+
+        StepVerifier.create(DataBufferUtils.join(localImageStorage.read("/image/test.jpg"))
+                        .map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("test data")
+                .verifyComplete();
+        StepVerifier.create(localImageStorage.stat("/image/test.jpg"))
+                .assertNext(metadata -> {
+                    assertThat(metadata.contentLength()).isEqualTo(9);
+                    assertThat(metadata.lastModified()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testStat_WhenFileMissing_ThenReturnEmpty() {
+        StepVerifier.create(localImageStorage.stat("/image/missing.jpg"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testDelete_WhenCalledTwice_ThenIgnoreMissingFile() throws IOException {
+        Path file = tempDir.resolve("image/test.jpg");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "test data");
+
+        StepVerifier.create(localImageStorage.delete("/image/test.jpg")
+                        .then(localImageStorage.delete("/image/test.jpg")))
+                .verifyComplete();
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void testStore_WhenLocalFileCreatedInWorkDir_ThenMoveToStoragePath() throws IOException {
+        Path workFile = Files.writeString(Files.createTempFile(tempDir, "work", ".jpg"), "resized");
+
+        StepVerifier.create(localImageStorage.store(workFile, "/image/product/thumbnail/resized_test.jpg"))
+                .verifyComplete();
+
+        assertThat(workFile).doesNotExist();
+        assertThat(Files.readString(tempDir.resolve("image/product/thumbnail/resized_test.jpg"))).isEqualTo("resized");
+    }
+
+    private Flux<DataBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
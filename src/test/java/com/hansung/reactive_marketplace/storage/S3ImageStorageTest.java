@@ -0,0 +1,131 @@
+package com.hansung.reactive_marketplace.storage;
+
+import com.hansung.reactive_marketplace.config.S3Config;
+import com.hansung.reactive_marketplace.exception.ApiException;
+import com.hansung.reactive_marketplace.exception.ExceptionMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 MinIO 같은 S3 호환 저장소가 있을 때만 실행
+// 예: docker run -p 9000:9000 minio/minio server /data 후 MINIO_ENDPOINT=http://localhost:9000
+@EnabledIfEnvironmentVariable(named = "MINIO_ENDPOINT", matches = ".+")
+class S3ImageStorageTest {
+
+    private static final String BUCKET = "reactive-marketplace-test";
+
+    private static S3AsyncClient s3AsyncClient;
+
+    private static S3ImageStorage s3ImageStorage;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeAll
+    static void setUp() {
+        s3AsyncClient = new S3Config().s3AsyncClient(
+                System.getenv("MINIO_ENDPOINT"),
+                "us-east-1",
+                System.getenv().getOrDefault("MINIO_ACCESS_KEY", "minioadmin"),
+                System.getenv().getOrDefault("MINIO_SECRET_KEY", "minioadmin"));
+        try {
+            s3AsyncClient.createBucket(request -> request.bucket(BUCKET)).join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof BucketAlreadyOwnedByYouException)) {
+                throw e;
+            }
+        }
+        s3ImageStorage = new S3ImageStorage(s3AsyncClient, BUCKET);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        s3AsyncClient.close();
+    }
+
+    @Test
+    void testWriteAndRead_WhenStreamingUpload_ThenReturnSameContent() {
+        String path = "/image/product/original/" + UUID.randomUUID() + ".jpg";
+
+        StepVerifier.create(s3ImageStorage.write(path, content("test ", "data")))
+                .verifyComplete();
+
+        StepVerifier.create(DataBufferUtils.join(s3ImageStorage.read(path))
+                        .map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("test data")
+                .verifyComplete();
+        StepVerifier.create(s3ImageStorage.stat(path))
+                .assertNext(metadata -> assertThat(metadata.contentLength()).isEqualTo(9))
+                .verifyComplete();
+    }
+
+    @Test
+    void testStat_WhenDeleted_ThenReturnEmpty() {
+        String path = "/image/product/original/" + UUID.randomUUID() + ".jpg";
+
+        StepVerifier.create(s3ImageStorage.write(path, content("test data"))
+                        .then(s3ImageStorage.delete(path))
+                        .then(s3ImageStorage.delete(path)) // 없는 키 삭제도 성공
+                        .then(s3ImageStorage.stat(path)))
+                .verifyComplete();
+    }
+
+    @Test
+    void testStoreAndToLocalFile_WhenRoundTrip_ThenDownloadStoredFile() throws IOException {
+        String path = "/image/product/thumbnail/" + UUID.randomUUID() + ".jpg";
+        Path workFile = Files.writeString(tempDir.resolve("upload.jpg"), "resized");
+        Path downloadDir = Files.createDirectory(tempDir.resolve("download"));
+
+        StepVerifier.create(s3ImageStorage.store(workFile, path)
+                        .then(s3ImageStorage.toLocalFile(path, downloadDir)))
+                .assertNext(localFile -> {
+                    assertThat(localFile.getParent()).isEqualTo(downloadDir);
+                    assertThat(localFile).hasContent("resized");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testStat_WhenDecodedNonAsciiName_ThenUseSameKeyAsUpload() {
+        String path = "/image/product/original/" + UUID.randomUUID() + "_상품 사진.jpg";
+
+        StepVerifier.create(s3ImageStorage.write(path, content("korean"))
+                        .then(ImagePaths.decode(UriUtils.encodePath(path, StandardCharsets.UTF_8))
+                                .map(decoded -> s3ImageStorage.stat(decoded))
+                                .orElseThrow()))
+                .assertNext(metadata -> assertThat(metadata.contentLength()).isEqualTo(6))
+                .verifyComplete();
+    }
+
+    @Test
+    void testStat_WhenPathHasParentSegment_ThenRejectBeforeBuildingKey() {
+        StepVerifier.create(s3ImageStorage.stat("/image/../secret.jpg"))
+                .expectErrorMatches(throwable -> throwable instanceof ApiException &&
+                        ((ApiException) throwable).getException().equals(ExceptionMessage.IMAGE_NOT_FOUND))
+                .verify();
+    }
+
+    private Flux<DataBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}